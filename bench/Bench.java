@@ -0,0 +1,136 @@
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.function.IntSupplier;
+
+/**
+ * A minimal benchmark harness: warms up an operation, then times each invocation individually
+ * and reports throughput, latency percentiles, allocation per operation, allocation rate and
+ * garbage collection activity.
+ *
+ * This is intentionally dependency-free so that benchmarks run with nothing but a JDK.
+ * Allocation is measured per thread through {@code com.sun.management.ThreadMXBean}, which
+ * plays the role of JMH's gc profiler.
+ */
+public final class Bench {
+  private static final com.sun.management.ThreadMXBean THREADS =
+      (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+  /**
+   * Prevents the JIT from eliminating benchmarked work whose result is otherwise unused.
+   */
+  static volatile int sink;
+
+  private Bench() {
+  }
+
+  /**
+   * The measurements of one benchmark run. Times are in nanoseconds.
+   */
+  public static final class Result {
+    final String name;
+    final int iterations;
+    final long totalNanos;
+    final long p50;
+    final long p90;
+    final long p99;
+    final long max;
+    final long bytesPerOp;
+    final long gcCount;
+    final long gcMillis;
+
+    Result(String name, long[] nanos, long bytes, long gcCount, long gcMillis) {
+      long[] sorted = nanos.clone();
+      Arrays.sort(sorted);
+      this.name = name;
+      this.iterations = nanos.length;
+      this.totalNanos = Arrays.stream(nanos).sum();
+      this.p50 = percentile(sorted, 0.50);
+      this.p90 = percentile(sorted, 0.90);
+      this.p99 = percentile(sorted, 0.99);
+      this.max = sorted[sorted.length - 1];
+      this.bytesPerOp = bytes / nanos.length;
+      this.gcCount = gcCount;
+      this.gcMillis = gcMillis;
+    }
+
+    private static long percentile(long[] sorted, double p) {
+      int index = (int) Math.ceil(p * sorted.length) - 1;
+      return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    /**
+     * Returns the number of operations per second.
+     *
+     * @return The throughput.
+     */
+    public double opsPerSecond() {
+      return iterations * 1e9 / totalNanos;
+    }
+
+    /**
+     * Returns the allocation rate in megabytes per second.
+     *
+     * @return The allocation rate.
+     */
+    public double allocationMbPerSecond() {
+      return bytesPerOp * opsPerSecond() / (1024.0 * 1024.0);
+    }
+
+    @Override
+    public String toString() {
+      return String.format("%-44s %12.1f ops/s  p50 %10.1f  p90 %10.1f  p99 %10.1f  max %10.1f us"
+              + "  %12d B/op  %8.1f MB/s  gc %d (%d ms)",
+          name, opsPerSecond(), p50 / 1e3, p90 / 1e3, p99 / 1e3, max / 1e3,
+          bytesPerOp, allocationMbPerSecond(), gcCount, gcMillis);
+    }
+  }
+
+  /**
+   * Runs the operation repeatedly and prints one result line.
+   *
+   * @param name The label printed with the result.
+   * @param warmups The number of untimed invocations.
+   * @param iterations The number of timed invocations.
+   * @param operation The operation to measure; its result is consumed to defeat dead-code elimination.
+   * @return The measurements.
+   */
+  public static Result run(String name, int warmups, int iterations, IntSupplier operation) {
+    for (int i = 0; i < warmups; i++) {
+      sink += operation.getAsInt();
+    }
+
+    long threadId = Thread.currentThread().getId();
+    long[] nanos = new long[iterations];
+    long gcCountBefore = gcCount();
+    long gcMillisBefore = gcMillis();
+    long bytesBefore = THREADS.getThreadAllocatedBytes(threadId);
+    for (int i = 0; i < iterations; i++) {
+      long start = System.nanoTime();
+      sink += operation.getAsInt();
+      nanos[i] = System.nanoTime() - start;
+    }
+    long bytes = THREADS.getThreadAllocatedBytes(threadId) - bytesBefore;
+
+    Result result = new Result(name, nanos, bytes, gcCount() - gcCountBefore,
+        gcMillis() - gcMillisBefore);
+    System.out.println(result);
+    return result;
+  }
+
+  private static long gcCount() {
+    long count = 0;
+    for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+      count += Math.max(0, gc.getCollectionCount());
+    }
+    return count;
+  }
+
+  private static long gcMillis() {
+    long millis = 0;
+    for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+      millis += Math.max(0, gc.getCollectionTime());
+    }
+    return millis;
+  }
+}
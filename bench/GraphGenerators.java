@@ -0,0 +1,133 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Synthetic graph shapes for benchmarks.
+ *
+ * Every generator returns the vertices in creation order; vertex 0 is the intended traversal
+ * root and reaches all (or, for the random shapes, nearly all) other vertices. Values are a
+ * random permutation of odd numbers, so allOdd has to traverse the whole graph and
+ * strictly increasing paths exist between some but not all pairs.
+ */
+public final class GraphGenerators {
+
+  /**
+   * The available graph shapes.
+   */
+  public enum Shape {
+    /** Each vertex links to a fixed number of uniformly random vertices. */
+    RANDOM,
+    /** Preferential attachment: early vertices become hubs with very large out-degree. */
+    SCALE_FREE,
+    /** A single path 0 -> 1 -> ... -> n-1, as deep as the graph is large. */
+    DEEP_CHAIN,
+    /** A ring with short forward chords, forming one large strongly connected component. */
+    DENSE_CYCLE,
+    /** A random graph in which every vertex also carries several self-loops. */
+    SELF_LOOP_HEAVY
+  }
+
+  private GraphGenerators() {
+  }
+
+  /**
+   * Generates a graph of the given shape.
+   *
+   * @param shape The shape to generate.
+   * @param n The number of vertices.
+   * @param degree The average number of outgoing edges per vertex (ignored by DEEP_CHAIN).
+   * @param seed The random seed.
+   * @return The generated vertices; vertex 0 is the root.
+   */
+  public static List<Vertex<Integer>> generate(Shape shape, int n, int degree, long seed) {
+    Random random = new Random(seed);
+    List<Vertex<Integer>> vertices = vertices(n, degree, random);
+    switch (shape) {
+      case RANDOM:
+        randomEdges(vertices, degree, random);
+        break;
+      case SCALE_FREE:
+        scaleFreeEdges(vertices, degree, random);
+        break;
+      case DEEP_CHAIN:
+        for (int i = 0; i + 1 < n; i++) {
+          vertices.get(i).neighbors.add(vertices.get(i + 1));
+        }
+        break;
+      case DENSE_CYCLE:
+        for (int i = 0; i < n; i++) {
+          for (int k = 1; k <= degree; k++) {
+            vertices.get(i).neighbors.add(vertices.get((i + k) % n));
+          }
+        }
+        break;
+      case SELF_LOOP_HEAVY:
+        randomEdges(vertices, degree, random);
+        for (Vertex<Integer> v : vertices) {
+          for (int k = 0; k < degree; k++) {
+            v.neighbors.add(v);
+          }
+        }
+        break;
+      default:
+        throw new IllegalArgumentException("unknown shape: " + shape);
+    }
+    return vertices;
+  }
+
+  private static List<Vertex<Integer>> vertices(int n, int degree, Random random) {
+    int[] values = new int[n];
+    for (int i = 0; i < n; i++) {
+      values[i] = 2 * i + 1;
+    }
+    for (int i = n - 1; i > 0; i--) {
+      int j = random.nextInt(i + 1);
+      int tmp = values[i];
+      values[i] = values[j];
+      values[j] = tmp;
+    }
+    List<Vertex<Integer>> vertices = new ArrayList<>(n);
+    for (int i = 0; i < n; i++) {
+      vertices.add(new Vertex<>(values[i], new ArrayList<>(degree)));
+    }
+    return vertices;
+  }
+
+  private static void randomEdges(List<Vertex<Integer>> vertices, int degree, Random random) {
+    int n = vertices.size();
+    for (Vertex<Integer> v : vertices) {
+      for (int k = 0; k < degree; k++) {
+        v.neighbors.add(vertices.get(random.nextInt(n)));
+      }
+    }
+    // Make sure the root reaches into the giant component.
+    if (n > 1) {
+      vertices.get(0).neighbors.add(vertices.get(1));
+    }
+  }
+
+  /**
+   * Each new vertex picks existing vertices with probability proportional to their degree, and
+   * the chosen vertices gain an edge to it. Sampling from the list of edge endpoints implements
+   * the proportional choice in O(1).
+   */
+  private static void scaleFreeEdges(List<Vertex<Integer>> vertices, int degree, Random random) {
+    int n = vertices.size();
+    int[] endpoints = new int[2 * n * Math.max(1, degree) + 2];
+    int size = 0;
+    endpoints[size++] = 0;
+    for (int i = 1; i < n; i++) {
+      Vertex<Integer> added = vertices.get(i);
+      for (int k = 0; k < degree; k++) {
+        int chosen = endpoints[random.nextInt(size)];
+        vertices.get(chosen).neighbors.add(added);
+        endpoints[size++] = chosen;
+        endpoints[size++] = i;
+      }
+      if (degree == 0) {
+        vertices.get(i - 1).neighbors.add(added);
+      }
+    }
+  }
+}
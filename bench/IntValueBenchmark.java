@@ -0,0 +1,41 @@
+import java.util.List;
+
+/**
+ * Compares the generic {@code Vertex<Integer>} query paths against the boxed {@link CsrGraph}
+ * and primitive {@link IntCsrGraph} paths for max, allOdd and hasStrictlyIncreasingPath.
+ *
+ * Usage: {@code java -cp <classes> IntValueBenchmark [vertices] [edgesPerVertex]}
+ */
+public final class IntValueBenchmark {
+
+  private IntValueBenchmark() {
+  }
+
+  public static void main(String[] args) {
+    int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+    int degree = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+
+    List<Vertex<Integer>> vertices =
+        GraphGenerators.generate(GraphGenerators.Shape.RANDOM, n, degree, 42);
+    Vertex<Integer> root = vertices.get(0);
+    Vertex<Integer> target = vertices.get(n - 1);
+    CsrGraph<Integer> boxed = CsrGraph.from(root);
+    IntCsrGraph ints = IntCsrGraph.from(boxed);
+    int targetId = ints.vertexCount() - 1;
+    Practice practice = new Practice();
+
+    System.out.printf("vertices=%d edges=%d%n", ints.vertexCount(), ints.edgeCount());
+    Bench.run("max Vertex<Integer>", 5, 10, () -> practice.max(root));
+    Bench.run("max CsrGraph<Integer>", 5, 10, () -> practice.max(boxed, 0));
+    Bench.run("max IntCsrGraph", 5, 10, () -> practice.max(ints, 0));
+    Bench.run("allOdd Vertex<Integer>", 5, 10, () -> practice.allOdd(root) ? 1 : 0);
+    Bench.run("allOdd CsrGraph<Integer>", 5, 10, () -> practice.allOdd(boxed, 0) ? 1 : 0);
+    Bench.run("allOdd IntCsrGraph", 5, 10, () -> practice.allOdd(ints, 0) ? 1 : 0);
+    Bench.run("increasingPath Vertex<Integer>", 5, 10,
+        () -> practice.hasStrictlyIncreasingPath(root, target) ? 1 : 0);
+    Bench.run("increasingPath CsrGraph<Integer>", 5, 10,
+        () -> practice.hasStrictlyIncreasingPath(boxed, 0, targetId) ? 1 : 0);
+    Bench.run("increasingPath IntCsrGraph", 5, 10,
+        () -> practice.hasStrictlyIncreasingPath(ints, 0, targetId) ? 1 : 0);
+  }
+}
@@ -0,0 +1,138 @@
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.IntSupplier;
+
+/**
+ * Benchmarks every Practice traversal across generated graph shapes and sizes.
+ *
+ * <pre>
+ * java -Xmx8g -cp &lt;classes&gt; PracticeBenchmarks [--sizes 1000,10000,100000,1000000]
+ *     [--shapes RANDOM,SCALE_FREE,DEEP_CHAIN,DENSE_CYCLE,SELF_LOOP_HEAVY] [--degree 4]
+ *     [--queries reachable,max,leaves,allOdd,printVertexVals,hasStrictlyIncreasingPath,
+ *     bidirectionalIncreasingPath,indexedLeaves]
+ * </pre>
+ *
+ * Sizes up to 10,000,000 vertices are supported given enough heap (roughly 1 GB per million
+ * vertices at degree 4 for the Vertex object graph). Each line reports throughput, latency
+ * percentiles, bytes allocated per operation, allocation rate and GC activity.
+ */
+public final class PracticeBenchmarks {
+  private static final List<String> ALL_QUERIES = Arrays.asList("reachable", "max", "leaves",
+      "allOdd", "printVertexVals", "hasStrictlyIncreasingPath", "bidirectionalIncreasingPath",
+      "indexedLeaves");
+
+  private PracticeBenchmarks() {
+  }
+
+  public static void main(String[] args) {
+    Map<String, String> options = parseOptions(args);
+    int[] sizes = Arrays.stream(options.getOrDefault("sizes", "1000,10000,100000,1000000")
+        .split(",")).mapToInt(s -> Integer.parseInt(s.trim().replace("_", ""))).toArray();
+    int degree = Integer.parseInt(options.getOrDefault("degree", "4"));
+    Set<GraphGenerators.Shape> shapes = EnumSet.noneOf(GraphGenerators.Shape.class);
+    for (String shape : options.getOrDefault("shapes", "RANDOM,SCALE_FREE,DEEP_CHAIN,DENSE_CYCLE,"
+        + "SELF_LOOP_HEAVY").split(",")) {
+      shapes.add(GraphGenerators.Shape.valueOf(shape.trim().toUpperCase()));
+    }
+    Set<String> queries = new LinkedHashSet<>(Arrays.asList(
+        options.getOrDefault("queries", String.join(",", ALL_QUERIES)).split(",")));
+
+    for (GraphGenerators.Shape shape : shapes) {
+      for (int n : sizes) {
+        runShape(shape, n, degree, queries);
+      }
+    }
+  }
+
+  private static void runShape(GraphGenerators.Shape shape, int n, int degree, Set<String> queries) {
+    List<Vertex<Integer>> vertices = GraphGenerators.generate(shape, n, degree, 42);
+    Vertex<Integer> root = vertices.get(0);
+    Random random = new Random(7);
+    List<Vertex<Integer>> targets = new ArrayList<>();
+    for (int i = 0; i < 64; i++) {
+      targets.add(vertices.get(random.nextInt(n)));
+    }
+    Practice practice = new Practice();
+    int iterations = Math.max(5, Math.min(1000, 10_000_000 / n));
+    int warmups = Math.max(3, iterations / 5);
+    String prefix = shape + " n=" + n + " ";
+    System.out.println("# " + shape + " vertices=" + n + " degree=" + degree);
+
+    Map<String, IntSupplier> operations = new HashMap<>();
+    operations.put("reachable", () -> practice.reachable(root).size());
+    operations.put("max", () -> practice.max(root));
+    operations.put("leaves", () -> practice.leaves(root).size());
+    operations.put("allOdd", () -> practice.allOdd(root) ? 1 : 0);
+    operations.put("printVertexVals", () -> {
+      CountingAppendable out = new CountingAppendable();
+      practice.printVertexVals(root, out);
+      return (int) out.count;
+    });
+    int[] next = { 0 };
+    operations.put("hasStrictlyIncreasingPath", () -> {
+      Vertex<Integer> end = targets.get(next[0]++ & 63);
+      return practice.hasStrictlyIncreasingPath(root, end) ? 1 : 0;
+    });
+    ReverseIndex index = queries.contains("bidirectionalIncreasingPath")
+        ? new ReverseIndex(root) : null;
+    operations.put("bidirectionalIncreasingPath", () -> {
+      Vertex<Integer> end = targets.get(next[0]++ & 63);
+      return index.hasStrictlyIncreasingPath(root, end) ? 1 : 0;
+    });
+    LeafIndex<Integer> leafIndex = queries.contains("indexedLeaves") ? new LeafIndex<>(root) : null;
+    operations.put("indexedLeaves", () -> leafIndex.leaves(root).size());
+
+    for (String query : queries) {
+      IntSupplier operation = operations.get(query.trim());
+      if (operation == null) {
+        throw new IllegalArgumentException("unknown query: " + query);
+      }
+      Bench.run(prefix + query.trim(), warmups, iterations, operation);
+    }
+  }
+
+  private static Map<String, String> parseOptions(String[] args) {
+    Map<String, String> options = new HashMap<>();
+    for (int i = 0; i < args.length; i++) {
+      if (!args[i].startsWith("--") || i + 1 >= args.length) {
+        throw new IllegalArgumentException("expected --option value, got: " + args[i]);
+      }
+      options.put(args[i].substring(2), args[++i]);
+    }
+    return options;
+  }
+
+  /**
+   * Discards everything appended to it, counting characters so the work cannot be optimized
+   * away. This isolates traversal and formatting cost from I/O.
+   */
+  static final class CountingAppendable implements Appendable {
+    long count;
+
+    @Override
+    public Appendable append(CharSequence csq) throws IOException {
+      count += csq.length();
+      return this;
+    }
+
+    @Override
+    public Appendable append(CharSequence csq, int start, int end) throws IOException {
+      count += end - start;
+      return this;
+    }
+
+    @Override
+    public Appendable append(char c) throws IOException {
+      count++;
+      return this;
+    }
+  }
+}
@@ -0,0 +1,68 @@
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures how vertex ordering affects traversal speed on a large graph.
+ *
+ * The generated graph is first relabeled with a random permutation, which models vertices whose
+ * ids (or allocation addresses) follow no pattern. It is then relabeled with each
+ * {@link GraphReordering.Strategy}, and reachable and max are timed on every layout.
+ *
+ * Usage: {@code java -Xmx4g -cp <classes> ReorderingBenchmark [vertices] [edgesPerVertex] [shape]}
+ *
+ * The JVM exposes no hardware counters; to see the cache-miss reduction directly, run the
+ * benchmark under {@code perf stat -e cache-misses,cache-references} once per layout.
+ */
+public final class ReorderingBenchmark {
+
+  private ReorderingBenchmark() {
+  }
+
+  public static void main(String[] args) {
+    int n = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+    int degree = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+    GraphGenerators.Shape shape = args.length > 2
+        ? GraphGenerators.Shape.valueOf(args[2].toUpperCase()) : GraphGenerators.Shape.RANDOM;
+
+    List<Vertex<Integer>> vertices = GraphGenerators.generate(shape, n, degree, 42);
+    IntCsrGraph generated = IntCsrGraph.from(vertices.get(0));
+    vertices = null;
+
+    int[] shuffle = new int[generated.vertexCount()];
+    for (int i = 0; i < shuffle.length; i++) {
+      shuffle[i] = i;
+    }
+    Random random = new Random(7);
+    for (int i = shuffle.length - 1; i > 0; i--) {
+      int j = random.nextInt(i + 1);
+      int tmp = shuffle[i];
+      shuffle[i] = shuffle[j];
+      shuffle[j] = tmp;
+    }
+    IntCsrGraph arbitrary = GraphReordering.permute(generated, shuffle);
+    int arbitraryRoot = GraphReordering.inverse(shuffle)[0];
+    System.out.printf("%s vertices=%d edges=%d%n", shape, arbitrary.vertexCount(),
+        arbitrary.edgeCount());
+
+    run("ARBITRARY", arbitrary, arbitraryRoot);
+    for (GraphReordering.Strategy strategy : GraphReordering.Strategy.values()) {
+      long start = System.nanoTime();
+      int[] order = GraphReordering.order(arbitrary, strategy);
+      IntCsrGraph reordered = GraphReordering.permute(arbitrary, order);
+      System.out.printf("# %s relabeling took %.1f ms%n", strategy,
+          (System.nanoTime() - start) / 1e6);
+      run(strategy.name(), reordered, GraphReordering.inverse(order)[arbitraryRoot]);
+    }
+  }
+
+  private static void run(String layout, IntCsrGraph graph, int root) {
+    Practice practice = new Practice();
+    Bench.run(layout + " reachable", 3, 10, () -> {
+      BitSet visited = new BitSet(graph.vertexCount());
+      Traversal.dfs(graph, root, visited, Traversal.ALL_INT_EDGES, v -> true);
+      return visited.cardinality();
+    });
+    Bench.run(layout + " max", 3, 10, () -> practice.max(graph, root));
+  }
+}
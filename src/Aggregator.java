@@ -0,0 +1,28 @@
+/**
+ * Accumulates a result from the vertices of a traversal.
+ *
+ * Aggregators let several queries share one traversal: the traversal hands every vertex to every
+ * aggregator that still wants more, and stops as soon as none does.
+ *
+ * @param <T> The type of data stored in the vertices.
+ * @param <R> The type of the result.
+ * @see Aggregators
+ * @see Practice#aggregate(Vertex, java.util.List)
+ */
+public interface Aggregator<T, R> {
+
+  /**
+   * Accepts one visited vertex. Each reachable vertex is passed at most once.
+   *
+   * @param vertex The vertex being visited, never null.
+   * @return true if this aggregator wants further vertices, false if its result is final.
+   */
+  boolean accept(Vertex<T> vertex);
+
+  /**
+   * Returns the result accumulated so far.
+   *
+   * @return The result.
+   */
+  R result();
+}
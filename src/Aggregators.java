@@ -0,0 +1,111 @@
+import java.util.Set;
+
+/**
+ * Factory methods for the aggregators that correspond to the Practice queries.
+ *
+ * Every call returns a fresh aggregator; aggregators are stateful and must not be shared between
+ * traversals.
+ */
+public final class Aggregators {
+
+  private Aggregators() {
+  }
+
+  /**
+   * Returns an aggregator computing the maximum value, or Integer.MIN_VALUE if no vertex is
+   * visited. Equivalent to {@link Practice#max(Vertex)}.
+   *
+   * @return A new max aggregator.
+   */
+  public static Aggregator<Integer, Integer> max() {
+    return new Aggregator<Integer, Integer>() {
+      private int max = Integer.MIN_VALUE;
+
+      @Override
+      public boolean accept(Vertex<Integer> vertex) {
+        if (vertex.data > max) {
+          max = vertex.data;
+        }
+        return true;
+      }
+
+      @Override
+      public Integer result() {
+        return max;
+      }
+    };
+  }
+
+  /**
+   * Returns an aggregator deciding whether every visited vertex holds an odd value. It stops
+   * asking for vertices at the first even value. Equivalent to {@link Practice#allOdd(Vertex)}.
+   *
+   * @return A new all-odd aggregator.
+   */
+  public static Aggregator<Integer, Boolean> allOdd() {
+    return new Aggregator<Integer, Boolean>() {
+      private boolean allOdd = true;
+
+      @Override
+      public boolean accept(Vertex<Integer> vertex) {
+        allOdd = vertex.data % 2 != 0;
+        return allOdd;
+      }
+
+      @Override
+      public Boolean result() {
+        return allOdd;
+      }
+    };
+  }
+
+  /**
+   * Returns an aggregator collecting every visited vertex. Equivalent to
+   * {@link Practice#reachable(Vertex)}.
+   *
+   * @param <T> The type of data stored in the vertices.
+   * @return A new reachable-set aggregator.
+   */
+  public static <T> Aggregator<T, Set<Vertex<T>>> reachable() {
+    return new Aggregator<T, Set<Vertex<T>>>() {
+      private final VisitedSet<T> reachable = VisitedSet.identity();
+
+      @Override
+      public boolean accept(Vertex<T> vertex) {
+        reachable.add(vertex);
+        return true;
+      }
+
+      @Override
+      public Set<Vertex<T>> result() {
+        return reachable;
+      }
+    };
+  }
+
+  /**
+   * Returns an aggregator collecting every visited vertex that has no neighbors. Equivalent to
+   * {@link Practice#leaves(Vertex)}.
+   *
+   * @param <T> The type of data stored in the vertices.
+   * @return A new leaf-set aggregator.
+   */
+  public static <T> Aggregator<T, Set<Vertex<T>>> leaves() {
+    return new Aggregator<T, Set<Vertex<T>>>() {
+      private final VisitedSet<T> leaves = VisitedSet.identity();
+
+      @Override
+      public boolean accept(Vertex<T> vertex) {
+        if (vertex.isLeaf()) {
+          leaves.add(vertex);
+        }
+        return true;
+      }
+
+      @Override
+      public Set<Vertex<T>> result() {
+        return leaves;
+      }
+    };
+  }
+}
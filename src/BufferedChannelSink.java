@@ -0,0 +1,133 @@
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * An {@link Appendable} that encodes characters into a fixed-size buffer and writes them to a
+ * {@link WritableByteChannel} in large batches.
+ *
+ * Nothing reaches the channel until the buffer fills up or {@link #flush()} is called, so the
+ * cost of each write is amortized over many appended values. The sink does not own the channel
+ * and never closes it.
+ *
+ * A flush ends the encoded output: a high surrogate still waiting for its low half is written as
+ * the charset's replacement, so surrogate pairs must not be split across flushes.
+ */
+public final class BufferedChannelSink implements Appendable, Flushable {
+
+  /**
+   * The buffer size, in characters, used when none is specified.
+   */
+  public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+  private final WritableByteChannel channel;
+  private final CharsetEncoder encoder;
+  private final CharBuffer chars;
+  private final ByteBuffer bytes;
+
+  /**
+   * Creates a UTF-8 sink with the default buffer size.
+   *
+   * @param channel The channel to write to.
+   */
+  public BufferedChannelSink(WritableByteChannel channel) {
+    this(channel, DEFAULT_BUFFER_SIZE, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Creates a sink with the given buffer size and charset.
+   *
+   * @param channel The channel to write to.
+   * @param bufferSize The number of characters buffered before a write; at least 2, so a
+   *        surrogate pair always fits.
+   * @param charset The charset used to encode characters.
+   * @throws IllegalArgumentException if bufferSize is less than 2.
+   */
+  public BufferedChannelSink(WritableByteChannel channel, int bufferSize, Charset charset) {
+    if (bufferSize < 2) {
+      throw new IllegalArgumentException("bufferSize must be at least 2: " + bufferSize);
+    }
+    this.channel = Objects.requireNonNull(channel, "channel must not be null");
+    this.encoder = charset.newEncoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    this.chars = CharBuffer.allocate(bufferSize);
+    int maxBytes = (int) Math.ceil(bufferSize * (double) encoder.maxBytesPerChar());
+    this.bytes = ByteBuffer.allocateDirect(maxBytes);
+  }
+
+  @Override
+  public BufferedChannelSink append(CharSequence csq) throws IOException {
+    CharSequence s = csq == null ? "null" : csq;
+    return append(s, 0, s.length());
+  }
+
+  @Override
+  public BufferedChannelSink append(CharSequence csq, int start, int end) throws IOException {
+    CharSequence s = csq == null ? "null" : csq;
+    Objects.checkFromToIndex(start, end, s.length());
+    while (start < end) {
+      if (!chars.hasRemaining()) {
+        drain();
+      }
+      int count = Math.min(end - start, chars.remaining());
+      chars.append(s, start, start + count);
+      start += count;
+    }
+    return this;
+  }
+
+  @Override
+  public BufferedChannelSink append(char c) throws IOException {
+    if (!chars.hasRemaining()) {
+      drain();
+    }
+    chars.put(c);
+    return this;
+  }
+
+  /**
+   * Encodes and writes every buffered character to the channel, ending the encoded output.
+   *
+   * @throws IOException if the channel cannot be written.
+   */
+  @Override
+  public void flush() throws IOException {
+    chars.flip();
+    check(encoder.encode(chars, bytes, true));
+    chars.clear();
+    check(encoder.flush(bytes));
+    write();
+    encoder.reset();
+  }
+
+  private void drain() throws IOException {
+    chars.flip();
+    check(encoder.encode(chars, bytes, false));
+    // A surrogate pair split across the buffer boundary stays behind for the next batch.
+    chars.compact();
+    write();
+  }
+
+  private static void check(CoderResult result) throws IOException {
+    if (result.isError()) {
+      result.throwException();
+    }
+  }
+
+  private void write() throws IOException {
+    bytes.flip();
+    while (bytes.hasRemaining()) {
+      channel.write(bytes);
+    }
+    bytes.clear();
+  }
+}
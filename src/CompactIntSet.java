@@ -0,0 +1,232 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * An immutable set of non-negative ints stored in the style of a roaring bitmap.
+ *
+ * Values are grouped by their high 16 bits, and each group is held in the container that suits
+ * its size: a sorted char array while it holds at most {@value #ARRAY_LIMIT} values, and a
+ * 65536-bit bitmap beyond that. Sparse groups cost two bytes per value and dense ones at most
+ * 8 KiB. Unions work container by container and return one of their operands unchanged when the
+ * other adds nothing, so sets that are unions of each other share storage.
+ */
+final class CompactIntSet {
+  static final CompactIntSet EMPTY = new CompactIntSet(new char[0], new Object[0], new int[0], 0);
+
+  private static final int ARRAY_LIMIT = 4096;
+  private static final int BITMAP_WORDS = 1 << 10;
+
+  private final char[] keys;
+  /** A sorted char[] or a long[] bitmap per key. */
+  private final Object[] containers;
+  private final int[] counts;
+  private final int cardinality;
+
+  private CompactIntSet(char[] keys, Object[] containers, int[] counts, int cardinality) {
+    this.keys = keys;
+    this.containers = containers;
+    this.counts = counts;
+    this.cardinality = cardinality;
+  }
+
+  /**
+   * Returns the set holding only the given value.
+   */
+  static CompactIntSet of(int value) {
+    if (value < 0) {
+      throw new IllegalArgumentException("value must not be negative: " + value);
+    }
+    return new CompactIntSet(new char[] { (char) (value >>> 16) },
+        new Object[] { new char[] { (char) value } }, new int[] { 1 }, 1);
+  }
+
+  int cardinality() {
+    return cardinality;
+  }
+
+  boolean isEmpty() {
+    return cardinality == 0;
+  }
+
+  boolean contains(int value) {
+    if (value < 0) {
+      return false;
+    }
+    int k = Arrays.binarySearch(keys, (char) (value >>> 16));
+    if (k < 0) {
+      return false;
+    }
+    Object container = containers[k];
+    char low = (char) value;
+    if (container instanceof char[]) {
+      return Arrays.binarySearch((char[]) container, low) >= 0;
+    }
+    return (((long[]) container)[low >>> 6] & (1L << low)) != 0;
+  }
+
+  /**
+   * Returns the union of this set and another.
+   */
+  CompactIntSet union(CompactIntSet other) {
+    if (other == this || other.cardinality == 0) {
+      return this;
+    }
+    if (cardinality == 0) {
+      return other;
+    }
+    int capacity = keys.length + other.keys.length;
+    char[] unionKeys = new char[capacity];
+    Object[] unionContainers = new Object[capacity];
+    int[] unionCounts = new int[capacity];
+    int size = 0;
+    int total = 0;
+    int i = 0;
+    int j = 0;
+    while (i < keys.length || j < other.keys.length) {
+      int a = i < keys.length ? keys[i] : Integer.MAX_VALUE;
+      int b = j < other.keys.length ? other.keys[j] : Integer.MAX_VALUE;
+      if (a < b) {
+        unionKeys[size] = keys[i];
+        unionContainers[size] = containers[i];
+        unionCounts[size] = counts[i++];
+      } else if (b < a) {
+        unionKeys[size] = other.keys[j];
+        unionContainers[size] = other.containers[j];
+        unionCounts[size] = other.counts[j++];
+      } else {
+        unionKeys[size] = keys[i];
+        unionCounts[size] = union(containers[i++], other.containers[j++], unionContainers, size);
+      }
+      total += unionCounts[size++];
+    }
+    if (total == cardinality) {
+      return this;
+    }
+    if (total == other.cardinality) {
+      return other;
+    }
+    return new CompactIntSet(Arrays.copyOf(unionKeys, size), Arrays.copyOf(unionContainers, size),
+        Arrays.copyOf(unionCounts, size), total);
+  }
+
+  /**
+   * Stores the union of two containers at out[index] and returns its size.
+   */
+  private static int union(Object a, Object b, Object[] out, int index) {
+    if (a instanceof long[] || b instanceof long[]) {
+      long[] words;
+      Object rest;
+      if (a instanceof long[]) {
+        words = ((long[]) a).clone();
+        rest = b;
+      } else {
+        words = ((long[]) b).clone();
+        rest = a;
+      }
+      if (rest instanceof long[]) {
+        long[] more = (long[]) rest;
+        for (int w = 0; w < BITMAP_WORDS; w++) {
+          words[w] |= more[w];
+        }
+      } else {
+        for (char low : (char[]) rest) {
+          words[low >>> 6] |= 1L << low;
+        }
+      }
+      out[index] = words;
+      int count = 0;
+      for (long word : words) {
+        count += Long.bitCount(word);
+      }
+      return count;
+    }
+
+    char[] x = (char[]) a;
+    char[] y = (char[]) b;
+    char[] merged = new char[x.length + y.length];
+    int count = 0;
+    int i = 0;
+    int j = 0;
+    while (i < x.length && j < y.length) {
+      if (x[i] < y[j]) {
+        merged[count++] = x[i++];
+      } else if (y[j] < x[i]) {
+        merged[count++] = y[j++];
+      } else {
+        merged[count++] = x[i++];
+        j++;
+      }
+    }
+    while (i < x.length) {
+      merged[count++] = x[i++];
+    }
+    while (j < y.length) {
+      merged[count++] = y[j++];
+    }
+    if (count <= ARRAY_LIMIT) {
+      out[index] = count == merged.length ? merged : Arrays.copyOf(merged, count);
+    } else {
+      long[] words = new long[BITMAP_WORDS];
+      for (int k = 0; k < count; k++) {
+        words[merged[k] >>> 6] |= 1L << merged[k];
+      }
+      out[index] = words;
+    }
+    return count;
+  }
+
+  /**
+   * Returns an iterator over the values in ascending order.
+   */
+  PrimitiveIterator.OfInt iterator() {
+    return new PrimitiveIterator.OfInt() {
+      private int key;
+      private int position;
+      private int next = advance();
+
+      /** Finds the next value at or after the current position, or -1. */
+      private int advance() {
+        while (key < keys.length) {
+          Object container = containers[key];
+          int high = keys[key] << 16;
+          if (container instanceof char[]) {
+            char[] values = (char[]) container;
+            if (position < values.length) {
+              return high | values[position++];
+            }
+          } else {
+            long[] words = (long[]) container;
+            for (int w = position >>> 6; w < BITMAP_WORDS; w++) {
+              long word = words[w] & (-1L << position);
+              if (word != 0) {
+                int low = (w << 6) | Long.numberOfTrailingZeros(word);
+                position = low + 1;
+                return high | low;
+              }
+              position = (w + 1) << 6;
+            }
+          }
+          key++;
+          position = 0;
+        }
+        return -1;
+      }
+
+      @Override
+      public boolean hasNext() {
+        return next >= 0;
+      }
+
+      @Override
+      public int nextInt() {
+        if (next < 0) {
+          throw new NoSuchElementException();
+        }
+        int value = next;
+        next = advance();
+        return value;
+      }
+    };
+  }
+}
@@ -0,0 +1,64 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.BitSet;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+
+/**
+ * JUnit test suite for the CompactIntSet class.
+ */
+public class CompactIntSetTest {
+
+  @Test
+  public void testUnion_MatchesBitSetAcrossContainerKinds() {
+    Random random = new Random(TestGraphs.SEED);
+    CompactIntSet set = CompactIntSet.EMPTY;
+    BitSet expected = new BitSet();
+    // Dense values in the first group turn it into a bitmap; the others stay sparse arrays.
+    for (int i = 0; i < 20_000; i++) {
+      int value = i % 4 == 0 ? random.nextInt(1 << 16) : random.nextInt(1 << 22);
+      set = set.union(CompactIntSet.of(value));
+      expected.set(value);
+    }
+
+    assertEquals(expected.cardinality(), set.cardinality());
+    PrimitiveIterator.OfInt iterator = set.iterator();
+    for (int v = expected.nextSetBit(0); v >= 0; v = expected.nextSetBit(v + 1)) {
+      assertTrue(set.contains(v));
+      assertEquals(v, iterator.nextInt());
+    }
+    assertFalse(iterator.hasNext());
+    assertFalse(set.contains(-1));
+    assertFalse(set.contains(1 << 23));
+  }
+
+  @Test
+  public void testUnion_ReturnsOperandWhenOtherAddsNothing() {
+    CompactIntSet small = CompactIntSet.of(3).union(CompactIntSet.of(70_000));
+    CompactIntSet large = small.union(CompactIntSet.of(5));
+
+    assertSame(large, large.union(small));
+    assertSame(large, small.union(large));
+    assertSame(small, small.union(CompactIntSet.EMPTY));
+    assertSame(small, CompactIntSet.EMPTY.union(small));
+    assertEquals(3, large.cardinality());
+  }
+
+  @Test
+  public void testUnion_MergesBitmaps() {
+    CompactIntSet even = CompactIntSet.EMPTY;
+    CompactIntSet odd = CompactIntSet.EMPTY;
+    for (int i = 0; i < 10_000; i++) {
+      even = even.union(CompactIntSet.of(2 * i));
+      odd = odd.union(CompactIntSet.of(2 * i + 1));
+    }
+    CompactIntSet all = even.union(odd);
+    assertEquals(20_000, all.cardinality());
+    for (int i = 0; i < 20_000; i++) {
+      assertTrue(all.contains(i));
+    }
+    assertFalse(all.contains(20_000));
+    assertThrows(IllegalArgumentException.class, () -> CompactIntSet.of(-1));
+  }
+}
@@ -0,0 +1,413 @@
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+
+/**
+ * The strongly connected component (SCC) condensation of a {@link Vertex} graph.
+ *
+ * Every cycle of the graph collapses into a single component, and the components form a DAG.
+ * Components are found with an iterative version of Tarjan's algorithm, so arbitrarily deep
+ * graphs are handled without recursion. Tarjan's algorithm completes components in reverse
+ * topological order: every edge of the condensed DAG goes from a higher component id to a lower
+ * one.
+ *
+ * When built with a value function, every component also carries the maximum value and the
+ * all-odd flag of everything reachable from it, computed once for all components in a single
+ * sweep over the DAG. {@link #max(Vertex)} and {@link #allOdd(Vertex)} are then constant-time
+ * lookups for every start vertex, and {@link #reachable(Vertex)} only walks the condensed DAG.
+ *
+ * {@link #reachableFromEach(List)} and {@link #leavesFromEach(List)} answer many starts at once:
+ * one sweep over the DAG propagates a 64-bit mask per component, so up to 64 starts share every
+ * component visit.
+ *
+ * The condensation is a snapshot; build a new one after the graph changes.
+ *
+ * @param <T> The type of data stored in the vertices.
+ */
+public final class Condensation<T> {
+  private final Map<Vertex<T>, Integer> ids;
+  private final Vertex<T>[] vertices;
+  private final int[] component;
+  private final int componentCount;
+  final int[] dagOffsets;
+  final int[] dagTargets;
+  final int[] memberOffsets;
+  final int[] members;
+  private final int[] reachableMax;
+  private final boolean[] reachableAllOdd;
+
+  /**
+   * Condenses every vertex reachable from the given root, precomputing max and all-odd
+   * aggregates from the integer vertex values.
+   *
+   * @param root The root vertex.
+   * @return The condensation.
+   * @throws NullPointerException if root is null or a reachable vertex holds a null value.
+   */
+  public static Condensation<Integer> of(Vertex<Integer> root) {
+    return of(Collections.singletonList(root), Integer::intValue);
+  }
+
+  /**
+   * Condenses every vertex reachable from any of the given roots. If value is non-null, max and
+   * all-odd aggregates are precomputed from it.
+   *
+   * @param roots The root vertices.
+   * @param value Extracts an int from each vertex value, or null to skip the aggregates.
+   * @param <T> The type of data stored in the vertices.
+   * @return The condensation.
+   * @throws NullPointerException if roots or any root is null.
+   */
+  public static <T> Condensation<T> of(Collection<? extends Vertex<T>> roots,
+      ToIntFunction<? super T> value) {
+    return new Condensation<>(roots, value);
+  }
+
+  @SuppressWarnings("unchecked")
+  private Condensation(Collection<? extends Vertex<T>> roots, ToIntFunction<? super T> value) {
+    ids = new IdentityHashMap<>();
+    CsrGraph<T> graph = CsrGraph.from(roots, ids);
+    int n = graph.vertexCount();
+    vertices = (Vertex<T>[]) new Vertex<?>[n];
+    for (Map.Entry<Vertex<T>, Integer> entry : ids.entrySet()) {
+      vertices[entry.getValue()] = entry.getKey();
+    }
+
+    component = new int[n];
+    componentCount = tarjan(graph.offsets, graph.targets, component);
+
+    memberOffsets = new int[componentCount + 1];
+    members = new int[n];
+    for (int v = 0; v < n; v++) {
+      memberOffsets[component[v] + 1]++;
+    }
+    for (int c = 0; c < componentCount; c++) {
+      memberOffsets[c + 1] += memberOffsets[c];
+    }
+    int[] fill = Arrays.copyOf(memberOffsets, componentCount);
+    for (int v = 0; v < n; v++) {
+      members[fill[component[v]]++] = v;
+    }
+
+    // Condensed edges, deduplicated with a per-component marker.
+    int[] lastSource = new int[componentCount];
+    Arrays.fill(lastSource, -1);
+    dagOffsets = new int[componentCount + 1];
+    int[] targets = new int[Math.max(16, componentCount)];
+    int edges = 0;
+    for (int c = 0; c < componentCount; c++) {
+      dagOffsets[c] = edges;
+      for (int m = memberOffsets[c]; m < memberOffsets[c + 1]; m++) {
+        int u = members[m];
+        for (int i = graph.offsets[u]; i < graph.offsets[u + 1]; i++) {
+          int d = component[graph.targets[i]];
+          if (d != c && lastSource[d] != c) {
+            lastSource[d] = c;
+            if (edges == targets.length) {
+              targets = Arrays.copyOf(targets, edges * 2);
+            }
+            targets[edges++] = d;
+          }
+        }
+      }
+    }
+    dagOffsets[componentCount] = edges;
+    dagTargets = Arrays.copyOf(targets, edges);
+
+    if (value == null) {
+      reachableMax = null;
+      reachableAllOdd = null;
+      return;
+    }
+    reachableMax = new int[componentCount];
+    reachableAllOdd = new boolean[componentCount];
+    // Successors always have smaller ids, so ascending id order sees them first.
+    for (int c = 0; c < componentCount; c++) {
+      int max = Integer.MIN_VALUE;
+      boolean allOdd = true;
+      for (int m = memberOffsets[c]; m < memberOffsets[c + 1]; m++) {
+        int x = value.applyAsInt(graph.value(members[m]));
+        max = Math.max(max, x);
+        allOdd &= x % 2 != 0;
+      }
+      for (int i = dagOffsets[c]; i < dagOffsets[c + 1]; i++) {
+        max = Math.max(max, reachableMax[dagTargets[i]]);
+        allOdd &= reachableAllOdd[dagTargets[i]];
+      }
+      reachableMax[c] = max;
+      reachableAllOdd[c] = allOdd;
+    }
+  }
+
+  /**
+   * Labels every vertex with its component and returns the number of components. Components are
+   * numbered in completion order, which is a reverse topological order of the condensed DAG.
+   */
+  static int tarjan(int[] offsets, int[] targets, int[] component) {
+    int n = component.length;
+    int[] index = new int[n];
+    int[] low = new int[n];
+    int[] cursor = new int[n];
+    int[] callStack = new int[n];
+    int[] sccStack = new int[n];
+    BitSet onStack = new BitSet(n);
+    Arrays.fill(index, -1);
+    int nextIndex = 0;
+    int components = 0;
+
+    for (int root = 0; root < n; root++) {
+      if (index[root] >= 0) {
+        continue;
+      }
+      int callSize = 0;
+      int sccSize = 0;
+      index[root] = low[root] = nextIndex++;
+      cursor[root] = offsets[root];
+      sccStack[sccSize++] = root;
+      onStack.set(root);
+      callStack[callSize++] = root;
+
+      while (callSize > 0) {
+        int u = callStack[callSize - 1];
+        if (cursor[u] < offsets[u + 1]) {
+          int w = targets[cursor[u]++];
+          if (index[w] < 0) {
+            index[w] = low[w] = nextIndex++;
+            cursor[w] = offsets[w];
+            sccStack[sccSize++] = w;
+            onStack.set(w);
+            callStack[callSize++] = w;
+          } else if (onStack.get(w)) {
+            low[u] = Math.min(low[u], index[w]);
+          }
+          continue;
+        }
+
+        callSize--;
+        if (low[u] == index[u]) {
+          int w;
+          do {
+            w = sccStack[--sccSize];
+            onStack.clear(w);
+            component[w] = components;
+          } while (w != u);
+          components++;
+        }
+        if (callSize > 0) {
+          int parent = callStack[callSize - 1];
+          low[parent] = Math.min(low[parent], low[u]);
+        }
+      }
+    }
+    return components;
+  }
+
+  /**
+   * Returns the number of components.
+   *
+   * @return The component count.
+   */
+  public int componentCount() {
+    return componentCount;
+  }
+
+  /**
+   * Returns the component containing the given vertex.
+   *
+   * @param vertex A vertex reachable from one of the roots.
+   * @return The component id.
+   * @throws IllegalArgumentException if the vertex was not part of the condensed graph.
+   */
+  public int componentOf(Vertex<T> vertex) {
+    Integer id = ids.get(vertex);
+    if (id == null) {
+      throw new IllegalArgumentException("vertex is not part of the condensed graph");
+    }
+    return component[id];
+  }
+
+  /**
+   * Returns the vertices of a component.
+   *
+   * @param component The component id.
+   * @return A read-only list of the member vertices.
+   */
+  public List<Vertex<T>> members(int component) {
+    Objects.checkIndex(component, componentCount);
+    int from = memberOffsets[component];
+    int size = memberOffsets[component + 1] - from;
+    return new AbstractList<Vertex<T>>() {
+      @Override
+      public Vertex<T> get(int i) {
+        return vertices[members[from + Objects.checkIndex(i, size)]];
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+    };
+  }
+
+  /**
+   * Returns the components directly reachable from a component through one condensed edge.
+   *
+   * @param component The component id.
+   * @return The successor component ids.
+   */
+  public int[] successors(int component) {
+    Objects.checkIndex(component, componentCount);
+    return Arrays.copyOfRange(dagTargets, dagOffsets[component], dagOffsets[component + 1]);
+  }
+
+  /**
+   * Returns every vertex reachable from the given vertex, including the vertex itself, by
+   * walking the condensed DAG and expanding each reached component into its members.
+   *
+   * @param vertex The starting vertex, or null for an empty set.
+   * @return A set containing all reachable vertices.
+   * @throws IllegalArgumentException if the vertex was not part of the condensed graph.
+   */
+  public Set<Vertex<T>> reachable(Vertex<T> vertex) {
+    VisitedSet<T> result = VisitedSet.identity();
+    if (vertex == null) {
+      return result;
+    }
+    Traversal.dfs(dagOffsets, dagTargets, componentOf(vertex), new BitSet(componentCount),
+        Traversal.ALL_INT_EDGES, c -> {
+          for (int m = memberOffsets[c]; m < memberOffsets[c + 1]; m++) {
+            result.add(vertices[members[m]]);
+          }
+          return true;
+        });
+    return result;
+  }
+
+  /**
+   * Returns the reachable set of each of the given vertices, as {@link #reachable(Vertex)} would.
+   * Starts are processed 64 at a time, each batch in one sweep over the condensed DAG.
+   *
+   * @param starts The starting vertices; null entries yield empty sets.
+   * @return The reachable sets, in the same order as starts.
+   * @throws IllegalArgumentException if a start was not part of the condensed graph.
+   */
+  public List<Set<Vertex<T>>> reachableFromEach(List<? extends Vertex<T>> starts) {
+    return collectFromEach(starts, false);
+  }
+
+  /**
+   * Returns the reachable leaves of each of the given vertices, where a leaf is a vertex without
+   * non-null neighbors. Starts are processed 64 at a time, each batch in one sweep over the
+   * condensed DAG.
+   *
+   * @param starts The starting vertices; null entries yield empty sets.
+   * @return The leaf sets, in the same order as starts.
+   * @throws IllegalArgumentException if a start was not part of the condensed graph.
+   */
+  public List<Set<Vertex<T>>> leavesFromEach(List<? extends Vertex<T>> starts) {
+    return collectFromEach(starts, true);
+  }
+
+  private List<Set<Vertex<T>>> collectFromEach(List<? extends Vertex<T>> starts,
+      boolean leavesOnly) {
+    int count = starts.size();
+    List<Set<Vertex<T>>> results = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      results.add(VisitedSet.identity());
+    }
+
+    // Recorded per call: component members stand in for vertices and DAG edges for edges; a
+    // skipped edge adds no new start to its target. The sweep keeps no stack.
+    TraversalStats.Probe probe = TraversalStats.start("condensation");
+    long visitedCount = 0;
+    long edges = 0;
+    long skipped = 0;
+    long[] mask = new long[componentCount];
+    for (int base = 0; base < count; base += Long.SIZE) {
+      int batch = Math.min(Long.SIZE, count - base);
+      int highest = -1;
+      for (int b = 0; b < batch; b++) {
+        Vertex<T> start = starts.get(base + b);
+        if (start != null) {
+          int c = componentOf(start);
+          mask[c] |= 1L << b;
+          highest = Math.max(highest, c);
+        }
+      }
+
+      // Edges lead to smaller ids, so descending id order reaches every predecessor first.
+      for (int c = highest; c >= 0; c--) {
+        long bits = mask[c];
+        if (bits == 0) {
+          continue;
+        }
+        mask[c] = 0;
+        visitedCount += memberOffsets[c + 1] - memberOffsets[c];
+        edges += dagOffsets[c + 1] - dagOffsets[c];
+        for (int i = dagOffsets[c]; i < dagOffsets[c + 1]; i++) {
+          int target = dagTargets[i];
+          if ((mask[target] | bits) == mask[target]) {
+            skipped++;
+          }
+          mask[target] |= bits;
+        }
+        for (int m = memberOffsets[c]; m < memberOffsets[c + 1]; m++) {
+          Vertex<T> v = vertices[members[m]];
+          if (leavesOnly && !v.isLeaf()) {
+            continue;
+          }
+          for (long rest = bits; rest != 0; rest &= rest - 1) {
+            results.get(base + Long.numberOfTrailingZeros(rest)).add(v);
+          }
+        }
+      }
+    }
+    if (probe != null) {
+      probe.finish(visitedCount, edges, skipped, 0, true);
+    }
+    return results;
+  }
+
+  /**
+   * Returns the maximum value among all vertices reachable from the given vertex. This is a
+   * constant-time lookup.
+   *
+   * @param vertex The starting vertex, or null.
+   * @return The maximum value, or Integer.MIN_VALUE if vertex is null.
+   * @throws IllegalArgumentException if the vertex was not part of the condensed graph.
+   * @throws IllegalStateException if the condensation was built without a value function.
+   */
+  public int max(Vertex<T> vertex) {
+    requireAggregates();
+    return vertex == null ? Integer.MIN_VALUE : reachableMax[componentOf(vertex)];
+  }
+
+  /**
+   * Returns whether all vertices reachable from the given vertex hold odd values. This is a
+   * constant-time lookup.
+   *
+   * @param vertex The starting vertex, or null.
+   * @return true if all reachable values are odd or vertex is null, false otherwise.
+   * @throws IllegalArgumentException if the vertex was not part of the condensed graph.
+   * @throws IllegalStateException if the condensation was built without a value function.
+   */
+  public boolean allOdd(Vertex<T> vertex) {
+    requireAggregates();
+    return vertex == null || reachableAllOdd[componentOf(vertex)];
+  }
+
+  private void requireAggregates() {
+    if (reachableMax == null) {
+      throw new IllegalStateException("condensation was built without a value function");
+    }
+  }
+}
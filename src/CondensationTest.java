@@ -0,0 +1,122 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * JUnit test suite for the Condensation class.
+ */
+public class CondensationTest {
+
+  /**
+   * Builds the cyclic graph from PracticeTest: v56 -> v78 -> v91 -> v56, v7 <-> v12 and a
+   * self-loop on v34, rooted at v3.
+   */
+  private List<Vertex<Integer>> buildComplexGraph() {
+    Vertex<Integer> v3  = new Vertex<>(3);
+    Vertex<Integer> v7  = new Vertex<>(7);
+    Vertex<Integer> v12 = new Vertex<>(12);
+    Vertex<Integer> v34 = new Vertex<>(34);
+    Vertex<Integer> v56 = new Vertex<>(56);
+    Vertex<Integer> v78 = new Vertex<>(78);
+    Vertex<Integer> v91 = new Vertex<>(91);
+    Vertex<Integer> v45 = new Vertex<>(45);
+    Vertex<Integer> v23 = new Vertex<>(23);
+
+    v3.neighbors  = new ArrayList<>(Arrays.asList(v7, v34));
+    v7.neighbors  = new ArrayList<>(Arrays.asList(v12, v45, v34, v56));
+    v12.neighbors = new ArrayList<>(Arrays.asList(v7, v56, v78));
+    v34.neighbors = new ArrayList<>(Arrays.asList(v34, v91));
+    v56.neighbors = new ArrayList<>(Arrays.asList(v78));
+    v78.neighbors = new ArrayList<>(Arrays.asList(v91));
+    v91.neighbors = new ArrayList<>(Arrays.asList(v56));
+    v45.neighbors = new ArrayList<>(Arrays.asList(v23));
+    return Arrays.asList(v3, v7, v12, v34, v56, v78, v91, v45, v23);
+  }
+
+  @Test
+  public void testComplexGraph_CollapsesCycles() {
+    List<Vertex<Integer>> graph = buildComplexGraph();
+    Condensation<Integer> condensation = Condensation.of(graph.get(0));
+
+    // {3}, {7, 12}, {34}, {56, 78, 91}, {45}, {23}
+    assertEquals(6, condensation.componentCount());
+    int cycle = condensation.componentOf(graph.get(4));
+    assertEquals(cycle, condensation.componentOf(graph.get(5)));
+    assertEquals(cycle, condensation.componentOf(graph.get(6)));
+    assertEquals(3, condensation.members(cycle).size());
+    assertEquals(condensation.componentOf(graph.get(1)), condensation.componentOf(graph.get(2)));
+    assertEquals(0, condensation.successors(cycle).length, "the 56-78-91 cycle has no way out");
+  }
+
+  @Test
+  public void testComplexGraph_QueriesMatchPractice() {
+    Practice practice = new Practice();
+    List<Vertex<Integer>> graph = buildComplexGraph();
+    Condensation<Integer> condensation = Condensation.of(graph.get(0));
+    for (Vertex<Integer> v : graph) {
+      assertEquals(practice.reachable(v), condensation.reachable(v), "reachable from " + v.data);
+      assertEquals(practice.max(v), condensation.max(v), "max from " + v.data);
+      assertEquals(practice.allOdd(v), condensation.allOdd(v), "allOdd from " + v.data);
+    }
+    assertTrue(condensation.reachable(null).isEmpty());
+    assertEquals(Integer.MIN_VALUE, condensation.max(null));
+    assertTrue(condensation.allOdd(null));
+  }
+
+  @Test
+  public void testRandomGraphs_QueriesMatchPractice() {
+    Practice practice = new Practice();
+    Random random = new Random(TestGraphs.SEED);
+    for (int round = 0; round < 10; round++) {
+      int n = 50;
+      List<Vertex<Integer>> vertices = new ArrayList<>();
+      for (int i = 0; i < n; i++) {
+        vertices.add(new Vertex<>(random.nextInt(1000)));
+      }
+      for (int i = 0; i < 2 * n; i++) {
+        vertices.get(random.nextInt(n)).neighbors.add(vertices.get(random.nextInt(n)));
+      }
+      Condensation<Integer> condensation = Condensation.of(vertices, Integer::intValue);
+      for (Vertex<Integer> v : vertices) {
+        assertEquals(practice.reachable(v), condensation.reachable(v));
+        assertEquals(practice.max(v), condensation.max(v));
+        assertEquals(practice.allOdd(v), condensation.allOdd(v));
+        for (int successor : condensation.successors(condensation.componentOf(v))) {
+          assertTrue(successor < condensation.componentOf(v), "components must be in reverse topological order");
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testDeepChain_DoesNotOverflowStack() {
+    Vertex<Integer> head = new Vertex<>(0);
+    Vertex<Integer> current = head;
+    for (int i = 1; i < 500_000; i++) {
+      Vertex<Integer> next = new Vertex<>(i);
+      current.neighbors.add(next);
+      current = next;
+    }
+    current.neighbors.add(head);
+
+    Condensation<Integer> condensation = Condensation.of(head);
+    assertEquals(1, condensation.componentCount(), "a closed chain is a single cycle");
+    assertEquals(499_999, condensation.max(current));
+  }
+
+  @Test
+  public void testUnknownVertexAndMissingAggregates() {
+    Vertex<Integer> root = new Vertex<>(1);
+    Condensation<Integer> plain = Condensation.of(Arrays.asList(root), null);
+    assertThrows(IllegalStateException.class, () -> plain.max(root));
+    assertThrows(IllegalArgumentException.class, () -> plain.componentOf(new Vertex<>(2)));
+    Set<Vertex<Integer>> expected = new HashSet<>(Arrays.asList(root));
+    assertEquals(expected, plain.reachable(root));
+  }
+}
@@ -0,0 +1,102 @@
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * A lazy depth-first spliterator over the vertices reachable from a starting vertex.
+ *
+ * Vertices are discovered on demand: each call to {@link #tryAdvance} expands exactly one
+ * vertex, so a consumer that stops early (for example through {@code limit} or
+ * {@code findFirst} on a stream) never pays for the rest of the graph. Like {@link Traversal},
+ * vertices are marked visited when pushed, so each one is reported exactly once.
+ *
+ * This spliterator does not split; use {@link ParallelReachability} for parallel traversal.
+ *
+ * While {@link TraversalStats} is enabled, the traversal is recorded once the spliterator is
+ * exhausted; its elapsed time then includes the time spent by the consumer. A spliterator that is
+ * abandoned before it is exhausted is not recorded.
+ *
+ * @param <T> The type of data stored in the vertices.
+ */
+public final class DfsSpliterator<T> implements Spliterator<Vertex<T>> {
+  private final ArrayDeque<Vertex<T>> stack = new ArrayDeque<>();
+  private final Set<Vertex<T>> visited;
+  private TraversalStats.Probe probe;
+  private long visitedCount;
+  private long edges;
+  private long skipped;
+  private int maxStackSize;
+
+  /**
+   * Creates a spliterator over the vertices reachable from the given start vertex.
+   *
+   * @param start The starting vertex, or null for an empty spliterator.
+   */
+  public DfsSpliterator(Vertex<T> start) {
+    this(start, Traversal.newVisitedSet());
+  }
+
+  /**
+   * Creates a spliterator over the vertices reachable from the given start vertex, recording
+   * visited vertices in the given set. Vertices already in the set are skipped.
+   *
+   * @param start The starting vertex, or null for an empty spliterator.
+   * @param visited The set used to record visited vertices.
+   */
+  public DfsSpliterator(Vertex<T> start, Set<Vertex<T>> visited) {
+    this.visited = visited;
+    if (start != null && visited.add(start)) {
+      stack.push(start);
+      probe = TraversalStats.start("stream");
+      maxStackSize = 1;
+    }
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super Vertex<T>> action) {
+    Vertex<T> current = stack.poll();
+    if (current == null) {
+      if (probe != null) {
+        probe.finish(visitedCount, edges, skipped, maxStackSize, true);
+        probe = null;
+      }
+      return false;
+    }
+
+    visitedCount++;
+    List<Vertex<T>> neighbors = current.neighbors;
+    if (neighbors != null) {
+      for (Vertex<T> neighbor : neighbors) {
+        if (neighbor == null) {
+          continue;
+        }
+        edges++;
+        if (visited.add(neighbor)) {
+          stack.push(neighbor);
+        } else {
+          skipped++;
+        }
+      }
+      maxStackSize = Math.max(maxStackSize, stack.size());
+    }
+    action.accept(current);
+    return true;
+  }
+
+  @Override
+  public Spliterator<Vertex<T>> trySplit() {
+    return null;
+  }
+
+  @Override
+  public long estimateSize() {
+    return stack.isEmpty() ? 0 : Long.MAX_VALUE;
+  }
+
+  @Override
+  public int characteristics() {
+    return DISTINCT | NONNULL;
+  }
+}
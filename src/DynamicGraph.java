@@ -0,0 +1,350 @@
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * A wrapper around a {@link Vertex} graph that keeps the reachable set, the leaf set and the
+ * maximum value of registered roots up to date as edges are added and removed.
+ *
+ * All changes to the neighbors lists of vertices reachable from a registered root must go
+ * through {@link #addEdge}, {@link #removeEdge} and {@link #setValue}; changing
+ * {@code Vertex.neighbors} or {@code Vertex.data} directly leaves the maintained results stale.
+ *
+ * For every root the wrapper keeps a DFS spanning tree of its reachable set. Adding an edge only
+ * traverses vertices that become newly reachable. Removing an edge that is not a tree edge
+ * changes nothing but leaf status; removing a tree edge detaches the subtree below it, which is
+ * then re-attached through any remaining edge from a still-reachable vertex. Either way the cost
+ * is proportional to the part of the graph affected, not to the size of the graph.
+ *
+ * @param <T> The type of data stored in the vertices.
+ */
+public final class DynamicGraph<T> {
+  private final Comparator<? super T> order;
+  private final Map<Vertex<T>, List<Vertex<T>>> predecessors = new IdentityHashMap<>();
+  private final VisitedSet<T> scanned = VisitedSet.identity();
+  private final Map<Vertex<T>, RootState<T>> roots = new IdentityHashMap<>();
+
+  /**
+   * Creates an empty dynamic graph that orders vertex values with the given comparator when
+   * maintaining the maximum value.
+   *
+   * @param order The order used for {@link #max(Vertex)}.
+   */
+  public DynamicGraph(Comparator<? super T> order) {
+    this.order = Objects.requireNonNull(order, "order must not be null");
+  }
+
+  /**
+   * The results maintained for one registered root.
+   */
+  private static final class RootState<T> {
+    /** Spanning-tree parent of every reachable vertex; the key set is the reachable set. */
+    final Map<Vertex<T>, Vertex<T>> parent = new IdentityHashMap<>();
+    final VisitedSet<T> leaves = VisitedSet.identity();
+    final TreeMap<T, Integer> values;
+
+    RootState(Comparator<? super T> order) {
+      values = new TreeMap<>(order);
+    }
+  }
+
+  /**
+   * Starts maintaining results for the given root. Registering a root costs one traversal of
+   * the vertices reachable from it; registering it again has no effect.
+   *
+   * @param root The root to maintain results for.
+   * @throws NullPointerException if root is null.
+   */
+  public void register(Vertex<T> root) {
+    Objects.requireNonNull(root, "root must not be null");
+    if (roots.containsKey(root)) {
+      return;
+    }
+    RootState<T> state = new RootState<>(order);
+    roots.put(root, state);
+    reach(state, root, root);
+    extend(state, root);
+  }
+
+  /**
+   * Stops maintaining results for the given root.
+   *
+   * @param root The root to forget.
+   * @return true if the root was registered.
+   */
+  public boolean unregister(Vertex<T> root) {
+    return roots.remove(root) != null;
+  }
+
+  /**
+   * Returns the vertices reachable from a registered root, including the root itself.
+   *
+   * @param root A registered root.
+   * @return A read-only live view of the reachable set.
+   * @throws IllegalArgumentException if root is not registered.
+   */
+  public Set<Vertex<T>> reachable(Vertex<T> root) {
+    return Collections.unmodifiableSet(state(root).parent.keySet());
+  }
+
+  /**
+   * Returns the vertices without neighbors that are reachable from a registered root.
+   *
+   * @param root A registered root.
+   * @return A read-only live view of the leaf set.
+   * @throws IllegalArgumentException if root is not registered.
+   */
+  public Set<Vertex<T>> leaves(Vertex<T> root) {
+    return Collections.unmodifiableSet(state(root).leaves);
+  }
+
+  /**
+   * Returns the largest value among the vertices reachable from a registered root.
+   *
+   * @param root A registered root.
+   * @return The maximum value.
+   * @throws IllegalArgumentException if root is not registered.
+   */
+  public T max(Vertex<T> root) {
+    return state(root).values.lastKey();
+  }
+
+  /**
+   * Appends an edge to the neighbors of from and updates the results of every registered root
+   * that reaches from.
+   *
+   * @param from The vertex the edge starts at.
+   * @param to The vertex the edge points to.
+   * @throws NullPointerException if from or to is null.
+   */
+  public void addEdge(Vertex<T> from, Vertex<T> to) {
+    Objects.requireNonNull(from, "from must not be null");
+    Objects.requireNonNull(to, "to must not be null");
+    if (from.neighbors == null) {
+      from.neighbors = new ArrayList<>();
+    }
+    boolean wasLeaf = from.isLeaf();
+    from.neighbors.add(to);
+    if (scanned.contains(from)) {
+      predecessorsOf(to).add(from);
+    }
+
+    for (RootState<T> state : roots.values()) {
+      if (!state.parent.containsKey(from)) {
+        continue;
+      }
+      if (wasLeaf) {
+        state.leaves.remove(from);
+      }
+      if (!state.parent.containsKey(to)) {
+        reach(state, to, from);
+        extend(state, to);
+      }
+    }
+  }
+
+  /**
+   * Removes one occurrence of an edge from the neighbors of from and updates the results of
+   * every registered root that reaches from.
+   *
+   * @param from The vertex the edge starts at.
+   * @param to The vertex the edge points to.
+   * @return true if the edge existed and was removed.
+   * @throws NullPointerException if from or to is null.
+   */
+  public boolean removeEdge(Vertex<T> from, Vertex<T> to) {
+    Objects.requireNonNull(from, "from must not be null");
+    Objects.requireNonNull(to, "to must not be null");
+    if (from.neighbors == null || !removeIdentical(from.neighbors, to)) {
+      return false;
+    }
+    if (scanned.contains(from)) {
+      removeIdentical(predecessorsOf(to), from);
+    }
+
+    boolean nowLeaf = from.isLeaf();
+    boolean edgeRemains = containsIdentical(from.neighbors, to);
+    for (Map.Entry<Vertex<T>, RootState<T>> entry : roots.entrySet()) {
+      RootState<T> state = entry.getValue();
+      if (!state.parent.containsKey(from)) {
+        continue;
+      }
+      if (nowLeaf) {
+        state.leaves.add(from);
+      }
+      if (!edgeRemains && to != entry.getKey() && state.parent.get(to) == from) {
+        detachAndReattach(state, to);
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Changes the value of a vertex and updates the maximum of every registered root that
+   * reaches it.
+   *
+   * @param vertex The vertex to change.
+   * @param value The new value.
+   */
+  public void setValue(Vertex<T> vertex, T value) {
+    for (RootState<T> state : roots.values()) {
+      if (state.parent.containsKey(vertex)) {
+        decrement(state.values, vertex.data);
+        state.values.merge(value, 1, Integer::sum);
+      }
+    }
+    vertex.data = value;
+  }
+
+  private RootState<T> state(Vertex<T> root) {
+    RootState<T> state = roots.get(root);
+    if (state == null) {
+      throw new IllegalArgumentException("root is not registered");
+    }
+    return state;
+  }
+
+  /**
+   * Records that vertex became reachable in the given root through parent.
+   */
+  private void reach(RootState<T> state, Vertex<T> vertex, Vertex<T> parent) {
+    state.parent.put(vertex, parent);
+    if (vertex.isLeaf()) {
+      state.leaves.add(vertex);
+    }
+    state.values.merge(vertex.data, 1, Integer::sum);
+    scan(vertex);
+  }
+
+  /**
+   * Records the out-edges of a vertex in the predecessor index the first time the vertex is
+   * reached by any root. From then on every edge change goes through this wrapper.
+   */
+  private void scan(Vertex<T> vertex) {
+    if (!scanned.add(vertex)) {
+      return;
+    }
+    if (vertex.neighbors != null) {
+      for (Vertex<T> neighbor : vertex.neighbors) {
+        if (neighbor != null) {
+          predecessorsOf(neighbor).add(vertex);
+        }
+      }
+    }
+  }
+
+  private List<Vertex<T>> predecessorsOf(Vertex<T> vertex) {
+    return predecessors.computeIfAbsent(vertex, v -> new ArrayList<>());
+  }
+
+  /**
+   * Reaches every not-yet-reachable vertex reachable from start, which must already be reached.
+   */
+  private void extend(RootState<T> state, Vertex<T> start) {
+    ArrayDeque<Vertex<T>> stack = new ArrayDeque<>();
+    stack.push(start);
+    while (!stack.isEmpty()) {
+      Vertex<T> current = stack.pop();
+      if (current.neighbors == null) {
+        continue;
+      }
+      for (Vertex<T> neighbor : current.neighbors) {
+        if (neighbor != null && !state.parent.containsKey(neighbor)) {
+          reach(state, neighbor, current);
+          stack.push(neighbor);
+        }
+      }
+    }
+  }
+
+  /**
+   * Handles the removal of the tree edge into subtreeRoot: detaches its spanning subtree,
+   * re-attaches every detached vertex that still has an edge from a reachable vertex, and
+   * forgets the rest.
+   */
+  private void detachAndReattach(RootState<T> state, Vertex<T> subtreeRoot) {
+    List<Vertex<T>> detached = new ArrayList<>();
+    VisitedSet<T> inSubtree = VisitedSet.identity();
+    inSubtree.add(subtreeRoot);
+    detached.add(subtreeRoot);
+    for (int i = 0; i < detached.size(); i++) {
+      Vertex<T> u = detached.get(i);
+      if (u.neighbors == null) {
+        continue;
+      }
+      for (Vertex<T> w : u.neighbors) {
+        if (w != null && state.parent.get(w) == u && inSubtree.add(w)) {
+          detached.add(w);
+        }
+      }
+    }
+    for (Vertex<T> d : detached) {
+      state.parent.remove(d);
+    }
+
+    ArrayDeque<Vertex<T>> stack = new ArrayDeque<>();
+    for (Vertex<T> d : detached) {
+      if (state.parent.containsKey(d)) {
+        continue;
+      }
+      for (Vertex<T> p : predecessorsOf(d)) {
+        if (state.parent.containsKey(p)) {
+          state.parent.put(d, p);
+          stack.push(d);
+          break;
+        }
+      }
+      // Every out-neighbor of a reattached vertex is either reachable or detached, so the
+      // vertices this walk claims are exactly the detached ones it can reach.
+      while (!stack.isEmpty()) {
+        Vertex<T> current = stack.pop();
+        if (current.neighbors == null) {
+          continue;
+        }
+        for (Vertex<T> w : current.neighbors) {
+          if (w != null && !state.parent.containsKey(w)) {
+            state.parent.put(w, current);
+            stack.push(w);
+          }
+        }
+      }
+    }
+
+    for (Vertex<T> d : detached) {
+      if (!state.parent.containsKey(d)) {
+        state.leaves.remove(d);
+        decrement(state.values, d.data);
+      }
+    }
+  }
+
+  private static <T> void decrement(TreeMap<T, Integer> counts, T value) {
+    counts.computeIfPresent(value, (k, count) -> count == 1 ? null : count - 1);
+  }
+
+  private static <T> boolean removeIdentical(List<Vertex<T>> list, Vertex<T> vertex) {
+    for (int i = 0; i < list.size(); i++) {
+      if (list.get(i) == vertex) {
+        list.remove(i);
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static <T> boolean containsIdentical(List<Vertex<T>> list, Vertex<T> vertex) {
+    for (Vertex<T> v : list) {
+      if (v == vertex) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,94 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * JUnit test suite for the DynamicGraph class.
+ */
+public class DynamicGraphTest {
+
+  @Test
+  public void testAddEdge_ExtendsReachableLeavesAndMax() {
+    Vertex<Integer> a = new Vertex<>(1);
+    Vertex<Integer> b = new Vertex<>(2);
+    Vertex<Integer> c = new Vertex<>(9);
+    a.neighbors.add(b);
+    DynamicGraph<Integer> graph = new DynamicGraph<>(Comparator.naturalOrder());
+    graph.register(a);
+    assertEquals(2, graph.reachable(a).size());
+    assertTrue(graph.leaves(a).contains(b));
+    assertEquals(2, graph.max(a));
+
+    graph.addEdge(b, c);
+    assertTrue(graph.reachable(a).contains(c));
+    assertFalse(graph.leaves(a).contains(b), "b gained a neighbor and is no longer a leaf");
+    assertTrue(graph.leaves(a).contains(c));
+    assertEquals(9, graph.max(a));
+  }
+
+  @Test
+  public void testRemoveEdge_ReattachesThroughAlternativePath() {
+    Vertex<Integer> a = new Vertex<>(1);
+    Vertex<Integer> b = new Vertex<>(2);
+    Vertex<Integer> c = new Vertex<>(3);
+    Vertex<Integer> d = new Vertex<>(4);
+    a.neighbors.add(b);
+    a.neighbors.add(c);
+    b.neighbors.add(d);
+    c.neighbors.add(d);
+    DynamicGraph<Integer> graph = new DynamicGraph<>(Comparator.naturalOrder());
+    graph.register(a);
+
+    assertTrue(graph.removeEdge(b, d));
+    assertTrue(graph.reachable(a).contains(d), "d is still reachable through c");
+    assertTrue(graph.leaves(a).contains(b), "b lost its only neighbor");
+
+    assertTrue(graph.removeEdge(c, d));
+    assertFalse(graph.reachable(a).contains(d));
+    assertEquals(3, graph.max(a));
+    assertFalse(graph.removeEdge(c, d), "removing a missing edge should report false");
+  }
+
+  @Test
+  public void testRandomUpdates_MatchFullRecomputation() {
+    Practice practice = new Practice();
+    Random random = new Random(TestGraphs.SEED);
+    int n = 40;
+    List<Vertex<Integer>> vertices = new ArrayList<>();
+    for (int i = 0; i < n; i++) {
+      vertices.add(new Vertex<>(i));
+    }
+    for (int i = 0; i < n * 2; i++) {
+      vertices.get(random.nextInt(n)).neighbors.add(vertices.get(random.nextInt(n)));
+    }
+    DynamicGraph<Integer> graph = new DynamicGraph<>(Comparator.naturalOrder());
+    List<Vertex<Integer>> roots = List.of(vertices.get(0), vertices.get(1), vertices.get(2));
+    for (Vertex<Integer> root : roots) {
+      graph.register(root);
+    }
+
+    for (int step = 0; step < 2000; step++) {
+      Vertex<Integer> from = vertices.get(random.nextInt(n));
+      if (random.nextBoolean() && !from.neighbors.isEmpty()) {
+        graph.removeEdge(from, from.neighbors.get(random.nextInt(from.neighbors.size())));
+      } else {
+        graph.addEdge(from, vertices.get(random.nextInt(n)));
+      }
+      for (Vertex<Integer> root : roots) {
+        assertEquals(practice.reachable(root), graph.reachable(root), "reachable at step " + step);
+        assertEquals(practice.leaves(root), graph.leaves(root), "leaves at step " + step);
+        assertEquals(practice.max(root), graph.max(root), "max at step " + step);
+      }
+    }
+  }
+
+  @Test
+  public void testUnregisteredRootThrows() {
+    DynamicGraph<Integer> graph = new DynamicGraph<>(Comparator.naturalOrder());
+    assertThrows(IllegalArgumentException.class, () -> graph.reachable(new Vertex<>(1)));
+  }
+}
@@ -0,0 +1,628 @@
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Objects;
+import java.util.concurrent.CountedCompleter;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntPredicate;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongPredicate;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Folds the values of all vertices reachable from a start vertex into a primitive accumulator.
+ *
+ * A fold starts from an identity, applies an accumulator function to the running result and the
+ * value of each visited vertex in turn, and returns the final result. An optional stop predicate
+ * ends the traversal as soon as the running result satisfies it, for example once an even value
+ * has been seen by an all-odd check. Values and results stay primitive throughout, so a fold
+ * allocates nothing per vertex.
+ *
+ * Folds are offered for every graph representation. Sums, counts, minima, maxima and bit flags
+ * are all folds; every {@code max} and {@code allOdd} overload of {@link Practice} is implemented
+ * as one.
+ *
+ * The parallel folds traverse a {@link CsrGraph} or an {@link IntCsrGraph} on a
+ * {@link ForkJoinPool} in the same way as {@link ParallelReachability}: each task folds the
+ * vertices it claims into its own result, and results are merged with a combiner as tasks
+ * complete. The accumulator and combiner must therefore be associative and commutative with the
+ * identity as neutral element, and the stop predicate must be monotone: once a result satisfies
+ * it, every combination with that result must as well. A {@link Vertex} graph is folded in
+ * parallel by converting it with {@link CsrGraph#from(Vertex)} first.
+ */
+public final class Folds {
+
+  private Folds() {
+  }
+
+  /**
+   * Folds the int values of all vertices reachable from the given start vertex.
+   *
+   * @param start The starting vertex, or null for an empty fold.
+   * @param value Extracts an int from each vertex value.
+   * @param identity The initial result.
+   * @param accumulator Combines the running result with the value of one vertex.
+   * @param stop Ends the fold once the running result satisfies it, or null to visit everything.
+   * @return The folded result, or identity if start is null.
+   */
+  public static <T> int foldInt(Vertex<T> start, ToIntFunction<? super T> value, int identity,
+      IntBinaryOperator accumulator, IntPredicate stop) {
+    IntFold fold = new IntFold(null, identity, accumulator, stop);
+    Traversal.dfs(start, v -> fold.add(value.applyAsInt(v.data)));
+    return fold.result;
+  }
+
+  /**
+   * Folds the long values of all vertices reachable from the given start vertex.
+   *
+   * @param start The starting vertex, or null for an empty fold.
+   * @param value Extracts a long from each vertex value.
+   * @param identity The initial result.
+   * @param accumulator Combines the running result with the value of one vertex.
+   * @param stop Ends the fold once the running result satisfies it, or null to visit everything.
+   * @return The folded result, or identity if start is null.
+   */
+  public static <T> long foldLong(Vertex<T> start, ToLongFunction<? super T> value,
+      long identity, LongBinaryOperator accumulator, LongPredicate stop) {
+    LongFold fold = new LongFold(null, identity, accumulator, stop);
+    Traversal.dfs(start, v -> fold.add(value.applyAsLong(v.data)));
+    return fold.result;
+  }
+
+  /**
+   * Folds the int values of all vertices of a CSR graph reachable from the given start vertex.
+   *
+   * @param graph The graph to traverse.
+   * @param start The id of the starting vertex.
+   * @param value Extracts an int from each vertex value.
+   * @param identity The initial result.
+   * @param accumulator Combines the running result with the value of one vertex.
+   * @param stop Ends the fold once the running result satisfies it, or null to visit everything.
+   * @return The folded result.
+   * @throws IndexOutOfBoundsException if start is not a vertex of the graph.
+   */
+  public static <T> int foldInt(CsrGraph<T> graph, int start, ToIntFunction<? super T> value,
+      int identity, IntBinaryOperator accumulator, IntPredicate stop) {
+    IntFold fold = new IntFold(v -> value.applyAsInt(graph.value(v)), identity, accumulator, stop);
+    Traversal.dfs(graph, start, new BitSet(graph.vertexCount()), Traversal.ALL_INT_EDGES, fold);
+    return fold.result;
+  }
+
+  /**
+   * Folds the long values of all vertices of a CSR graph reachable from the given start vertex.
+   *
+   * @param graph The graph to traverse.
+   * @param start The id of the starting vertex.
+   * @param value Extracts a long from each vertex value.
+   * @param identity The initial result.
+   * @param accumulator Combines the running result with the value of one vertex.
+   * @param stop Ends the fold once the running result satisfies it, or null to visit everything.
+   * @return The folded result.
+   * @throws IndexOutOfBoundsException if start is not a vertex of the graph.
+   */
+  public static <T> long foldLong(CsrGraph<T> graph, int start, ToLongFunction<? super T> value,
+      long identity, LongBinaryOperator accumulator, LongPredicate stop) {
+    LongFold fold =
+        new LongFold(v -> value.applyAsLong(graph.value(v)), identity, accumulator, stop);
+    Traversal.dfs(graph, start, new BitSet(graph.vertexCount()), Traversal.ALL_INT_EDGES, fold);
+    return fold.result;
+  }
+
+  /**
+   * Folds the values of all vertices of an int CSR graph reachable from the given start vertex.
+   *
+   * @param graph The graph to traverse.
+   * @param start The id of the starting vertex.
+   * @param identity The initial result.
+   * @param accumulator Combines the running result with the value of one vertex.
+   * @param stop Ends the fold once the running result satisfies it, or null to visit everything.
+   * @return The folded result.
+   * @throws IndexOutOfBoundsException if start is not a vertex of the graph.
+   */
+  public static int foldInt(IntCsrGraph graph, int start, int identity,
+      IntBinaryOperator accumulator, IntPredicate stop) {
+    int[] values = graph.values;
+    IntFold fold = new IntFold(v -> values[v], identity, accumulator, stop);
+    Traversal.dfs(graph, start, new BitSet(graph.vertexCount()), Traversal.ALL_INT_EDGES, fold);
+    return fold.result;
+  }
+
+  /**
+   * Folds the values of all vertices of an int CSR graph reachable from the given start vertex
+   * into a long result.
+   *
+   * @param graph The graph to traverse.
+   * @param start The id of the starting vertex.
+   * @param identity The initial result.
+   * @param accumulator Combines the running result with the value of one vertex.
+   * @param stop Ends the fold once the running result satisfies it, or null to visit everything.
+   * @return The folded result.
+   * @throws IndexOutOfBoundsException if start is not a vertex of the graph.
+   */
+  public static long foldLong(IntCsrGraph graph, int start, long identity,
+      LongBinaryOperator accumulator, LongPredicate stop) {
+    int[] values = graph.values;
+    LongFold fold = new LongFold(v -> values[v], identity, accumulator, stop);
+    Traversal.dfs(graph, start, new BitSet(graph.vertexCount()), Traversal.ALL_INT_EDGES, fold);
+    return fold.result;
+  }
+
+  /**
+   * Folds the values of all vertices of a memory-mapped graph reachable from the given start
+   * vertex. The graph is read in place.
+   *
+   * @param graph The graph to traverse.
+   * @param start The id of the starting vertex.
+   * @param identity The initial result.
+   * @param accumulator Combines the running result with the value of one vertex.
+   * @param stop Ends the fold once the running result satisfies it, or null to visit everything.
+   * @return The folded result.
+   * @throws IndexOutOfBoundsException if start is not a vertex of the graph.
+   */
+  public static int foldInt(MappedGraph graph, int start, int identity,
+      IntBinaryOperator accumulator, IntPredicate stop) {
+    IntBuffer values = graph.values;
+    IntFold fold = new IntFold(values::get, identity, accumulator, stop);
+    Traversal.dfs(graph, start, new BitSet(graph.vertexCount()), Traversal.ALL_INT_EDGES, fold);
+    return fold.result;
+  }
+
+  /**
+   * Folds the values of all vertices of a memory-mapped graph reachable from the given start
+   * vertex into a long result. The graph is read in place.
+   *
+   * @param graph The graph to traverse.
+   * @param start The id of the starting vertex.
+   * @param identity The initial result.
+   * @param accumulator Combines the running result with the value of one vertex.
+   * @param stop Ends the fold once the running result satisfies it, or null to visit everything.
+   * @return The folded result.
+   * @throws IndexOutOfBoundsException if start is not a vertex of the graph.
+   */
+  public static long foldLong(MappedGraph graph, int start, long identity,
+      LongBinaryOperator accumulator, LongPredicate stop) {
+    IntBuffer values = graph.values;
+    LongFold fold = new LongFold(values::get, identity, accumulator, stop);
+    Traversal.dfs(graph, start, new BitSet(graph.vertexCount()), Traversal.ALL_INT_EDGES, fold);
+    return fold.result;
+  }
+
+  /**
+   * Folds the int values of all vertices of a graph snapshot reachable from the given start
+   * vertex. Safe to call while the graph is being updated.
+   *
+   * @param graph The snapshot to traverse.
+   * @param start The id of the starting vertex.
+   * @param value Extracts an int from each vertex value.
+   * @param identity The initial result.
+   * @param accumulator Combines the running result with the value of one vertex.
+   * @param stop Ends the fold once the running result satisfies it, or null to visit everything.
+   * @return The folded result.
+   * @throws IndexOutOfBoundsException if start is not a vertex of the snapshot.
+   */
+  public static <T> int foldInt(GraphSnapshot<T> graph, int start,
+      ToIntFunction<? super T> value, int identity, IntBinaryOperator accumulator,
+      IntPredicate stop) {
+    IntFold fold = new IntFold(v -> value.applyAsInt(graph.value(v)), identity, accumulator, stop);
+    Traversal.dfs(graph, start, new BitSet(graph.vertexCount()), Traversal.ALL_INT_EDGES, fold);
+    return fold.result;
+  }
+
+  /**
+   * Folds the long values of all vertices of a graph snapshot reachable from the given start
+   * vertex. Safe to call while the graph is being updated.
+   *
+   * @param graph The snapshot to traverse.
+   * @param start The id of the starting vertex.
+   * @param value Extracts a long from each vertex value.
+   * @param identity The initial result.
+   * @param accumulator Combines the running result with the value of one vertex.
+   * @param stop Ends the fold once the running result satisfies it, or null to visit everything.
+   * @return The folded result.
+   * @throws IndexOutOfBoundsException if start is not a vertex of the snapshot.
+   */
+  public static <T> long foldLong(GraphSnapshot<T> graph, int start,
+      ToLongFunction<? super T> value, long identity, LongBinaryOperator accumulator,
+      LongPredicate stop) {
+    LongFold fold =
+        new LongFold(v -> value.applyAsLong(graph.value(v)), identity, accumulator, stop);
+    Traversal.dfs(graph, start, new BitSet(graph.vertexCount()), Traversal.ALL_INT_EDGES, fold);
+    return fold.result;
+  }
+
+  /**
+   * Folds the values of all vertices of an int CSR graph reachable from the given start vertex,
+   * in parallel on the given pool.
+   *
+   * @param graph The graph to traverse.
+   * @param start The id of the starting vertex.
+   * @param identity The initial result of every task; must be neutral for the combiner.
+   * @param accumulator Combines a running result with the value of one vertex.
+   * @param combiner Combines the results of two tasks.
+   * @param stop A monotone predicate that ends the fold once a result satisfies it, or null.
+   * @param pool The pool to run the traversal on.
+   * @return The folded result.
+   * @throws IndexOutOfBoundsException if start is not a vertex of the graph.
+   */
+  public static int foldInt(IntCsrGraph graph, int start, int identity,
+      IntBinaryOperator accumulator, IntBinaryOperator combiner, IntPredicate stop,
+      ForkJoinPool pool) {
+    int[] values = graph.values;
+    IntFoldTask root = new IntFoldTask(share(graph.offsets, graph.targets, start, pool),
+        v -> values[v], identity, accumulator, combiner, stop);
+    invoke(root, pool);
+    return root.result;
+  }
+
+  /**
+   * Folds the values of all vertices of an int CSR graph reachable from the given start vertex
+   * into a long result, in parallel on the given pool.
+   *
+   * @param graph The graph to traverse.
+   * @param start The id of the starting vertex.
+   * @param identity The initial result of every task; must be neutral for the combiner.
+   * @param accumulator Combines a running result with the value of one vertex.
+   * @param combiner Combines the results of two tasks.
+   * @param stop A monotone predicate that ends the fold once a result satisfies it, or null.
+   * @param pool The pool to run the traversal on.
+   * @return The folded result.
+   * @throws IndexOutOfBoundsException if start is not a vertex of the graph.
+   */
+  public static long foldLong(IntCsrGraph graph, int start, long identity,
+      LongBinaryOperator accumulator, LongBinaryOperator combiner, LongPredicate stop,
+      ForkJoinPool pool) {
+    int[] values = graph.values;
+    LongFoldTask root = new LongFoldTask(share(graph.offsets, graph.targets, start, pool),
+        v -> values[v], identity, accumulator, combiner, stop);
+    invoke(root, pool);
+    return root.result;
+  }
+
+  /**
+   * Folds the int values of all vertices of a CSR graph reachable from the given start vertex,
+   * in parallel on the given pool.
+   *
+   * @param graph The graph to traverse.
+   * @param start The id of the starting vertex.
+   * @param value Extracts an int from each vertex value.
+   * @param identity The initial result of every task; must be neutral for the combiner.
+   * @param accumulator Combines a running result with the value of one vertex.
+   * @param combiner Combines the results of two tasks.
+   * @param stop A monotone predicate that ends the fold once a result satisfies it, or null.
+   * @param pool The pool to run the traversal on.
+   * @return The folded result.
+   * @throws IndexOutOfBoundsException if start is not a vertex of the graph.
+   */
+  public static <T> int foldInt(CsrGraph<T> graph, int start, ToIntFunction<? super T> value,
+      int identity, IntBinaryOperator accumulator, IntBinaryOperator combiner, IntPredicate stop,
+      ForkJoinPool pool) {
+    IntFoldTask root = new IntFoldTask(share(graph.offsets, graph.targets, start, pool),
+        v -> value.applyAsInt(graph.value(v)), identity, accumulator, combiner, stop);
+    invoke(root, pool);
+    return root.result;
+  }
+
+  /**
+   * Folds the long values of all vertices of a CSR graph reachable from the given start vertex,
+   * in parallel on the given pool.
+   *
+   * @param graph The graph to traverse.
+   * @param start The id of the starting vertex.
+   * @param value Extracts a long from each vertex value.
+   * @param identity The initial result of every task; must be neutral for the combiner.
+   * @param accumulator Combines a running result with the value of one vertex.
+   * @param combiner Combines the results of two tasks.
+   * @param stop A monotone predicate that ends the fold once a result satisfies it, or null.
+   * @param pool The pool to run the traversal on.
+   * @return The folded result.
+   * @throws IndexOutOfBoundsException if start is not a vertex of the graph.
+   */
+  public static <T> long foldLong(CsrGraph<T> graph, int start, ToLongFunction<? super T> value,
+      long identity, LongBinaryOperator accumulator, LongBinaryOperator combiner,
+      LongPredicate stop, ForkJoinPool pool) {
+    LongFoldTask root = new LongFoldTask(share(graph.offsets, graph.targets, start, pool),
+        v -> value.applyAsLong(graph.value(v)), identity, accumulator, combiner, stop);
+    invoke(root, pool);
+    return root.result;
+  }
+
+
+  /**
+   * The running result of a sequential int fold. It is also the visitor of the id-based
+   * traversals, reading each vertex's value through {@code value}.
+   */
+  private static final class IntFold implements Traversal.IntVisitor {
+    private final IntUnaryOperator value;
+    private final IntBinaryOperator accumulator;
+    private final IntPredicate stop;
+    int result;
+
+    IntFold(IntUnaryOperator value, int identity, IntBinaryOperator accumulator,
+        IntPredicate stop) {
+      this.value = value;
+      this.accumulator = accumulator;
+      this.stop = stop;
+      this.result = identity;
+    }
+
+    /**
+     * Folds one value into the result.
+     *
+     * @return false once the result satisfies the stop predicate.
+     */
+    boolean add(int x) {
+      result = accumulator.applyAsInt(result, x);
+      return stop == null || !stop.test(result);
+    }
+
+    @Override
+    public boolean visit(int vertex) {
+      return add(value.applyAsInt(vertex));
+    }
+  }
+
+  /**
+   * The running result of a sequential long fold; see {@link IntFold}.
+   */
+  private static final class LongFold implements Traversal.IntVisitor {
+    private final IntToLongFunction value;
+    private final LongBinaryOperator accumulator;
+    private final LongPredicate stop;
+    long result;
+
+    LongFold(IntToLongFunction value, long identity, LongBinaryOperator accumulator,
+        LongPredicate stop) {
+      this.value = value;
+      this.accumulator = accumulator;
+      this.stop = stop;
+      this.result = identity;
+    }
+
+    boolean add(long x) {
+      result = accumulator.applyAsLong(result, x);
+      return stop == null || !stop.test(result);
+    }
+
+    @Override
+    public boolean visit(int vertex) {
+      return add(value.applyAsLong(vertex));
+    }
+  }
+
+  private static Shared share(int[] offsets, int[] targets, int start, ForkJoinPool pool) {
+    Objects.requireNonNull(pool, "pool must not be null");
+    int vertexCount = offsets.length - 1;
+    Objects.checkIndex(start, vertexCount);
+    ParallelReachability.AtomicBitSet visited = new ParallelReachability.AtomicBitSet(vertexCount);
+    visited.claim(start);
+    return new Shared(offsets, targets, visited, TraversalStats.start("parallel-fold"), start);
+  }
+
+  private static void invoke(FoldTask root, ForkJoinPool pool) {
+    pool.invoke(root);
+    Shared shared = root.shared;
+    if (shared.probe != null) {
+      shared.counters.finish(shared.probe, !shared.stopped);
+    }
+  }
+
+  /**
+   * Traversal state shared by every task of one parallel fold.
+   */
+  private static final class Shared {
+    final int[] offsets;
+    final int[] targets;
+    final ParallelReachability.AtomicBitSet visited;
+    final TraversalStats.Probe probe;
+    final TraversalStats.Counters counters;
+    final int start;
+    volatile boolean stopped;
+
+    Shared(int[] offsets, int[] targets, ParallelReachability.AtomicBitSet visited,
+        TraversalStats.Probe probe, int start) {
+      this.offsets = offsets;
+      this.targets = targets;
+      this.visited = visited;
+      this.probe = probe;
+      this.counters = probe == null ? null : new TraversalStats.Counters();
+      this.start = start;
+    }
+  }
+
+  /**
+   * Folds the vertices reachable from its initial stack, splitting off half of the stack into a
+   * forked task whenever it grows past {@link ParallelReachability#SPLIT_THRESHOLD}. Forked
+   * tasks are chained through {@code next} so their results can be combined on completion.
+   * Subclasses keep the result in a primitive field, which the caller reads from the root task
+   * once the pool returns.
+   */
+  private abstract static class FoldTask extends CountedCompleter<Void> {
+    private static final long serialVersionUID = 1L;
+
+    final Shared shared;
+    private int[] stack;
+    private int size;
+    FoldTask forks;
+    private FoldTask next;
+
+    FoldTask(CountedCompleter<?> parent, Shared shared, int[] stack, int size) {
+      super(parent);
+      this.shared = shared;
+      this.stack = stack;
+      this.size = size;
+    }
+
+    /**
+     * Folds the value of one vertex into this task's result.
+     *
+     * @return false once the result satisfies the stop predicate.
+     */
+    abstract boolean accept(int vertex);
+
+    /**
+     * Creates a child task with the same operations and an identity result.
+     */
+    abstract FoldTask newChild(int[] stack, int size);
+
+    @Override
+    public void compute() {
+      Shared s = shared;
+      long visitedCount = 0;
+      long edges = 0;
+      long skipped = 0;
+      int maxStackSize = size;
+      while (size > 0 && !s.stopped) {
+        int current = stack[--size];
+        visitedCount++;
+        if (!accept(current)) {
+          s.stopped = true;
+          break;
+        }
+        int first = s.offsets[current];
+        int end = s.offsets[current + 1];
+        edges += end - first;
+        for (int i = first; i < end; i++) {
+          int neighbor = s.targets[i];
+          if (s.visited.claim(neighbor)) {
+            if (size == stack.length) {
+              stack = Arrays.copyOf(stack, size * 2);
+            }
+            stack[size++] = neighbor;
+          } else {
+            skipped++;
+          }
+        }
+        maxStackSize = Math.max(maxStackSize, size);
+        if (size > ParallelReachability.SPLIT_THRESHOLD) {
+          split();
+        }
+      }
+      if (s.counters != null) {
+        s.counters.add(visitedCount, edges, skipped, maxStackSize);
+      }
+      tryComplete();
+    }
+
+    private void split() {
+      int half = size / 2;
+      int[] forked = Arrays.copyOfRange(stack, 0, half);
+      System.arraycopy(stack, half, stack, 0, size - half);
+      size -= half;
+      addToPendingCount(1);
+      FoldTask task = newChild(forked, half);
+      task.next = forks;
+      forks = task;
+      task.fork();
+    }
+  }
+
+  /**
+   * A parallel fold task with an int result.
+   */
+  private static final class IntFoldTask extends FoldTask {
+    private static final long serialVersionUID = 1L;
+
+    private final IntUnaryOperator value;
+    private final int identity;
+    private final IntBinaryOperator accumulator;
+    private final IntBinaryOperator combiner;
+    private final IntPredicate stop;
+    int result;
+
+    IntFoldTask(Shared shared, IntUnaryOperator value, int identity,
+        IntBinaryOperator accumulator, IntBinaryOperator combiner, IntPredicate stop) {
+      super(null, shared, new int[] { shared.start }, 1);
+      this.value = value;
+      this.identity = identity;
+      this.accumulator = accumulator;
+      this.combiner = combiner;
+      this.stop = stop;
+      this.result = identity;
+    }
+
+    private IntFoldTask(IntFoldTask parent, int[] stack, int size) {
+      super(parent, parent.shared, stack, size);
+      this.value = parent.value;
+      this.identity = parent.identity;
+      this.accumulator = parent.accumulator;
+      this.combiner = parent.combiner;
+      this.stop = parent.stop;
+      this.result = identity;
+    }
+
+    @Override
+    boolean accept(int vertex) {
+      result = accumulator.applyAsInt(result, value.applyAsInt(vertex));
+      return stop == null || !stop.test(result);
+    }
+
+    @Override
+    FoldTask newChild(int[] stack, int size) {
+      return new IntFoldTask(this, stack, size);
+    }
+
+    @Override
+    public void onCompletion(CountedCompleter<?> caller) {
+      for (FoldTask task = forks; task != null; task = task.next) {
+        result = combiner.applyAsInt(result, ((IntFoldTask) task).result);
+      }
+    }
+  }
+
+  /**
+   * A parallel fold task with a long result.
+   */
+  private static final class LongFoldTask extends FoldTask {
+    private static final long serialVersionUID = 1L;
+
+    private final IntToLongFunction value;
+    private final long identity;
+    private final LongBinaryOperator accumulator;
+    private final LongBinaryOperator combiner;
+    private final LongPredicate stop;
+    long result;
+
+    LongFoldTask(Shared shared, IntToLongFunction value, long identity,
+        LongBinaryOperator accumulator, LongBinaryOperator combiner, LongPredicate stop) {
+      super(null, shared, new int[] { shared.start }, 1);
+      this.value = value;
+      this.identity = identity;
+      this.accumulator = accumulator;
+      this.combiner = combiner;
+      this.stop = stop;
+      this.result = identity;
+    }
+
+    private LongFoldTask(LongFoldTask parent, int[] stack, int size) {
+      super(parent, parent.shared, stack, size);
+      this.value = parent.value;
+      this.identity = parent.identity;
+      this.accumulator = parent.accumulator;
+      this.combiner = parent.combiner;
+      this.stop = parent.stop;
+      this.result = identity;
+    }
+
+    @Override
+    boolean accept(int vertex) {
+      result = accumulator.applyAsLong(result, value.applyAsLong(vertex));
+      return stop == null || !stop.test(result);
+    }
+
+    @Override
+    FoldTask newChild(int[] stack, int size) {
+      return new LongFoldTask(this, stack, size);
+    }
+
+    @Override
+    public void onCompletion(CountedCompleter<?> caller) {
+      for (FoldTask task = forks; task != null; task = task.next) {
+        result = combiner.applyAsLong(result, ((LongFoldTask) task).result);
+      }
+    }
+  }
+}
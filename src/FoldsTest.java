@@ -0,0 +1,187 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * JUnit test suite for the Folds class.
+ */
+public class FoldsTest {
+
+  @Test
+  public void testFoldVertex_SumCountAndMin() {
+    Vertex<Integer> a = new Vertex<>(5);
+    Vertex<Integer> b = new Vertex<>(-2);
+    Vertex<Integer> c = new Vertex<>(9);
+    a.neighbors = new ArrayList<>(Arrays.asList(b, c));
+    b.neighbors = new ArrayList<>(Arrays.asList(c, a));
+
+    assertEquals(12, Folds.foldInt(a, Integer::intValue, 0, Integer::sum, null));
+    assertEquals(3L, Folds.foldLong(a, v -> 1L, 0L, Long::sum, null));
+    assertEquals(-2, Folds.foldInt(a, Integer::intValue, Integer.MAX_VALUE, Math::min, null));
+  }
+
+  @Test
+  public void testFoldVertex_NullStartReturnsIdentity() {
+    assertEquals(42, Folds.foldInt(null, (Integer v) -> v, 42, Integer::sum, null));
+    assertEquals(7L, Folds.foldLong(null, (Integer v) -> v, 7L, Long::sum, null));
+  }
+
+  @Test
+  public void testFoldVertex_StopEndsTraversal() {
+    Vertex<Integer> root = new Vertex<>(1);
+    Vertex<Integer> current = root;
+    for (int i = 0; i < 100; i++) {
+      Vertex<Integer> next = new Vertex<>(1);
+      current.neighbors.add(next);
+      current = next;
+    }
+
+    int count = Folds.foldInt(root, Integer::intValue, 0, Integer::sum, acc -> acc >= 10);
+    assertEquals(10, count);
+  }
+
+  @Test
+  public void testFoldLong_DoesNotOverflow() {
+    Vertex<Integer> a = new Vertex<>(Integer.MAX_VALUE);
+    Vertex<Integer> b = new Vertex<>(Integer.MAX_VALUE);
+    a.neighbors.add(b);
+
+    assertEquals(2L * Integer.MAX_VALUE, Folds.foldLong(a, Integer::longValue, 0L, Long::sum, null));
+  }
+
+  @Test
+  public void testFoldIntCsr_MatchesVertexFold() {
+    Random random = new Random(TestGraphs.SEED);
+    List<Vertex<Integer>> vertices = TestGraphs.randomGraph(random, 300, 600);
+    Map<Vertex<Integer>, Integer> ids = new IdentityHashMap<>();
+    IntCsrGraph graph = IntCsrGraph.from(vertices.get(0), ids);
+    int root = ids.get(vertices.get(0));
+
+    assertEquals(Folds.foldInt(vertices.get(0), Integer::intValue, 0, Integer::sum, null),
+        Folds.foldInt(graph, root, 0, Integer::sum, null));
+    assertEquals(Folds.foldLong(vertices.get(0), Integer::longValue, 0L, (a, x) -> a ^ x, null),
+        Folds.foldLong(graph, root, 0L, (a, x) -> a ^ x, null));
+  }
+
+  @Test
+  public void testParallelFold_MatchesSequential() {
+    Random random = new Random(TestGraphs.SEED);
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      for (int round = 0; round < 5; round++) {
+        List<Vertex<Integer>> vertices = TestGraphs.randomGraph(random, 20_000, 40_000);
+        Map<Vertex<Integer>, Integer> ids = new IdentityHashMap<>();
+        IntCsrGraph graph = IntCsrGraph.from(vertices.get(0), ids);
+        int root = ids.get(vertices.get(0));
+
+        assertEquals(Folds.foldLong(graph, root, 0L, Long::sum, null),
+            Folds.foldLong(graph, root, 0L, Long::sum, Long::sum, null, pool));
+        assertEquals(Folds.foldInt(graph, root, Integer.MIN_VALUE, Math::max, null),
+            Folds.foldInt(graph, root, Integer.MIN_VALUE, Math::max, Math::max, null, pool));
+        assertEquals(Folds.foldLong(graph, root, 0L, (a, x) -> a + 1, null),
+            Folds.foldLong(graph, root, 0L, (a, x) -> a + 1, Long::sum, null, pool));
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void testParallelFold_StopShortCircuits() {
+    int n = 50_000;
+    int[] offsets = new int[n + 1];
+    int[] targets = new int[n - 1];
+    int[] values = new int[n];
+    for (int v = 0; v < n; v++) {
+      offsets[v + 1] = offsets[v] + (v < n - 1 ? 1 : 0);
+      if (v < n - 1) {
+        targets[v] = v + 1;
+      }
+      values[v] = 1;
+    }
+    values[n / 2] = 2;
+    IntCsrGraph graph = new IntCsrGraph(offsets, targets, values);
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      int and = Folds.foldInt(graph, 0, 1, (acc, x) -> acc & x, (a, b) -> a & b,
+          acc -> (acc & 1) == 0, pool);
+      assertEquals(0, and & 1);
+      values[n / 2] = 3;
+      and = Folds.foldInt(graph, 0, 1, (acc, x) -> acc & x, (a, b) -> a & b,
+          acc -> (acc & 1) == 0, pool);
+      assertEquals(1, and & 1);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void testParallelFold_RejectsInvalidStart() {
+    IntCsrGraph graph = new IntCsrGraph(new int[] { 0, 0 }, new int[0], new int[] { 1 });
+    assertThrows(IndexOutOfBoundsException.class,
+        () -> Folds.foldLong(graph, 1, 0L, Long::sum, Long::sum, null, ForkJoinPool.commonPool()));
+  }
+
+  @Test
+  public void testFold_AgreesAcrossRepresentations(@TempDir Path dir) throws IOException {
+    Random random = new Random(TestGraphs.SEED);
+    List<Vertex<Integer>> vertices = TestGraphs.randomGraph(random, 500, 1_000);
+    Vertex<Integer> root = vertices.get(0);
+    CsrGraph<Integer> csr = CsrGraph.from(root);
+    IntCsrGraph ints = IntCsrGraph.from(csr);
+    Path file = dir.resolve("graph.bin");
+    MappedGraph.write(ints, file);
+    MappedGraph mapped = MappedGraph.open(file);
+    GraphSnapshot<Integer> snapshot = VersionedGraph.from(root, new IdentityHashMap<>()).snapshot();
+
+    long sum = Folds.foldLong(root, Integer::longValue, 0L, Long::sum, null);
+    assertEquals(sum, Folds.foldLong(csr, 0, Integer::longValue, 0L, Long::sum, null));
+    assertEquals(sum, Folds.foldLong(ints, 0, 0L, Long::sum, null));
+    assertEquals(sum, Folds.foldLong(mapped, 0, 0L, Long::sum, null));
+    assertEquals(sum, Folds.foldLong(snapshot, 0, Integer::longValue, 0L, Long::sum, null));
+
+    int min = Folds.foldInt(root, Integer::intValue, Integer.MAX_VALUE, Math::min, null);
+    assertEquals(min, Folds.foldInt(csr, 0, Integer::intValue, Integer.MAX_VALUE, Math::min, null));
+    assertEquals(min, Folds.foldInt(ints, 0, Integer.MAX_VALUE, Math::min, null));
+    assertEquals(min, Folds.foldInt(mapped, 0, Integer.MAX_VALUE, Math::min, null));
+    assertEquals(min,
+        Folds.foldInt(snapshot, 0, Integer::intValue, Integer.MAX_VALUE, Math::min, null));
+
+    Practice practice = new Practice();
+    assertEquals(practice.max(root), practice.max(csr, 0));
+    assertEquals(practice.max(root), practice.max(mapped, 0));
+    assertEquals(practice.max(root), practice.max(snapshot, 0));
+    assertEquals(practice.allOdd(root), practice.allOdd(csr, 0));
+    assertEquals(practice.allOdd(root), practice.allOdd(mapped, 0));
+    assertEquals(practice.allOdd(root), practice.allOdd(snapshot, 0));
+  }
+
+  @Test
+  public void testParallelCsrFold_MatchesSequential() {
+    Random random = new Random(TestGraphs.SEED);
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      CsrGraph<Integer> graph = CsrGraph.from(TestGraphs.randomGraph(random, 20_000, 40_000).get(0));
+
+      assertEquals(Folds.foldLong(graph, 0, Integer::longValue, 0L, Long::sum, null),
+          Folds.foldLong(graph, 0, Integer::longValue, 0L, Long::sum, Long::sum, null, pool));
+      assertEquals(Folds.foldInt(graph, 0, Integer::intValue, Integer.MIN_VALUE, Math::max, null),
+          Folds.foldInt(graph, 0, Integer::intValue, Integer.MIN_VALUE, Math::max, Math::max,
+              null, pool));
+      assertThrows(IndexOutOfBoundsException.class, () -> Folds.foldLong(graph,
+          graph.vertexCount(), Integer::longValue, 0L, Long::sum, Long::sum, null, pool));
+    } finally {
+      pool.shutdown();
+    }
+  }
+}
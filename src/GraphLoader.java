@@ -0,0 +1,459 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/**
+ * Bulk loader for graphs stored as text files.
+ *
+ * Two line-oriented formats are supported; in both, tokens are integers separated by spaces,
+ * tabs or commas, and blank lines and lines starting with {@code #} or {@code %} are ignored:
+ * <ul>
+ *   <li>{@link Format#EDGE_LIST}: every line holds one edge, {@code from to};</li>
+ *   <li>{@link Format#ADJACENCY_LIST}: every line holds a vertex followed by all of its
+ *       neighbors, {@code vertex neighbor1 neighbor2 ...}. A line with only a vertex declares a
+ *       vertex without neighbors.</li>
+ * </ul>
+ * Vertices are identified by their value: every occurrence of the same integer denotes the same
+ * vertex, and vertex ids are assigned in order of first appearance. Edges keep their file order
+ * within each neighbors list, and duplicate edges are kept.
+ *
+ * The file is split into newline-aligned chunks that are memory-mapped and parsed in parallel
+ * on the common {@link java.util.concurrent.ForkJoinPool}. Each chunk also deduplicates its own
+ * values and counts and places its own edges in parallel; only the merge of the per-chunk value
+ * dictionaries, which visits each distinct value once per chunk, runs on one thread. The edges
+ * are assembled into an {@link IntCsrGraph}, and {@link Vertex} graphs are materialized from it
+ * in parallel with every neighbors list allocated at its exact final size.
+ */
+public final class GraphLoader {
+  private static final int MIN_CHUNK_BYTES = 1 << 20;
+  private static final int MAX_CHUNK_BYTES = 1 << 30;
+
+  /**
+   * The supported text formats.
+   */
+  public enum Format {
+    /** One {@code from to} edge per line. */
+    EDGE_LIST,
+    /** One {@code vertex neighbor...} adjacency list per line. */
+    ADJACENCY_LIST
+  }
+
+  private GraphLoader() {
+  }
+
+  /**
+   * Loads a graph file into the compact int CSR representation. Vertex ids are assigned in order
+   * of first appearance in the file, and the value of each vertex is the integer that named it.
+   *
+   * @param path The file to load.
+   * @param format The format of the file.
+   * @return The loaded graph.
+   * @throws IOException if the file cannot be read or is malformed.
+   */
+  public static IntCsrGraph loadCsr(Path path, Format format) throws IOException {
+    Objects.requireNonNull(format, "format must not be null");
+    List<Chunk> chunks = parse(path, format);
+
+    // Each chunk renames its own values to local ids and counts its local out-degrees.
+    chunks.parallelStream().forEach(chunk -> chunk.index(format));
+    long edgeCount = 0;
+    for (Chunk chunk : chunks) {
+      edgeCount += chunk.edges;
+    }
+    if (edgeCount > Integer.MAX_VALUE - 8) {
+      throw new IllegalArgumentException("graph has too many edges for CSR form: " + edgeCount);
+    }
+
+    // Merging the chunk dictionaries in file order assigns global ids in order of first
+    // appearance, so they are deterministic. This pass only visits distinct values per chunk.
+    IntIdMap ids = new IntIdMap(1024);
+    for (Chunk chunk : chunks) {
+      int[] values = chunk.ids.values();
+      chunk.ids = null;
+      chunk.toGlobal = new int[values.length];
+      for (int k = 0; k < values.length; k++) {
+        chunk.toGlobal[k] = ids.idOf(values[k]);
+      }
+    }
+
+    // Turn each chunk's local degrees into its starting slot within each vertex's edges, then
+    // prefix-sum the totals into offsets.
+    int n = ids.size();
+    int[] offsets = new int[n + 1];
+    for (Chunk chunk : chunks) {
+      int[] slots = chunk.slots;
+      for (int k = 0; k < slots.length; k++) {
+        int v = chunk.toGlobal[k] + 1;
+        int degree = slots[k];
+        slots[k] = offsets[v];
+        offsets[v] += degree;
+      }
+    }
+    Arrays.parallelPrefix(offsets, Integer::sum);
+
+    int[] targets = new int[(int) edgeCount];
+    chunks.parallelStream().forEach(chunk -> {
+      int[] toGlobal = chunk.toGlobal;
+      int[] fill = chunk.slots;
+      for (int k = 0; k < fill.length; k++) {
+        fill[k] += offsets[toGlobal[k]];
+      }
+      forEachEdge(chunk, format, (from, to) -> targets[fill[from]++] = toGlobal[to]);
+    });
+    return new IntCsrGraph(offsets, targets, ids.values());
+  }
+
+  /**
+   * Loads a graph file into {@link Vertex} objects. Each distinct integer in the file becomes one
+   * vertex holding that integer, and each neighbors list is sized exactly to its vertex's
+   * out-degree.
+   *
+   * @param path The file to load.
+   * @param format The format of the file.
+   * @return Every loaded vertex, keyed by its value.
+   * @throws IOException if the file cannot be read or is malformed.
+   */
+  public static Map<Integer, Vertex<Integer>> load(Path path, Format format) throws IOException {
+    List<Vertex<Integer>> vertices = toVertices(loadCsr(path, format));
+    Map<Integer, Vertex<Integer>> byValue = new HashMap<>((int) (vertices.size() / 0.75f) + 1);
+    for (Vertex<Integer> v : vertices) {
+      byValue.put(v.data, v);
+    }
+    return byValue;
+  }
+
+  /**
+   * Materializes an int CSR graph as {@link Vertex} objects, in parallel. Each neighbors list is
+   * sized exactly to its vertex's out-degree.
+   *
+   * @param graph The graph to materialize.
+   * @return The vertices, indexed by their id in the graph.
+   */
+  @SuppressWarnings("unchecked")
+  public static List<Vertex<Integer>> toVertices(IntCsrGraph graph) {
+    int n = graph.vertexCount();
+    Vertex<Integer>[] vertices = (Vertex<Integer>[]) new Vertex<?>[n];
+    IntStream.range(0, n).parallel().forEach(v ->
+        vertices[v] = new Vertex<>(graph.values[v], new ArrayList<>(graph.degree(v))));
+    IntStream.range(0, n).parallel().forEach(v -> {
+      List<Vertex<Integer>> neighbors = vertices[v].neighbors;
+      for (int i = graph.offsets[v]; i < graph.offsets[v + 1]; i++) {
+        neighbors.add(vertices[graph.targets[i]]);
+      }
+    });
+    return Arrays.asList(vertices);
+  }
+
+  @FunctionalInterface
+  private interface EdgeConsumer {
+    void accept(int from, int to);
+  }
+
+  private static void forEachEdge(Chunk chunk, Format format, EdgeConsumer consumer) {
+    int[] data = chunk.data;
+    if (format == Format.EDGE_LIST) {
+      for (int i = 0; i < chunk.size; i += 2) {
+        consumer.accept(data[i], data[i + 1]);
+      }
+    } else {
+      for (int i = 0; i < chunk.size; ) {
+        int from = data[i];
+        int end = i + 2 + data[i + 1];
+        for (int j = i + 2; j < end; j++) {
+          consumer.accept(from, data[j]);
+        }
+        i = end;
+      }
+    }
+  }
+
+  // ---------------------------
+  // Parallel parsing
+  // ---------------------------
+
+  /**
+   * The integers parsed from one chunk of the file. For an edge list they are
+   * {@code from, to} pairs; for an adjacency list they are records of
+   * {@code vertex, count, neighbor * count}.
+   */
+  private static final class Chunk {
+    int[] data;
+    int size;
+    /** The local dictionary; after {@link #index}, data holds local ids instead of values. */
+    IntIdMap ids;
+    /** Per local id: the out-degree within this chunk, later the next slot to fill. */
+    int[] slots;
+    /** Per local id: the global id. */
+    int[] toGlobal;
+    long edges;
+
+    Chunk(int expectedSize) {
+      data = new int[Math.max(16, expectedSize)];
+    }
+
+    void add(int value) {
+      if (size == data.length) {
+        data = Arrays.copyOf(data, size * 2);
+      }
+      data[size++] = value;
+    }
+
+    /**
+     * Replaces the values in data by local ids, assigned in order of first appearance within
+     * the chunk, and counts the edges leaving each local id.
+     */
+    void index(Format format) {
+      ids = new IntIdMap(1024);
+      if (format == Format.EDGE_LIST) {
+        for (int i = 0; i < size; i++) {
+          data[i] = ids.idOf(data[i]);
+        }
+        edges = size / 2;
+      } else {
+        for (int i = 0; i < size; ) {
+          data[i] = ids.idOf(data[i]);
+          int count = data[i + 1];
+          for (int j = i + 2; j < i + 2 + count; j++) {
+            data[j] = ids.idOf(data[j]);
+          }
+          edges += count;
+          i += 2 + count;
+        }
+      }
+      int[] degree = new int[ids.size()];
+      forEachEdge(this, format, (from, to) -> degree[from]++);
+      slots = degree;
+    }
+  }
+
+  private static List<Chunk> parse(Path path, Format format) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long[] bounds = chunkBounds(channel);
+      Chunk[] chunks = new Chunk[bounds.length - 1];
+      try {
+        IntStream.range(0, chunks.length).parallel().forEach(c -> {
+          try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, bounds[c],
+                bounds[c + 1] - bounds[c]);
+            chunks[c] = parseChunk(buffer, bounds[c], format, path);
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+      } catch (UncheckedIOException e) {
+        throw e.getCause();
+      }
+      return Arrays.asList(chunks);
+    }
+  }
+
+  /**
+   * Splits the file into ranges that each end just after a newline (or at the end of the file).
+   */
+  private static long[] chunkBounds(FileChannel channel) throws IOException {
+    long size = channel.size();
+    int parallelism = Runtime.getRuntime().availableProcessors();
+    long target = Math.max(MIN_CHUNK_BYTES, Math.min(MAX_CHUNK_BYTES, size / (4L * parallelism)));
+    List<Long> bounds = new ArrayList<>();
+    bounds.add(0L);
+    ByteBuffer probe = ByteBuffer.allocate(4096);
+    long position = 0;
+    while (size - position > target) {
+      position = nextLineStart(channel, position + target, size, probe);
+      if (position >= size) {
+        break;
+      }
+      bounds.add(position);
+    }
+    bounds.add(size);
+    return bounds.stream().mapToLong(Long::longValue).toArray();
+  }
+
+  private static long nextLineStart(FileChannel channel, long position, long size,
+      ByteBuffer probe) throws IOException {
+    while (position < size) {
+      probe.clear();
+      int read = channel.read(probe, position);
+      if (read <= 0) {
+        return size;
+      }
+      for (int i = 0; i < read; i++) {
+        if (probe.get(i) == '\n') {
+          return position + i + 1;
+        }
+      }
+      position += read;
+    }
+    return size;
+  }
+
+  private static Chunk parseChunk(ByteBuffer buffer, long base, Format format, Path path)
+      throws IOException {
+    int limit = buffer.limit();
+    // Typical lines spend at least a handful of bytes per integer, counting separators.
+    Chunk chunk = new Chunk(limit / 8);
+    int pos = 0;
+    while (pos < limit) {
+      int lineStart = pos;
+      pos = skipSeparators(buffer, pos, limit);
+      if (pos == limit) {
+        break;
+      }
+      byte first = buffer.get(pos);
+      if (first == '\n') {
+        pos++;
+        continue;
+      }
+      if (first == '#' || first == '%') {
+        while (pos < limit && buffer.get(pos) != '\n') {
+          pos++;
+        }
+        pos++;
+        continue;
+      }
+
+      int countSlot = -1;
+      int tokens = 0;
+      while (true) {
+        boolean negative = buffer.get(pos) == '-';
+        int digitsStart = negative ? pos + 1 : pos;
+        long value = 0;
+        for (pos = digitsStart; pos < limit; pos++) {
+          byte b = buffer.get(pos);
+          if (b == '\n' || isSeparator(b)) {
+            break;
+          }
+          int digit = b - '0';
+          if (digit < 0 || digit > 9 || value > Integer.MAX_VALUE + 1L) {
+            throw malformed(path, base + lineStart);
+          }
+          value = value * 10 + digit;
+        }
+        value = negative ? -value : value;
+        if (pos == digitsStart || value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+          throw malformed(path, base + lineStart);
+        }
+        chunk.add((int) value);
+        if (tokens++ == 0 && format == Format.ADJACENCY_LIST) {
+          countSlot = chunk.size;
+          chunk.add(0);
+        }
+        pos = skipSeparators(buffer, pos, limit);
+        if (pos == limit || buffer.get(pos) == '\n') {
+          pos++;
+          break;
+        }
+      }
+
+      if (format == Format.EDGE_LIST) {
+        if (tokens != 2) {
+          throw malformed(path, base + lineStart);
+        }
+      } else {
+        chunk.data[countSlot] = tokens - 1;
+      }
+    }
+    return chunk;
+  }
+
+  private static int skipSeparators(ByteBuffer buffer, int i, int end) {
+    while (i < end && isSeparator(buffer.get(i))) {
+      i++;
+    }
+    return i;
+  }
+
+  private static boolean isSeparator(byte b) {
+    return b == ' ' || b == '\t' || b == ',' || b == '\r';
+  }
+
+  private static IOException malformed(Path path, long offset) {
+    return new IOException("malformed line at byte " + offset + " of " + path);
+  }
+
+  // ---------------------------
+  // Value to id map
+  // ---------------------------
+
+  /**
+   * An open-addressing map from int values to dense ids, assigned in insertion order. Each entry
+   * occupies two adjacent ints, the value and its id + 1, so a lookup touches one cache line.
+   */
+  private static final class IntIdMap {
+    private int[] table;
+    private int[] values;
+    private int size;
+
+    IntIdMap(int capacity) {
+      int slots = Integer.highestOneBit(Math.max(16, capacity) * 2 - 1);
+      table = new int[2 * slots];
+      values = new int[Math.max(16, capacity)];
+    }
+
+    int size() {
+      return size;
+    }
+
+    int[] values() {
+      return Arrays.copyOf(values, size);
+    }
+
+    /**
+     * Returns the id of the given value, assigning the next id if the value is new.
+     */
+    int idOf(int value) {
+      int mask = table.length / 2 - 1;
+      int i = mix(value) & mask;
+      // An entry holds id + 1, so 0 marks an empty slot.
+      while (table[2 * i + 1] != 0) {
+        if (table[2 * i] == value) {
+          return table[2 * i + 1] - 1;
+        }
+        i = (i + 1) & mask;
+      }
+      int id = size++;
+      table[2 * i] = value;
+      table[2 * i + 1] = id + 1;
+      if (id == values.length) {
+        values = Arrays.copyOf(values, id * 2);
+      }
+      values[id] = value;
+      if (size * 4 > table.length) {
+        grow();
+      }
+      return id;
+    }
+
+    private void grow() {
+      int[] old = table;
+      table = new int[old.length * 2];
+      int mask = table.length / 2 - 1;
+      for (int j = 0; j < old.length; j += 2) {
+        if (old[j + 1] != 0) {
+          int i = mix(old[j]) & mask;
+          while (table[2 * i + 1] != 0) {
+            i = (i + 1) & mask;
+          }
+          table[2 * i] = old[j];
+          table[2 * i + 1] = old[j + 1];
+        }
+      }
+    }
+
+    private static int mix(int value) {
+      int h = value * 0x9E3779B9;
+      return h ^ (h >>> 16);
+    }
+  }
+}
@@ -0,0 +1,116 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * JUnit test suite for the GraphLoader class.
+ */
+public class GraphLoaderTest {
+
+  /**
+   * The cyclic graph from PracticeTest as an edge list.
+   */
+  private static final String COMPLEX_EDGES = String.join("\n",
+      "# from to",
+      "3 7", "3 34",
+      "7 12", "7 45", "7 34", "7 56",
+      "12 7", "12 56", "12 78",
+      "34 34", "34 91",
+      "56 78", "78 91", "91 56",
+      "45 23", "");
+
+  @Test
+  public void testEdgeList_MatchesHandBuiltGraph(@TempDir Path dir) throws IOException {
+    Practice practice = new Practice();
+    Path file = dir.resolve("complex.txt");
+    Files.writeString(file, COMPLEX_EDGES);
+
+    Map<Integer, Vertex<Integer>> graph = GraphLoader.load(file, GraphLoader.Format.EDGE_LIST);
+    assertEquals(9, graph.size());
+    Vertex<Integer> v3 = graph.get(3);
+    assertEquals(9, practice.reachable(v3).size());
+    assertEquals(91, practice.max(v3));
+    assertEquals(Set.of(graph.get(23)), practice.leaves(v3));
+    assertSame(graph.get(12), graph.get(7).neighbors.get(0), "neighbors keep file order");
+    assertTrue(practice.hasStrictlyIncreasingPath(v3, graph.get(91)));
+
+    IntCsrGraph csr = GraphLoader.loadCsr(file, GraphLoader.Format.EDGE_LIST);
+    assertEquals(15, csr.edgeCount());
+    assertEquals(3, csr.value(0), "ids follow first appearance");
+    assertEquals(91, practice.max(csr, 0));
+  }
+
+  @Test
+  public void testAdjacencyList_WithIsolatedVertexAndCrLf(@TempDir Path dir) throws IOException {
+    Path file = dir.resolve("adjacency.txt");
+    Files.writeString(file, "% comment\r\n1\t2,3\r\n\r\n2 3\r\n3\r\n-4\r\n");
+
+    Map<Integer, Vertex<Integer>> graph =
+        GraphLoader.load(file, GraphLoader.Format.ADJACENCY_LIST);
+    assertEquals(Set.of(1, 2, 3, -4), graph.keySet());
+    assertEquals(2, graph.get(1).neighbors.size());
+    assertTrue(graph.get(3).neighbors.isEmpty());
+    assertTrue(graph.get(-4).neighbors.isEmpty());
+    assertEquals(3, new Practice().reachable(graph.get(1)).size());
+  }
+
+  @Test
+  public void testMalformedLines_Throw(@TempDir Path dir) throws IOException {
+    Path file = dir.resolve("bad.txt");
+    Files.writeString(file, "1 2\n3\n");
+    assertThrows(IOException.class, () -> GraphLoader.load(file, GraphLoader.Format.EDGE_LIST));
+    Files.writeString(file, "1 x\n");
+    assertThrows(IOException.class, () -> GraphLoader.load(file, GraphLoader.Format.EDGE_LIST));
+    Files.writeString(file, "1 99999999999\n");
+    assertThrows(IOException.class,
+        () -> GraphLoader.load(file, GraphLoader.Format.ADJACENCY_LIST));
+  }
+
+  @Test
+  public void testLargeFile_SpansSeveralChunks(@TempDir Path dir) throws IOException {
+    Random random = new Random(TestGraphs.SEED);
+    int n = 50_000;
+    int m = 300_000;
+    int[] from = new int[m];
+    int[] to = new int[m];
+    StringBuilder text = new StringBuilder();
+    for (int i = 0; i < m; i++) {
+      from[i] = random.nextInt(n) * 7;
+      to[i] = random.nextInt(n) * 7;
+      text.append(from[i]).append(' ').append(to[i]).append('\n');
+    }
+    Path file = dir.resolve("large.txt");
+    Files.writeString(file, text);
+    assertTrue(Files.size(file) > 2 << 20, "file must exceed the minimum chunk size");
+
+    IntCsrGraph csr = GraphLoader.loadCsr(file, GraphLoader.Format.EDGE_LIST);
+    assertEquals(m, csr.edgeCount());
+    List<Vertex<Integer>> vertices = GraphLoader.toVertices(csr);
+    Set<Integer> distinct = new HashSet<>();
+    for (int i = 0; i < m; i++) {
+      distinct.add(from[i]);
+      distinct.add(to[i]);
+    }
+    assertEquals(distinct.size(), vertices.size());
+
+    // Re-reading every edge in file order must reproduce each neighbors list exactly.
+    Map<Integer, Vertex<Integer>> byValue = GraphLoader.load(file, GraphLoader.Format.EDGE_LIST);
+    Map<Vertex<Integer>, Integer> position = new IdentityHashMap<>();
+    for (int i = 0; i < m; i++) {
+      Vertex<Integer> source = byValue.get(from[i]);
+      int k = position.merge(source, 1, Integer::sum) - 1;
+      assertSame(byValue.get(to[i]), source.neighbors.get(k));
+    }
+    assertEquals(csr.vertexCount(), byValue.size());
+  }
+}
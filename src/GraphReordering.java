@@ -0,0 +1,315 @@
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Relabels the vertices of a CSR graph so that vertices visited close together in time are also
+ * stored close together in memory.
+ *
+ * A traversal touches the offsets, targets and values of each vertex it visits. When ids follow
+ * no particular pattern, almost every visit lands on a different cache line; after reordering,
+ * neighbors tend to have nearby ids, so consecutive visits share cache lines and the hardware
+ * prefetcher can follow them. Three orders are provided:
+ * <ul>
+ *   <li>{@link Strategy#BFS}: breadth-first discovery order from vertex 0;</li>
+ *   <li>{@link Strategy#REVERSE_CUTHILL_MCKEE}: breadth-first from low-degree vertices with
+ *       neighbors taken in increasing degree order, then reversed, which keeps edges short;</li>
+ *   <li>{@link Strategy#DEGREE}: hub-first, by decreasing in-degree, so the most frequently
+ *       reached vertices share the same few cache lines.</li>
+ * </ul>
+ * An order is an array in which {@code order[newId]} is the old id of the vertex placed at
+ * {@code newId}. Every order covers all vertices, including those not reachable from vertex 0.
+ * Use {@link #inverse(int[])} to translate old ids, such as a root, into new ones.
+ */
+public final class GraphReordering {
+
+  /**
+   * The available vertex orders.
+   */
+  public enum Strategy {
+    /** Breadth-first discovery order. */
+    BFS,
+    /** Reverse Cuthill-McKee order. */
+    REVERSE_CUTHILL_MCKEE,
+    /** Decreasing in-degree. */
+    DEGREE
+  }
+
+  private GraphReordering() {
+  }
+
+  /**
+   * Relabels a CSR graph with the given strategy.
+   *
+   * @param graph The graph to relabel.
+   * @param strategy The order to lay vertices out in.
+   * @return The relabeled graph.
+   */
+  public static <T> CsrGraph<T> reorder(CsrGraph<T> graph, Strategy strategy) {
+    return permute(graph, order(graph, strategy));
+  }
+
+  /**
+   * Relabels an int CSR graph with the given strategy.
+   *
+   * @param graph The graph to relabel.
+   * @param strategy The order to lay vertices out in.
+   * @return The relabeled graph.
+   */
+  public static IntCsrGraph reorder(IntCsrGraph graph, Strategy strategy) {
+    return permute(graph, order(graph, strategy));
+  }
+
+  /**
+   * Computes a vertex order for a CSR graph.
+   *
+   * @param graph The graph to order.
+   * @param strategy The order to compute.
+   * @return The order, where {@code order[newId]} is an old id.
+   */
+  public static int[] order(CsrGraph<?> graph, Strategy strategy) {
+    return order(graph.offsets, graph.targets, strategy);
+  }
+
+  /**
+   * Computes a vertex order for an int CSR graph.
+   *
+   * @param graph The graph to order.
+   * @param strategy The order to compute.
+   * @return The order, where {@code order[newId]} is an old id.
+   */
+  public static int[] order(IntCsrGraph graph, Strategy strategy) {
+    return order(graph.offsets, graph.targets, strategy);
+  }
+
+  static int[] order(int[] offsets, int[] targets, Strategy strategy) {
+    Objects.requireNonNull(strategy, "strategy must not be null");
+    switch (strategy) {
+      case BFS:
+        return bfs(offsets, targets);
+      case REVERSE_CUTHILL_MCKEE:
+        return reverseCuthillMcKee(offsets, targets);
+      case DEGREE:
+        return byInDegree(offsets, targets);
+      default:
+        throw new AssertionError(strategy);
+    }
+  }
+
+  /**
+   * Returns the inverse of an order, mapping each old id to its new id.
+   *
+   * @param order An order, where {@code order[newId]} is an old id.
+   * @return The inverse, where {@code inverse[oldId]} is the new id.
+   */
+  public static int[] inverse(int[] order) {
+    int[] inverse = new int[order.length];
+    for (int i = 0; i < order.length; i++) {
+      inverse[order[i]] = i;
+    }
+    return inverse;
+  }
+
+  /**
+   * Relabels a CSR graph according to an order. Each adjacency list keeps its edge order.
+   *
+   * @param graph The graph to relabel.
+   * @param order A permutation of the vertex ids, where {@code order[newId]} is an old id.
+   * @return The relabeled graph.
+   * @throws IllegalArgumentException if order is not a permutation of the vertex ids.
+   */
+  public static <T> CsrGraph<T> permute(CsrGraph<T> graph, int[] order) {
+    int[] inverse = checkedInverse(order, graph.vertexCount());
+    Object[] values = new Object[order.length];
+    for (int i = 0; i < order.length; i++) {
+      values[i] = graph.values[order[i]];
+    }
+    int[] offsets = new int[order.length + 1];
+    int[] targets = new int[graph.targets.length];
+    permuteTopology(graph.offsets, graph.targets, order, inverse, offsets, targets);
+    return new CsrGraph<>(offsets, targets, values);
+  }
+
+  /**
+   * Relabels an int CSR graph according to an order. Each adjacency list keeps its edge order.
+   *
+   * @param graph The graph to relabel.
+   * @param order A permutation of the vertex ids, where {@code order[newId]} is an old id.
+   * @return The relabeled graph.
+   * @throws IllegalArgumentException if order is not a permutation of the vertex ids.
+   */
+  public static IntCsrGraph permute(IntCsrGraph graph, int[] order) {
+    int[] inverse = checkedInverse(order, graph.vertexCount());
+    int[] values = new int[order.length];
+    for (int i = 0; i < order.length; i++) {
+      values[i] = graph.values[order[i]];
+    }
+    int[] offsets = new int[order.length + 1];
+    int[] targets = new int[graph.targets.length];
+    permuteTopology(graph.offsets, graph.targets, order, inverse, offsets, targets);
+    return new IntCsrGraph(offsets, targets, values);
+  }
+
+  private static int[] checkedInverse(int[] order, int vertexCount) {
+    if (order.length != vertexCount) {
+      throw new IllegalArgumentException("order has " + order.length + " entries for "
+          + vertexCount + " vertices");
+    }
+    int[] inverse = new int[vertexCount];
+    Arrays.fill(inverse, -1);
+    for (int i = 0; i < order.length; i++) {
+      int old = Objects.checkIndex(order[i], vertexCount);
+      if (inverse[old] >= 0) {
+        throw new IllegalArgumentException("order lists vertex " + old + " twice");
+      }
+      inverse[old] = i;
+    }
+    return inverse;
+  }
+
+  private static void permuteTopology(int[] oldOffsets, int[] oldTargets, int[] order,
+      int[] inverse, int[] offsets, int[] targets) {
+    int next = 0;
+    for (int i = 0; i < order.length; i++) {
+      offsets[i] = next;
+      int old = order[i];
+      for (int j = oldOffsets[old]; j < oldOffsets[old + 1]; j++) {
+        targets[next++] = inverse[oldTargets[j]];
+      }
+    }
+    offsets[order.length] = next;
+  }
+
+  // ---------------------------
+  // Orders
+  // ---------------------------
+
+  private static int[] bfs(int[] offsets, int[] targets) {
+    int n = offsets.length - 1;
+    int[] order = new int[n];
+    boolean[] placed = new boolean[n];
+    int size = 0;
+    for (int root = 0; root < n; root++) {
+      if (placed[root]) {
+        continue;
+      }
+      placed[root] = true;
+      order[size++] = root;
+      // The order array doubles as the queue: everything after head is still to be expanded.
+      for (int head = size - 1; head < size; head++) {
+        int u = order[head];
+        for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+          int w = targets[i];
+          if (!placed[w]) {
+            placed[w] = true;
+            order[size++] = w;
+          }
+        }
+      }
+    }
+    return order;
+  }
+
+  private static int[] reverseCuthillMcKee(int[] offsets, int[] targets) {
+    int n = offsets.length - 1;
+    int[] degree = new int[n];
+    for (int v = 0; v < n; v++) {
+      degree[v] = offsets[v + 1] - offsets[v];
+    }
+    // Start each component from a vertex of minimum degree, a cheap stand-in for a
+    // pseudo-peripheral vertex.
+    int[] roots = sortByKey(degree, false);
+    int[] order = new int[n];
+    boolean[] placed = new boolean[n];
+    int[] children = new int[16];
+    int size = 0;
+    for (int root : roots) {
+      if (placed[root]) {
+        continue;
+      }
+      placed[root] = true;
+      order[size++] = root;
+      for (int head = size - 1; head < size; head++) {
+        int u = order[head];
+        int count = 0;
+        for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+          int w = targets[i];
+          if (!placed[w]) {
+            placed[w] = true;
+            if (count == children.length) {
+              children = Arrays.copyOf(children, count * 2);
+            }
+            children[count++] = w;
+          }
+        }
+        sortByDegree(children, count, degree);
+        System.arraycopy(children, 0, order, size, count);
+        size += count;
+      }
+    }
+    for (int i = 0, j = n - 1; i < j; i++, j--) {
+      int tmp = order[i];
+      order[i] = order[j];
+      order[j] = tmp;
+    }
+    return order;
+  }
+
+  /**
+   * Stable sort by degree: insertion sort for the short child lists, and for hubs a primitive
+   * sort of {@code degree << 32 | position} keys, whose low half keeps ties in discovery order.
+   */
+  private static void sortByDegree(int[] vertices, int count, int[] degree) {
+    if (count > 32) {
+      long[] keys = new long[count];
+      for (int i = 0; i < count; i++) {
+        keys[i] = ((long) degree[vertices[i]] << 32) | i;
+      }
+      Arrays.sort(keys, 0, count);
+      int[] sorted = new int[count];
+      for (int i = 0; i < count; i++) {
+        sorted[i] = vertices[(int) keys[i]];
+      }
+      System.arraycopy(sorted, 0, vertices, 0, count);
+      return;
+    }
+    for (int i = 1; i < count; i++) {
+      int v = vertices[i];
+      int j = i - 1;
+      while (j >= 0 && degree[vertices[j]] > degree[v]) {
+        vertices[j + 1] = vertices[j];
+        j--;
+      }
+      vertices[j + 1] = v;
+    }
+  }
+
+  private static int[] byInDegree(int[] offsets, int[] targets) {
+    int[] inDegree = new int[offsets.length - 1];
+    for (int target : targets) {
+      inDegree[target]++;
+    }
+    return sortByKey(inDegree, true);
+  }
+
+  /**
+   * Returns the ids 0 to {@code key.length - 1} stably sorted by key, using a counting sort.
+   */
+  private static int[] sortByKey(int[] key, boolean descending) {
+    int max = 0;
+    for (int k : key) {
+      max = Math.max(max, k);
+    }
+    int[] start = new int[max + 2];
+    for (int k : key) {
+      start[(descending ? max - k : k) + 1]++;
+    }
+    for (int k = 0; k <= max; k++) {
+      start[k + 1] += start[k];
+    }
+    int[] sorted = new int[key.length];
+    for (int v = 0; v < key.length; v++) {
+      sorted[start[descending ? max - key[v] : key[v]]++] = v;
+    }
+    return sorted;
+  }
+}
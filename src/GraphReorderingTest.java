@@ -0,0 +1,74 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Random;
+
+/**
+ * JUnit test suite for the GraphReordering class.
+ */
+public class GraphReorderingTest {
+
+  private static IntCsrGraph randomGraph(int n, int extraEdges) {
+    return IntCsrGraph.from(
+        TestGraphs.randomGraph(new Random(TestGraphs.SEED), n, extraEdges).get(0));
+  }
+
+  @Test
+  public void testEveryStrategy_PreservesQueries() {
+    Practice practice = new Practice();
+    IntCsrGraph graph = randomGraph(500, 1500);
+    CsrGraph<Integer> boxed = new CsrGraph<>(graph.offsets, graph.targets,
+        Arrays.stream(graph.values).boxed().toArray());
+    for (GraphReordering.Strategy strategy : GraphReordering.Strategy.values()) {
+      int[] order = GraphReordering.order(graph, strategy);
+      int[] sorted = order.clone();
+      Arrays.sort(sorted);
+      for (int i = 0; i < sorted.length; i++) {
+        assertEquals(i, sorted[i], strategy + " must be a permutation");
+      }
+
+      int[] inverse = GraphReordering.inverse(order);
+      IntCsrGraph reordered = GraphReordering.permute(graph, order);
+      CsrGraph<Integer> reorderedBoxed = GraphReordering.permute(boxed, order);
+      assertEquals(graph.edgeCount(), reordered.edgeCount());
+      for (int v = 0; v < graph.vertexCount(); v += 37) {
+        assertEquals(practice.max(graph, v), practice.max(reordered, inverse[v]), strategy + " max");
+        assertEquals(practice.allOdd(graph, v), practice.allOdd(reordered, inverse[v]));
+        BitSet expected = practice.reachable(boxed, v);
+        BitSet actual = practice.reachable(reorderedBoxed, inverse[v]);
+        assertEquals(expected.cardinality(), actual.cardinality(), strategy + " reachable");
+        for (int w = expected.nextSetBit(0); w >= 0; w = expected.nextSetBit(w + 1)) {
+          assertTrue(actual.get(inverse[w]));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testOrders_PlaceExpectedVerticesFirst() {
+    // 0 -> 1, 0 -> 2, 1 -> 3, 2 -> 3: vertex 3 has the highest in-degree.
+    int[] offsets = { 0, 2, 3, 4, 4 };
+    int[] targets = { 1, 2, 3, 3 };
+    IntCsrGraph graph = new IntCsrGraph(offsets, targets, new int[] { 10, 20, 30, 40 });
+
+    assertArrayEquals(new int[] { 0, 1, 2, 3 },
+        GraphReordering.order(graph, GraphReordering.Strategy.BFS));
+    assertEquals(3, GraphReordering.order(graph, GraphReordering.Strategy.DEGREE)[0]);
+    IntCsrGraph rcm = GraphReordering.reorder(graph, GraphReordering.Strategy.REVERSE_CUTHILL_MCKEE);
+    assertEquals(4, rcm.vertexCount());
+    assertEquals(100, Arrays.stream(rcm.values).sum());
+  }
+
+  @Test
+  public void testPermute_RejectsNonPermutations() {
+    IntCsrGraph graph = randomGraph(5, 0);
+    assertThrows(IllegalArgumentException.class,
+        () -> GraphReordering.permute(graph, new int[] { 0, 1, 2, 3 }));
+    assertThrows(IllegalArgumentException.class,
+        () -> GraphReordering.permute(graph, new int[] { 0, 1, 2, 3, 3 }));
+    assertThrows(IndexOutOfBoundsException.class,
+        () -> GraphReordering.permute(graph, new int[] { 0, 1, 2, 3, 9 }));
+  }
+}
@@ -0,0 +1,175 @@
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * An immutable version of a {@link VersionedGraph}.
+ *
+ * Vertices are identified by dense ids from 0 to {@code vertexCount() - 1}. Values and adjacency
+ * lists are stored in fixed-size chunks of {@value #CHUNK_SIZE} vertices reached through a
+ * directory, so a new version only copies the directory, the chunks it changes and the adjacency
+ * lists it changes; everything else is shared with the version it was derived from. Nothing
+ * reachable from a snapshot is ever written after it is published, so any number of threads can
+ * read and traverse it without locking while writers build newer versions.
+ *
+ * @param <T> The type of value stored in each vertex.
+ */
+public final class GraphSnapshot<T> {
+  static final int CHUNK_BITS = 6;
+  static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+  static final int CHUNK_MASK = CHUNK_SIZE - 1;
+  static final int[] NO_NEIGHBORS = new int[0];
+
+  final Object[][] values;
+  final int[][][] adjacency;
+  private final int vertexCount;
+  private final long edgeCount;
+  private final long version;
+
+  GraphSnapshot(Object[][] values, int[][][] adjacency, int vertexCount, long edgeCount,
+      long version) {
+    this.values = values;
+    this.adjacency = adjacency;
+    this.vertexCount = vertexCount;
+    this.edgeCount = edgeCount;
+    this.version = version;
+  }
+
+  /**
+   * Returns the version number of this snapshot. Every published update increments it by one.
+   *
+   * @return The version number.
+   */
+  public long version() {
+    return version;
+  }
+
+  /**
+   * Returns the number of vertices in this snapshot.
+   *
+   * @return The vertex count.
+   */
+  public int vertexCount() {
+    return vertexCount;
+  }
+
+  /**
+   * Returns the number of edges in this snapshot.
+   *
+   * @return The edge count.
+   */
+  public long edgeCount() {
+    return edgeCount;
+  }
+
+  /**
+   * Returns the value stored in the given vertex.
+   *
+   * @param vertex The vertex id.
+   * @return The value of the vertex.
+   * @throws IndexOutOfBoundsException if vertex is not a vertex of this snapshot.
+   */
+  @SuppressWarnings("unchecked")
+  public T value(int vertex) {
+    Objects.checkIndex(vertex, vertexCount);
+    return (T) values[vertex >>> CHUNK_BITS][vertex & CHUNK_MASK];
+  }
+
+  /**
+   * Returns the number of outgoing edges of the given vertex.
+   *
+   * @param vertex The vertex id.
+   * @return The out-degree of the vertex.
+   * @throws IndexOutOfBoundsException if vertex is not a vertex of this snapshot.
+   */
+  public int degree(int vertex) {
+    return neighborsOf(vertex).length;
+  }
+
+  /**
+   * Returns the id of the i-th neighbor of the given vertex.
+   *
+   * @param vertex The vertex id.
+   * @param i The index of the neighbor, from 0 to {@code degree(vertex) - 1}.
+   * @return The id of the neighbor.
+   * @throws IndexOutOfBoundsException if vertex or i is out of range.
+   */
+  public int neighbor(int vertex, int i) {
+    int[] neighbors = neighborsOf(vertex);
+    return neighbors[Objects.checkIndex(i, neighbors.length)];
+  }
+
+  /**
+   * Returns a copy of the neighbor ids of the given vertex, in edge order.
+   *
+   * @param vertex The vertex id.
+   * @return The ids of the neighbors.
+   * @throws IndexOutOfBoundsException if vertex is not a vertex of this snapshot.
+   */
+  public int[] neighbors(int vertex) {
+    return neighborsOf(vertex).clone();
+  }
+
+  /**
+   * Returns the shared adjacency list of the given vertex. Callers must not modify it.
+   */
+  int[] neighborsOf(int vertex) {
+    Objects.checkIndex(vertex, vertexCount);
+    return adjacency[vertex >>> CHUNK_BITS][vertex & CHUNK_MASK];
+  }
+
+  /**
+   * Converts this snapshot into a CSR graph with the same vertex ids.
+   *
+   * @return The equivalent CSR graph.
+   * @throws IllegalArgumentException if the snapshot has too many edges for CSR form.
+   */
+  public CsrGraph<T> toCsr() {
+    if (edgeCount > Integer.MAX_VALUE - 8) {
+      throw new IllegalArgumentException("graph has too many edges for CSR form: " + edgeCount);
+    }
+    int[] offsets = new int[vertexCount + 1];
+    int[] targets = new int[(int) edgeCount];
+    Object[] flat = new Object[vertexCount];
+    int next = 0;
+    for (int v = 0; v < vertexCount; v++) {
+      flat[v] = values[v >>> CHUNK_BITS][v & CHUNK_MASK];
+      offsets[v] = next;
+      int[] neighbors = adjacency[v >>> CHUNK_BITS][v & CHUNK_MASK];
+      System.arraycopy(neighbors, 0, targets, next, neighbors.length);
+      next += neighbors.length;
+    }
+    offsets[vertexCount] = next;
+    return new CsrGraph<>(offsets, targets, flat);
+  }
+
+  /**
+   * Returns the empty snapshot with version 0.
+   */
+  static <T> GraphSnapshot<T> empty() {
+    return new GraphSnapshot<>(new Object[0][], new int[0][][], 0, 0, 0);
+  }
+
+  /**
+   * Builds a snapshot from a CSR graph, with every adjacency list copied once.
+   */
+  static <T> GraphSnapshot<T> of(CsrGraph<T> graph, long version) {
+    int n = graph.vertexCount();
+    int chunks = (n + CHUNK_MASK) >>> CHUNK_BITS;
+    Object[][] values = new Object[chunks][];
+    int[][][] adjacency = new int[chunks][][];
+    for (int c = 0; c < chunks; c++) {
+      values[c] = new Object[CHUNK_SIZE];
+      adjacency[c] = new int[CHUNK_SIZE][];
+      Arrays.fill(adjacency[c], NO_NEIGHBORS);
+    }
+    for (int v = 0; v < n; v++) {
+      values[v >>> CHUNK_BITS][v & CHUNK_MASK] = graph.values[v];
+      int from = graph.offsets[v];
+      int to = graph.offsets[v + 1];
+      if (to > from) {
+        adjacency[v >>> CHUNK_BITS][v & CHUNK_MASK] = Arrays.copyOfRange(graph.targets, from, to);
+      }
+    }
+    return new GraphSnapshot<>(values, adjacency, n, graph.edgeCount(), version);
+  }
+}
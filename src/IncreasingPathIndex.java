@@ -0,0 +1,283 @@
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * A precomputed index that answers repeated strictly-increasing-path queries over one graph.
+ *
+ * Only edges that lead to a strictly larger value can lie on a strictly increasing path, and
+ * those edges form a DAG (values strictly increase along every edge, so there are no cycles).
+ * Sorting vertices by value therefore yields a topological order of that DAG. The index labels
+ * every DAG vertex with:
+ * <ul>
+ *   <li>a spanning-tree interval: if end lies in start's DFS subtree, a path certainly exists;</li>
+ *   <li>two GRAIL-style reachability intervals from independent randomized DFS passes: if end's
+ *       interval is not nested in start's interval, a path certainly does not exist.</li>
+ * </ul>
+ * Most queries are decided by these O(1) checks. The remaining ones fall back to a DFS that
+ * prunes every branch whose labels already rule out reaching the target.
+ *
+ * The index is a snapshot of the graph at build time. After changing any neighbors list or
+ * value, call {@link #invalidate()}; the index is then rebuilt on the next query, or eagerly
+ * through {@link #rebuild()}.
+ */
+public final class IncreasingPathIndex {
+  private static final int LABELINGS = 2;
+
+  private final Vertex<Integer> root;
+  private final long seed;
+
+  private boolean valid;
+  private Map<Vertex<Integer>, Integer> ids;
+  private int[] values;
+  private int[] dagOffsets;
+  private int[] dagTargets;
+  private int[] treePre;
+  private int[] treeSize;
+  private int[][] low;
+  private int[][] rank;
+
+  /**
+   * Builds an index over every vertex reachable from the given root.
+   *
+   * @param root The root vertex of the indexed graph.
+   * @throws NullPointerException if root is null or a reachable vertex holds a null value.
+   */
+  public IncreasingPathIndex(Vertex<Integer> root) {
+    this(root, 0x5EEDL);
+  }
+
+  /**
+   * Builds an index over every vertex reachable from the given root, using the given seed for the
+   * randomized labelings.
+   *
+   * @param root The root vertex of the indexed graph.
+   * @param seed The seed for the randomized DFS orders.
+   * @throws NullPointerException if root is null or a reachable vertex holds a null value.
+   */
+  public IncreasingPathIndex(Vertex<Integer> root, long seed) {
+    this.root = Objects.requireNonNull(root, "root must not be null");
+    this.seed = seed;
+    rebuild();
+  }
+
+  /**
+   * Marks the index as stale. The next query rebuilds it.
+   */
+  public void invalidate() {
+    valid = false;
+  }
+
+  /**
+   * Returns whether the index reflects the graph as of the last build.
+   *
+   * @return false if {@link #invalidate()} was called since the last build.
+   */
+  public boolean isValid() {
+    return valid;
+  }
+
+  /**
+   * Rebuilds the index from the current state of the graph reachable from the root.
+   */
+  public void rebuild() {
+    Map<Vertex<Integer>, Integer> newIds = new IdentityHashMap<>();
+    IntCsrGraph graph = IntCsrGraph.from(root, newIds);
+    int n = graph.vertexCount();
+
+    ids = newIds;
+    values = graph.values;
+    buildDag(graph);
+
+    // Ascending value order is a topological order of the increasing-edge DAG. Each key packs
+    // the signed value above the id, so a primitive sort orders by value, then by id.
+    long[] byValue = new long[n];
+    for (int i = 0; i < n; i++) {
+      byValue[i] = ((long) values[i] << 32) | i;
+    }
+    Arrays.sort(byValue);
+    int[] topological = new int[n];
+    for (int i = 0; i < n; i++) {
+      topological[i] = (int) byValue[i];
+    }
+
+    treePre = new int[n];
+    treeSize = new int[n];
+    low = new int[LABELINGS][n];
+    rank = new int[LABELINGS][n];
+    Random random = new Random(seed);
+    for (int k = 0; k < LABELINGS; k++) {
+      int[] rootOrder = topological.clone();
+      if (k > 0) {
+        shuffle(rootOrder, random);
+      }
+      label(rootOrder, k, k == 0, random);
+    }
+    valid = true;
+  }
+
+  /**
+   * Determines whether there exists a strictly increasing path from the given start vertex to
+   * the target vertex, with the same semantics as
+   * {@link Practice#hasStrictlyIncreasingPath(Vertex, Vertex)}.
+   *
+   * @param start The starting vertex.
+   * @param end The target vertex.
+   * @return True if a strictly increasing path exists, false otherwise.
+   * @throws NullPointerException if either start or end is null.
+   */
+  public boolean hasStrictlyIncreasingPath(Vertex<Integer> start, Vertex<Integer> end) {
+    if (start == null || end == null) {
+      throw new NullPointerException("start and end must not be null");
+    }
+    if (!valid) {
+      rebuild();
+    }
+    if (start == end) {
+      return true;
+    }
+
+    Integer s = ids.get(start);
+    if (s == null) {
+      return new Practice().hasStrictlyIncreasingPath(start, end);
+    }
+    Integer e = ids.get(end);
+    if (e == null) {
+      // Anything reachable from an indexed vertex is itself indexed.
+      return false;
+    }
+    return query(s, e);
+  }
+
+  private boolean query(int s, int e) {
+    if (values[e] <= values[s] || !mayReach(s, e)) {
+      return false;
+    }
+    if (treePre[s] <= treePre[e] && treePre[e] < treePre[s] + treeSize[s]) {
+      return true;
+    }
+
+    BitSet visited = new BitSet(values.length);
+    int target = values[e];
+    return !Traversal.dfs(dagOffsets, dagTargets, s, visited,
+        (from, to) -> to == e || (values[to] < target && mayReach(to, e)), v -> v != e);
+  }
+
+  /**
+   * Returns false only if every labeling proves that u cannot reach v.
+   */
+  private boolean mayReach(int u, int v) {
+    for (int k = 0; k < LABELINGS; k++) {
+      if (low[k][v] < low[k][u] || rank[k][v] > rank[k][u]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void buildDag(IntCsrGraph graph) {
+    int n = graph.vertexCount();
+    int[] offsets = new int[n + 1];
+    int count = 0;
+    for (int u = 0; u < n; u++) {
+      offsets[u] = count;
+      for (int i = graph.offsets[u]; i < graph.offsets[u + 1]; i++) {
+        if (values[graph.targets[i]] > values[u]) {
+          count++;
+        }
+      }
+    }
+    offsets[n] = count;
+    int[] targets = new int[count];
+    int next = 0;
+    for (int u = 0; u < n; u++) {
+      for (int i = graph.offsets[u]; i < graph.offsets[u + 1]; i++) {
+        if (values[graph.targets[i]] > values[u]) {
+          targets[next++] = graph.targets[i];
+        }
+      }
+    }
+    dagOffsets = offsets;
+    dagTargets = targets;
+  }
+
+  /**
+   * Runs one DFS pass over the DAG, assigning each vertex its post-order rank and the lowest
+   * rank among its descendants. When tree is set, also records the spanning-tree interval.
+   * Children are explored in a random rotation of their adjacency order so that independent
+   * passes produce different labelings.
+   */
+  private void label(int[] rootOrder, int k, boolean tree, Random random) {
+    int n = values.length;
+    int[] rankK = rank[k];
+    int[] lowK = low[k];
+    boolean[] seen = new boolean[n];
+    int[] stack = new int[n];
+    int[] cursor = new int[n];
+    int[] rotation = new int[n];
+    int nextRank = 1;
+    int nextPre = 0;
+
+    for (int r : rootOrder) {
+      if (seen[r]) {
+        continue;
+      }
+      int size = 0;
+      seen[r] = true;
+      stack[size++] = r;
+      if (tree) {
+        treePre[r] = nextPre++;
+      }
+      rotation[r] = tree ? 0 : randomRotation(r, random);
+      lowK[r] = Integer.MAX_VALUE;
+
+      while (size > 0) {
+        int u = stack[size - 1];
+        int degree = dagOffsets[u + 1] - dagOffsets[u];
+        if (cursor[u] < degree) {
+          int child = dagTargets[dagOffsets[u] + (cursor[u]++ + rotation[u]) % degree];
+          if (!seen[child]) {
+            seen[child] = true;
+            stack[size++] = child;
+            if (tree) {
+              treePre[child] = nextPre++;
+            }
+            rotation[child] = tree ? 0 : randomRotation(child, random);
+            lowK[child] = Integer.MAX_VALUE;
+          } else {
+            lowK[u] = Math.min(lowK[u], lowK[child]);
+          }
+          continue;
+        }
+
+        size--;
+        rankK[u] = nextRank++;
+        lowK[u] = Math.min(lowK[u], rankK[u]);
+        if (tree) {
+          treeSize[u] = nextPre - treePre[u];
+        }
+        if (size > 0) {
+          int parent = stack[size - 1];
+          lowK[parent] = Math.min(lowK[parent], lowK[u]);
+        }
+      }
+    }
+  }
+
+  private int randomRotation(int u, Random random) {
+    int degree = dagOffsets[u + 1] - dagOffsets[u];
+    return degree > 1 ? random.nextInt(degree) : 0;
+  }
+
+  private static void shuffle(int[] array, Random random) {
+    for (int i = array.length - 1; i > 0; i--) {
+      int j = random.nextInt(i + 1);
+      int tmp = array[i];
+      array[i] = array[j];
+      array[j] = tmp;
+    }
+  }
+}
@@ -0,0 +1,120 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * JUnit test suite for the IncreasingPathIndex class.
+ */
+public class IncreasingPathIndexTest {
+
+  /**
+   * Builds a random graph with values 0..n-1 shuffled, rooted at vertex 0, where vertex 0 links
+   * to every other vertex so that the whole graph is indexed.
+   */
+  private List<Vertex<Integer>> randomGraph(int n, int degree, Random random) {
+    List<Integer> values = new ArrayList<>();
+    for (int i = 0; i < n; i++) {
+      values.add(i);
+    }
+    java.util.Collections.shuffle(values, random);
+    List<Vertex<Integer>> vertices = new ArrayList<>();
+    for (int value : values) {
+      vertices.add(new Vertex<>(value));
+    }
+    for (Vertex<Integer> v : vertices) {
+      for (int j = 0; j < degree; j++) {
+        v.neighbors.add(vertices.get(random.nextInt(n)));
+      }
+    }
+    for (int i = 1; i < n; i++) {
+      vertices.get(0).neighbors.add(vertices.get(i));
+    }
+    return vertices;
+  }
+
+  @Test
+  public void testIndex_MatchesPracticeOnRandomGraphs() {
+    Practice practice = new Practice();
+    Random random = new Random(TestGraphs.SEED);
+    for (int round = 0; round < 5; round++) {
+      List<Vertex<Integer>> vertices = randomGraph(60, 3, random);
+      IncreasingPathIndex index = new IncreasingPathIndex(vertices.get(0), round);
+      for (Vertex<Integer> start : vertices) {
+        for (Vertex<Integer> end : vertices) {
+          assertEquals(practice.hasStrictlyIncreasingPath(start, end),
+              index.hasStrictlyIncreasingPath(start, end),
+              "index disagrees for " + start.data + " -> " + end.data);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testIndex_NegativeAndExtremeValuesMatchPractice() {
+    Practice practice = new Practice();
+    Random random = new Random(TestGraphs.SEED + 1);
+    List<Vertex<Integer>> vertices = randomGraph(60, 3, random);
+    int[] extremes = { Integer.MIN_VALUE, Integer.MAX_VALUE, -1, 0, Integer.MIN_VALUE + 1 };
+    for (int i = 0; i < vertices.size(); i++) {
+      vertices.get(i).data =
+          i < extremes.length ? extremes[i] : random.nextInt() >> random.nextInt(32);
+    }
+    IncreasingPathIndex index = new IncreasingPathIndex(vertices.get(0), 0);
+    for (Vertex<Integer> start : vertices) {
+      for (Vertex<Integer> end : vertices) {
+        assertEquals(practice.hasStrictlyIncreasingPath(start, end),
+            index.hasStrictlyIncreasingPath(start, end),
+            "index disagrees for " + start.data + " -> " + end.data);
+      }
+    }
+  }
+
+  @Test
+  public void testIndex_ComplexGraphQueries() {
+    Vertex<Integer> v3 = new Vertex<>(3);
+    Vertex<Integer> v7 = new Vertex<>(7);
+    Vertex<Integer> v12 = new Vertex<>(12);
+    Vertex<Integer> v91 = new Vertex<>(91);
+    v3.neighbors = new ArrayList<>(Arrays.asList(v7));
+    v7.neighbors = new ArrayList<>(Arrays.asList(v12));
+    v12.neighbors = new ArrayList<>(Arrays.asList(v7, v91));
+
+    IncreasingPathIndex index = new IncreasingPathIndex(v3);
+    assertTrue(index.hasStrictlyIncreasingPath(v3, v91));
+    assertTrue(index.hasStrictlyIncreasingPath(v3, v3));
+    assertFalse(index.hasStrictlyIncreasingPath(v12, v7));
+    assertThrows(NullPointerException.class, () -> index.hasStrictlyIncreasingPath(null, v7));
+    assertThrows(NullPointerException.class, () -> index.hasStrictlyIncreasingPath(v3, null));
+  }
+
+  @Test
+  public void testIndex_InvalidateReflectsNewEdges() {
+    Vertex<Integer> a = new Vertex<>(1);
+    Vertex<Integer> b = new Vertex<>(2);
+    Vertex<Integer> c = new Vertex<>(3);
+    a.neighbors.add(b);
+
+    IncreasingPathIndex index = new IncreasingPathIndex(a);
+    assertFalse(index.hasStrictlyIncreasingPath(a, c), "c is not part of the graph yet");
+
+    b.neighbors.add(c);
+    index.invalidate();
+    assertFalse(index.isValid());
+    assertTrue(index.hasStrictlyIncreasingPath(a, c), "the index should rebuild after invalidate");
+    assertTrue(index.isValid());
+  }
+
+  @Test
+  public void testIndex_UnindexedStartFallsBackToTraversal() {
+    Vertex<Integer> root = new Vertex<>(5);
+    Vertex<Integer> outside = new Vertex<>(1);
+    outside.neighbors.add(root);
+
+    IncreasingPathIndex index = new IncreasingPathIndex(root);
+    assertTrue(index.hasStrictlyIncreasingPath(outside, root));
+  }
+}
@@ -0,0 +1,112 @@
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * An immutable CSR graph whose vertex values are primitive ints.
+ *
+ * The topology is laid out exactly as in {@link CsrGraph}, but the values live in an
+ * {@code int[]} so that integer queries read them without unboxing and no vertex carries an
+ * extra boxed object.
+ */
+public final class IntCsrGraph {
+  final int[] offsets;
+  final int[] targets;
+  final int[] values;
+
+  IntCsrGraph(int[] offsets, int[] targets, int[] values) {
+    this.offsets = offsets;
+    this.targets = targets;
+    this.values = values;
+  }
+
+  /**
+   * Converts every vertex reachable from the given root into an int CSR graph.
+   * The root is always assigned id 0.
+   *
+   * @param root The root vertex to convert.
+   * @return The equivalent int CSR graph.
+   * @throws NullPointerException if root is null or a reachable vertex holds a null value.
+   */
+  public static IntCsrGraph from(Vertex<Integer> root) {
+    return from(root, new IdentityHashMap<>());
+  }
+
+  /**
+   * Converts every vertex reachable from the given root into an int CSR graph, recording the id
+   * assigned to each vertex in the given map. The root is always assigned id 0.
+   *
+   * @param root The root vertex to convert.
+   * @param ids Receives the id assigned to each converted vertex.
+   * @return The equivalent int CSR graph.
+   * @throws NullPointerException if root or ids is null, or a reachable vertex holds a null value.
+   */
+  public static IntCsrGraph from(Vertex<Integer> root, Map<Vertex<Integer>, Integer> ids) {
+    return from(CsrGraph.from(root, ids));
+  }
+
+  /**
+   * Unboxes the values of an existing CSR graph. The topology arrays are shared, not copied.
+   *
+   * @param graph The graph to convert.
+   * @return An int CSR graph with the same vertex ids and edges.
+   * @throws NullPointerException if graph is null or one of its vertices holds a null value.
+   */
+  public static IntCsrGraph from(CsrGraph<Integer> graph) {
+    int[] values = new int[graph.vertexCount()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = Objects.requireNonNull(graph.value(i), "vertex value must not be null");
+    }
+    return new IntCsrGraph(graph.offsets, graph.targets, values);
+  }
+
+  /**
+   * Returns the number of vertices in this graph.
+   *
+   * @return The vertex count.
+   */
+  public int vertexCount() {
+    return values.length;
+  }
+
+  /**
+   * Returns the number of edges in this graph.
+   *
+   * @return The edge count.
+   */
+  public int edgeCount() {
+    return targets.length;
+  }
+
+  /**
+   * Returns the value stored in the given vertex.
+   *
+   * @param vertex The vertex id.
+   * @return The value of the vertex.
+   */
+  public int value(int vertex) {
+    return values[vertex];
+  }
+
+  /**
+   * Returns the number of outgoing edges of the given vertex.
+   *
+   * @param vertex The vertex id.
+   * @return The out-degree of the vertex.
+   */
+  public int degree(int vertex) {
+    return offsets[vertex + 1] - offsets[vertex];
+  }
+
+  /**
+   * Returns the id of the i-th neighbor of the given vertex.
+   *
+   * @param vertex The vertex id.
+   * @param i The index of the neighbor, from 0 to {@code degree(vertex) - 1}.
+   * @return The id of the neighbor.
+   */
+  public int neighbor(int vertex, int i) {
+    Objects.checkIndex(i, degree(vertex));
+    return targets[offsets[vertex] + i];
+  }
+}
@@ -0,0 +1,475 @@
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+
+/**
+ * A precomputed index of the leaves reachable from every vertex of a graph.
+ *
+ * Every vertex of one strongly connected component reaches the same leaves, so the index keeps
+ * one leaf set per component of the {@link Condensation}. Leaves are numbered in component order
+ * and each set is a {@link CompactIntSet}: a component's set is its own leaf, if it is one, united
+ * with the sets of its successors, computed for all components in one sweep in reverse
+ * topological order. Components whose successors add nothing new share their successor's set, so
+ * chains and trees of components cost far less than one set per component.
+ * {@link #leaves(Vertex)} is then a lookup that returns a read-only view of the set.
+ *
+ * Edge changes made through {@link #addEdge} and {@link #removeEdge} are applied incrementally:
+ * only the sets of the changed component and of the components that reach it are recomputed. A
+ * change that may merge or split components, namely an edge that closes a cycle or the removal of
+ * an edge inside a component, instead marks the index stale, and it is rebuilt on the next query.
+ * After changing {@code Vertex.neighbors} directly, call {@link #invalidate()}.
+ *
+ * @param <T> The type of data stored in the vertices.
+ */
+public final class LeafIndex<T> {
+  private final List<Vertex<T>> roots;
+
+  private boolean valid;
+  private Map<Vertex<T>, Integer> ids;
+  private Vertex<T>[] vertices;
+  private int[] component;
+  private int[][] members;
+  private int[][] successors;
+  private int[][] predecessors;
+  private int[] leafOrdinal;
+  private Vertex<T>[] leavesByOrdinal;
+  private int leafCount;
+  private CompactIntSet[] leafSets;
+
+  /**
+   * Builds an index over every vertex reachable from the given root.
+   *
+   * @param root The root vertex of the indexed graph.
+   * @throws NullPointerException if root is null.
+   */
+  public LeafIndex(Vertex<T> root) {
+    this(Collections.singletonList(Objects.requireNonNull(root, "root must not be null")));
+  }
+
+  /**
+   * Builds an index over every vertex reachable from any of the given roots.
+   *
+   * @param roots The root vertices of the indexed graph.
+   * @throws NullPointerException if roots or any root is null.
+   */
+  public LeafIndex(Collection<? extends Vertex<T>> roots) {
+    this.roots = new ArrayList<>(roots);
+    for (Vertex<T> root : this.roots) {
+      Objects.requireNonNull(root, "root must not be null");
+    }
+    rebuild();
+  }
+
+  /**
+   * Marks the index as stale. The next query rebuilds it.
+   */
+  public void invalidate() {
+    valid = false;
+  }
+
+  /**
+   * Returns whether the index reflects the graph as of the last build or incremental update.
+   *
+   * @return false if the index is stale and will be rebuilt on the next query.
+   */
+  public boolean isValid() {
+    return valid;
+  }
+
+  /**
+   * Rebuilds the index from the current state of the graph reachable from the roots.
+   */
+  @SuppressWarnings("unchecked")
+  public void rebuild() {
+    Condensation<T> condensation = Condensation.of(roots, null);
+    int count = condensation.componentCount();
+    ids = new IdentityHashMap<>();
+    List<Vertex<T>> order = new ArrayList<>();
+    members = new int[count][];
+    successors = new int[count][];
+    for (int c = 0; c < count; c++) {
+      List<Vertex<T>> list = condensation.members(c);
+      members[c] = new int[list.size()];
+      for (int m = 0; m < list.size(); m++) {
+        members[c][m] = order.size();
+        ids.put(list.get(m), order.size());
+        order.add(list.get(m));
+      }
+      successors[c] = condensation.successors(c);
+    }
+    int n = order.size();
+    vertices = order.toArray((Vertex<T>[]) new Vertex<?>[n]);
+    component = new int[n];
+    for (int c = 0; c < count; c++) {
+      for (int v : members[c]) {
+        component[v] = c;
+      }
+    }
+
+    int[] inDegree = new int[count];
+    for (int[] targets : successors) {
+      for (int d : targets) {
+        inDegree[d]++;
+      }
+    }
+    predecessors = new int[count][];
+    for (int c = 0; c < count; c++) {
+      predecessors[c] = new int[inDegree[c]];
+    }
+    for (int c = 0; c < count; c++) {
+      for (int d : successors[c]) {
+        predecessors[d][--inDegree[d]] = c;
+      }
+    }
+
+    // Leaves are sinks, which Tarjan's algorithm completes first, so their ordinals are dense
+    // among the low component ids.
+    leafOrdinal = new int[n];
+    Arrays.fill(leafOrdinal, -1);
+    leavesByOrdinal = (Vertex<T>[]) new Vertex<?>[16];
+    leafCount = 0;
+    leafSets = new CompactIntSet[count];
+    // Successors always have smaller ids, so ascending id order sees them first.
+    for (int c = 0; c < count; c++) {
+      leafSets[c] = merge(c);
+    }
+    valid = true;
+  }
+
+  /**
+   * Returns every leaf reachable from the given vertex, including the vertex itself if it is a
+   * leaf. A leaf is a vertex without non-null neighbors. For an indexed vertex this is a
+   * lookup; the result is a read-only view that does not change with later updates.
+   *
+   * Vertices outside the index are answered with {@link Practice#leaves(Vertex)}.
+   *
+   * @param vertex The starting vertex, or null for an empty set.
+   * @return A set containing all reachable leaves.
+   */
+  public Set<Vertex<T>> leaves(Vertex<T> vertex) {
+    if (vertex == null) {
+      return Collections.emptySet();
+    }
+    ensureValid();
+    Integer id = ids.get(vertex);
+    if (id == null) {
+      return new Practice().leaves(vertex);
+    }
+    return new LeafSetView<>(leafSets[component[id]], leavesByOrdinal, ids, leafOrdinal);
+  }
+
+  /**
+   * Returns the number of leaves reachable from the given vertex. For an indexed vertex this is
+   * a lookup.
+   *
+   * @param vertex The starting vertex, or null.
+   * @return The number of reachable leaves, or 0 if vertex is null.
+   */
+  public int leafCount(Vertex<T> vertex) {
+    return leaves(vertex).size();
+  }
+
+  /**
+   * Appends an edge to the neighbors of from and updates the index.
+   *
+   * @param from The vertex the edge starts at.
+   * @param to The vertex the edge points to.
+   * @throws NullPointerException if from or to is null.
+   */
+  public void addEdge(Vertex<T> from, Vertex<T> to) {
+    Objects.requireNonNull(from, "from must not be null");
+    Objects.requireNonNull(to, "to must not be null");
+    if (from.neighbors == null) {
+      from.neighbors = new ArrayList<>();
+    }
+    boolean wasLeaf = from.isLeaf();
+    from.neighbors.add(to);
+    if (!valid) {
+      return;
+    }
+    Integer f = ids.get(from);
+    if (f == null) {
+      // Unindexed vertices are unreachable from the roots, so nothing indexed changes.
+      return;
+    }
+    Integer t = ids.get(to);
+    if (t == null) {
+      // New vertices became reachable.
+      invalidate();
+      return;
+    }
+    int cf = component[f];
+    int ct = component[t];
+    if (cf == ct) {
+      if (wasLeaf) {
+        // A self-loop on a leaf.
+        refresh(ancestors(cf));
+      }
+      return;
+    }
+    BitSet ancestors = ancestors(cf);
+    if (ancestors.get(ct)) {
+      // The edge closes a cycle and merges components.
+      invalidate();
+      return;
+    }
+    if (!contains(successors[cf], ct)) {
+      successors[cf] = append(successors[cf], ct);
+      predecessors[ct] = append(predecessors[ct], cf);
+    } else if (!wasLeaf) {
+      return;
+    }
+    refresh(ancestors);
+  }
+
+  /**
+   * Removes one occurrence of an edge from the neighbors of from and updates the index.
+   *
+   * @param from The vertex the edge starts at.
+   * @param to The vertex the edge points to.
+   * @return true if the edge existed and was removed.
+   * @throws NullPointerException if from or to is null.
+   */
+  public boolean removeEdge(Vertex<T> from, Vertex<T> to) {
+    Objects.requireNonNull(from, "from must not be null");
+    Objects.requireNonNull(to, "to must not be null");
+    if (from.neighbors == null || !removeIdentical(from.neighbors, to)) {
+      return false;
+    }
+    if (!valid) {
+      return true;
+    }
+    Integer f = ids.get(from);
+    if (f == null) {
+      return true;
+    }
+    Integer t = ids.get(to);
+    if (t == null) {
+      // The graph was changed without going through the index.
+      invalidate();
+      return true;
+    }
+    int cf = component[f];
+    int ct = component[t];
+    boolean changed = from.isLeaf();
+    if (cf == ct) {
+      if (members[cf].length > 1) {
+        // The component may split.
+        invalidate();
+        return true;
+      }
+    } else if (!hasEdgeInto(cf, ct)) {
+      successors[cf] = remove(successors[cf], ct);
+      predecessors[ct] = remove(predecessors[ct], cf);
+      changed = true;
+    }
+    if (changed) {
+      refresh(ancestors(cf));
+    }
+    return true;
+  }
+
+  private void ensureValid() {
+    if (!valid) {
+      rebuild();
+    }
+  }
+
+  /**
+   * Returns the leaf set of a component from its own leaf and its successors' current sets.
+   */
+  private CompactIntSet merge(int c) {
+    CompactIntSet set = CompactIntSet.EMPTY;
+    if (members[c].length == 1) {
+      int v = members[c][0];
+      Vertex<T> vertex = vertices[v];
+      if (vertex.isLeaf()) {
+        set = CompactIntSet.of(ordinal(v));
+      }
+    }
+    for (int d : successors[c]) {
+      set = set.union(leafSets[d]);
+    }
+    return set;
+  }
+
+  private int ordinal(int v) {
+    if (leafOrdinal[v] < 0) {
+      if (leafCount == leavesByOrdinal.length) {
+        leavesByOrdinal = Arrays.copyOf(leavesByOrdinal, leafCount * 2);
+      }
+      leavesByOrdinal[leafCount] = vertices[v];
+      leafOrdinal[v] = leafCount++;
+    }
+    return leafOrdinal[v];
+  }
+
+  /**
+   * Returns the given component and every component that reaches it.
+   */
+  private BitSet ancestors(int c) {
+    BitSet seen = new BitSet(leafSets.length);
+    seen.set(c);
+    int[] stack = new int[16];
+    int size = 0;
+    stack[size++] = c;
+    while (size > 0) {
+      int current = stack[--size];
+      for (int p : predecessors[current]) {
+        if (!seen.get(p)) {
+          seen.set(p);
+          if (size == stack.length) {
+            stack = Arrays.copyOf(stack, size * 2);
+          }
+          stack[size++] = p;
+        }
+      }
+    }
+    return seen;
+  }
+
+  /**
+   * Recomputes the sets of the given components, successors first. Incremental updates do not
+   * keep component ids in topological order, so the order is found with a post-order walk over
+   * the affected components.
+   */
+  private void refresh(BitSet affected) {
+    BitSet done = new BitSet(leafSets.length);
+    int[] stack = new int[16];
+    int[] cursor = new int[16];
+    for (int c = affected.nextSetBit(0); c >= 0; c = affected.nextSetBit(c + 1)) {
+      if (done.get(c)) {
+        continue;
+      }
+      done.set(c);
+      int size = 0;
+      stack[size] = c;
+      cursor[size++] = 0;
+      while (size > 0) {
+        int top = stack[size - 1];
+        if (cursor[size - 1] < successors[top].length) {
+          int d = successors[top][cursor[size - 1]++];
+          if (affected.get(d) && !done.get(d)) {
+            done.set(d);
+            if (size == stack.length) {
+              stack = Arrays.copyOf(stack, size * 2);
+              cursor = Arrays.copyOf(cursor, size * 2);
+            }
+            stack[size] = d;
+            cursor[size++] = 0;
+          }
+        } else {
+          leafSets[top] = merge(top);
+          size--;
+        }
+      }
+    }
+  }
+
+  private boolean hasEdgeInto(int c, int d) {
+    for (int v : members[c]) {
+      List<Vertex<T>> neighbors = vertices[v].neighbors;
+      if (neighbors == null) {
+        continue;
+      }
+      for (Vertex<T> neighbor : neighbors) {
+        Integer w = ids.get(neighbor);
+        if (w != null && component[w] == d) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private static boolean contains(int[] array, int value) {
+    for (int x : array) {
+      if (x == value) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static int[] append(int[] array, int value) {
+    int[] result = Arrays.copyOf(array, array.length + 1);
+    result[array.length] = value;
+    return result;
+  }
+
+  private static int[] remove(int[] array, int value) {
+    int[] result = new int[array.length];
+    int size = 0;
+    for (int x : array) {
+      if (x != value) {
+        result[size++] = x;
+      }
+    }
+    return Arrays.copyOf(result, size);
+  }
+
+  private static <T> boolean removeIdentical(List<Vertex<T>> list, Vertex<T> vertex) {
+    for (int i = 0; i < list.size(); i++) {
+      if (list.get(i) == vertex) {
+        list.remove(i);
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * A read-only set of vertices backed by a leaf set and the ordinal tables of one build.
+   */
+  private static final class LeafSetView<T> extends AbstractSet<Vertex<T>> {
+    private final CompactIntSet set;
+    private final Vertex<T>[] leavesByOrdinal;
+    private final Map<Vertex<T>, Integer> ids;
+    private final int[] leafOrdinal;
+
+    LeafSetView(CompactIntSet set, Vertex<T>[] leavesByOrdinal, Map<Vertex<T>, Integer> ids,
+        int[] leafOrdinal) {
+      this.set = set;
+      this.leavesByOrdinal = leavesByOrdinal;
+      this.ids = ids;
+      this.leafOrdinal = leafOrdinal;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      Integer id = ids.get(o);
+      return id != null && set.contains(leafOrdinal[id]);
+    }
+
+    @Override
+    public Iterator<Vertex<T>> iterator() {
+      PrimitiveIterator.OfInt ordinals = set.iterator();
+      return new Iterator<Vertex<T>>() {
+        @Override
+        public boolean hasNext() {
+          return ordinals.hasNext();
+        }
+
+        @Override
+        public Vertex<T> next() {
+          return leavesByOrdinal[ordinals.nextInt()];
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return set.cardinality();
+    }
+  }
+}
@@ -0,0 +1,127 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * JUnit test suite for the LeafIndex class.
+ */
+public class LeafIndexTest {
+
+  @Test
+  public void testLeaves_MatchPracticeOnCyclicGraph() {
+    Vertex<Integer> a = new Vertex<>(1);
+    Vertex<Integer> b = new Vertex<>(2);
+    Vertex<Integer> c = new Vertex<>(3);
+    Vertex<Integer> d = new Vertex<>(4);
+    Vertex<Integer> e = new Vertex<>(5, null);
+    a.neighbors = new ArrayList<>(Arrays.asList(b, d));
+    b.neighbors = new ArrayList<>(Arrays.asList(c));
+    c.neighbors = new ArrayList<>(Arrays.asList(a, e));
+
+    LeafIndex<Integer> index = new LeafIndex<>(a);
+    assertEquals(Set.of(d, e), new HashSet<>(index.leaves(b)));
+    assertEquals(2, index.leafCount(c));
+    assertEquals(Set.of(e), new HashSet<>(index.leaves(e)));
+    assertTrue(index.leaves(a).contains(d));
+    assertFalse(index.leaves(a).contains(a));
+    assertFalse(index.leaves(a).contains("not a vertex"));
+    assertTrue(index.leaves(null).isEmpty());
+    assertThrows(UnsupportedOperationException.class, () -> index.leaves(a).clear());
+  }
+
+  @Test
+  public void testLeaves_OutsideIndexFallsBack() {
+    Vertex<Integer> root = new Vertex<>(1);
+    Vertex<Integer> other = new Vertex<>(2);
+    Vertex<Integer> leaf = new Vertex<>(3);
+    other.neighbors.add(leaf);
+
+    LeafIndex<Integer> index = new LeafIndex<>(root);
+    assertEquals(Set.of(leaf), new HashSet<>(index.leaves(other)));
+  }
+
+  @Test
+  public void testAddEdge_UpdatesAncestorsIncrementally() {
+    Vertex<Integer> a = new Vertex<>(1);
+    Vertex<Integer> b = new Vertex<>(2);
+    Vertex<Integer> c = new Vertex<>(3);
+    Vertex<Integer> d = new Vertex<>(4);
+    a.neighbors.add(b);
+    a.neighbors.add(d);
+    b.neighbors.add(c);
+
+    LeafIndex<Integer> index = new LeafIndex<>(a);
+    Set<Vertex<Integer>> before = index.leaves(a);
+    index.addEdge(c, d);
+    assertTrue(index.isValid());
+    assertEquals(Set.of(d), new HashSet<>(index.leaves(a)));
+    assertEquals(Set.of(d), new HashSet<>(index.leaves(b)));
+    assertEquals(Set.of(c, d), new HashSet<>(before));
+
+    assertTrue(index.removeEdge(c, d));
+    assertTrue(index.isValid());
+    assertEquals(Set.of(c, d), new HashSet<>(index.leaves(a)));
+    assertFalse(index.removeEdge(c, d));
+  }
+
+  @Test
+  public void testAddEdge_CycleTriggersRebuild() {
+    Vertex<Integer> a = new Vertex<>(1);
+    Vertex<Integer> b = new Vertex<>(2);
+    Vertex<Integer> c = new Vertex<>(3);
+    a.neighbors.add(b);
+    b.neighbors.add(c);
+
+    LeafIndex<Integer> index = new LeafIndex<>(a);
+    index.addEdge(b, a);
+    assertFalse(index.isValid());
+    assertEquals(Set.of(c), new HashSet<>(index.leaves(b)));
+    assertTrue(index.isValid());
+
+    Vertex<Integer> fresh = new Vertex<>(4);
+    index.addEdge(c, fresh);
+    assertFalse(index.isValid());
+    assertEquals(Set.of(fresh), new HashSet<>(index.leaves(a)));
+  }
+
+  @Test
+  public void testRandomEdits_MatchPractice() {
+    Practice practice = new Practice();
+    Random random = new Random(TestGraphs.SEED);
+    for (int round = 0; round < 10; round++) {
+      int n = 80;
+      List<Vertex<Integer>> vertices = new ArrayList<>();
+      for (int i = 0; i < n; i++) {
+        vertices.add(new Vertex<>(i));
+      }
+      for (int i = 1; i < n; i++) {
+        vertices.get(random.nextInt(i)).neighbors.add(vertices.get(i));
+      }
+      for (int i = 0; i < n / 2; i++) {
+        int from = random.nextInt(n);
+        vertices.get(from).neighbors.add(vertices.get(random.nextInt(n)));
+      }
+
+      LeafIndex<Integer> index = new LeafIndex<>(Collections.singletonList(vertices.get(0)));
+      for (int step = 0; step < 60; step++) {
+        Vertex<Integer> from = vertices.get(random.nextInt(n));
+        if (random.nextBoolean() && !from.neighbors.isEmpty()) {
+          index.removeEdge(from, from.neighbors.get(random.nextInt(from.neighbors.size())));
+        } else {
+          index.addEdge(from, vertices.get(random.nextInt(n)));
+        }
+        for (Vertex<Integer> v : vertices) {
+          assertEquals(new HashSet<>(practice.leaves(v)), new HashSet<>(index.leaves(v)),
+              "round " + round + ", step " + step + ", vertex " + v.data);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,237 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * A read-only int-valued CSR graph that lives in a memory-mapped file.
+ *
+ * Opening a graph maps the file and wraps it in int buffer views; nothing is copied onto the
+ * heap, and the operating system pages the file in as it is read. By default opening also
+ * checks every offset and target once, so a corrupt file is rejected up front instead of
+ * sending a traversal out of bounds; {@link #open(Path, boolean)} can skip that scan for trusted
+ * files, which then open instantly. Queries run directly on the mapping through the
+ * {@link Practice} overloads that take a MappedGraph.
+ *
+ * The file format is little-endian throughout:
+ * <pre>
+ *   int    magic        0x47534644 ("DFSG")
+ *   int    version      1
+ *   int    vertexCount  n
+ *   int    edgeCount    m
+ *   int[n + 1] offsets
+ *   int[m]     targets
+ *   int[n]     values
+ * </pre>
+ * Offsets and targets have the same meaning as in {@link CsrGraph}. A single mapping is limited
+ * to 2 GB, which allows roughly 500 million edges.
+ */
+public final class MappedGraph {
+  static final int MAGIC = 0x47534644;
+  static final int VERSION = 1;
+  static final int HEADER_BYTES = 16;
+
+  private static final int WRITE_BUFFER_BYTES = 1 << 20;
+
+  final IntBuffer offsets;
+  final IntBuffer targets;
+  final IntBuffer values;
+  private final int vertexCount;
+  private final int edgeCount;
+
+  private MappedGraph(MappedByteBuffer buffer, int vertexCount, int edgeCount) {
+    this.vertexCount = vertexCount;
+    this.edgeCount = edgeCount;
+    this.offsets = section(buffer, HEADER_BYTES, vertexCount + 1);
+    this.targets = section(buffer, HEADER_BYTES + 4 * (vertexCount + 1), edgeCount);
+    this.values = section(buffer, HEADER_BYTES + 4 * (vertexCount + 1 + edgeCount), vertexCount);
+  }
+
+  private static IntBuffer section(ByteBuffer buffer, int byteOffset, int ints) {
+    return buffer.slice(byteOffset, 4 * ints).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+  }
+
+  /**
+   * Serializes every vertex reachable from the given root to a graph file. The root is written
+   * as vertex id 0.
+   *
+   * @param root The root vertex to serialize.
+   * @param path The file to create or overwrite.
+   * @throws IOException if the file cannot be written.
+   * @throws NullPointerException if root is null or a reachable vertex holds a null value.
+   */
+  public static void write(Vertex<Integer> root, Path path) throws IOException {
+    write(IntCsrGraph.from(root), path);
+  }
+
+  /**
+   * Serializes an int CSR graph to a graph file.
+   *
+   * @param graph The graph to serialize.
+   * @param path The file to create or overwrite.
+   * @throws IOException if the file cannot be written.
+   * @throws IllegalArgumentException if the graph is too large for a single mapping.
+   */
+  public static void write(IntCsrGraph graph, Path path) throws IOException {
+    long bytes = fileSize(graph.vertexCount(), graph.edgeCount());
+    if (bytes > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("graph is too large to map: " + bytes + " bytes");
+    }
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES)
+          .order(ByteOrder.LITTLE_ENDIAN);
+      buffer.putInt(MAGIC).putInt(VERSION).putInt(graph.vertexCount()).putInt(graph.edgeCount());
+      writeInts(channel, buffer, graph.offsets);
+      writeInts(channel, buffer, graph.targets);
+      writeInts(channel, buffer, graph.values);
+      drain(channel, buffer);
+    }
+  }
+
+  private static void writeInts(FileChannel channel, ByteBuffer buffer, int[] ints)
+      throws IOException {
+    for (int i = 0; i < ints.length; ) {
+      if (buffer.remaining() < 4) {
+        drain(channel, buffer);
+      }
+      int count = Math.min(ints.length - i, buffer.remaining() / 4);
+      buffer.asIntBuffer().put(ints, i, count);
+      buffer.position(buffer.position() + 4 * count);
+      i += count;
+    }
+  }
+
+  private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    buffer.clear();
+  }
+
+  /**
+   * Maps a graph file read-only and validates its structure. The mapping stays valid after this
+   * method returns and is released when the returned graph is garbage collected.
+   *
+   * @param path The graph file.
+   * @return The mapped graph.
+   * @throws IOException if the file cannot be read or is not a valid graph file.
+   */
+  public static MappedGraph open(Path path) throws IOException {
+    return open(path, true);
+  }
+
+  /**
+   * Maps a graph file read-only. The header and file size are always checked; the offsets and
+   * targets are checked only if requested, since that reads the whole file.
+   *
+   * @param path The graph file.
+   * @param validate Whether to check that offsets start at 0, never decrease and end at the
+   *     edge count, and that every target is a vertex id.
+   * @return The mapped graph.
+   * @throws IOException if the file cannot be read or is not a valid graph file.
+   */
+  public static MappedGraph open(Path path, boolean validate) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+        throw new IOException("not a graph file: " + path);
+      }
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+      buffer.order(ByteOrder.LITTLE_ENDIAN);
+      int magic = buffer.getInt(0);
+      int version = buffer.getInt(4);
+      int vertexCount = buffer.getInt(8);
+      int edgeCount = buffer.getInt(12);
+      if (magic != MAGIC) {
+        throw new IOException("not a graph file: " + path);
+      }
+      if (version != VERSION) {
+        throw new IOException("unsupported graph file version " + version + ": " + path);
+      }
+      if (vertexCount < 0 || edgeCount < 0 || fileSize(vertexCount, edgeCount) != size) {
+        throw new IOException("truncated or corrupt graph file: " + path);
+      }
+      MappedGraph graph = new MappedGraph(buffer, vertexCount, edgeCount);
+      if (validate) {
+        graph.validate(path);
+      }
+      return graph;
+    }
+  }
+
+  private void validate(Path path) throws IOException {
+    int previous = offsets.get(0);
+    if (previous != 0) {
+      throw new IOException("corrupt graph file, offsets must start at 0: " + path);
+    }
+    for (int v = 1; v <= vertexCount; v++) {
+      int offset = offsets.get(v);
+      if (offset < previous || offset > edgeCount) {
+        throw new IOException("corrupt graph file, bad offset " + offset + " of vertex " + v
+            + ": " + path);
+      }
+      previous = offset;
+    }
+    if (previous != edgeCount) {
+      throw new IOException("corrupt graph file, offsets must end at " + edgeCount + ": " + path);
+    }
+    for (int i = 0; i < edgeCount; i++) {
+      int target = targets.get(i);
+      if (target < 0 || target >= vertexCount) {
+        throw new IOException("corrupt graph file, bad target " + target + " of edge " + i
+            + ": " + path);
+      }
+    }
+  }
+
+  private static long fileSize(int vertexCount, int edgeCount) {
+    return HEADER_BYTES + 4L * (2L * vertexCount + 1 + edgeCount);
+  }
+
+  /**
+   * Returns the number of vertices in this graph.
+   *
+   * @return The vertex count.
+   */
+  public int vertexCount() {
+    return vertexCount;
+  }
+
+  /**
+   * Returns the number of edges in this graph.
+   *
+   * @return The edge count.
+   */
+  public int edgeCount() {
+    return edgeCount;
+  }
+
+  /**
+   * Returns the value stored in the given vertex.
+   *
+   * @param vertex The vertex id.
+   * @return The value of the vertex.
+   */
+  public int value(int vertex) {
+    Objects.checkIndex(vertex, vertexCount);
+    return values.get(vertex);
+  }
+
+  /**
+   * Returns the number of outgoing edges of the given vertex.
+   *
+   * @param vertex The vertex id.
+   * @return The out-degree of the vertex.
+   */
+  public int degree(int vertex) {
+    Objects.checkIndex(vertex, vertexCount);
+    return offsets.get(vertex + 1) - offsets.get(vertex);
+  }
+}
@@ -0,0 +1,270 @@
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountedCompleter;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Parallel reachability on a {@link ForkJoinPool}.
+ *
+ * Each task runs an ordinary iterative DFS over its own local stack. Vertices are claimed
+ * through a shared concurrent visited structure before they are pushed, so every vertex is
+ * expanded by exactly one task. Whenever a task's local stack grows beyond
+ * {@link #SPLIT_THRESHOLD} entries (typically right after expanding a hub), the bottom half of
+ * the stack is handed to a newly forked task, which idle workers can then steal.
+ *
+ * The result is exactly the set the sequential traversal produces; only the visiting order
+ * differs.
+ */
+public final class ParallelReachability {
+
+  /**
+   * Local stack size above which a task splits off half of its work.
+   */
+  static final int SPLIT_THRESHOLD = 256;
+
+  private ParallelReachability() {
+  }
+
+  /**
+   * Returns a set of all vertices reachable from the given starting vertex, including the
+   * starting vertex itself, computed in parallel on the given pool.
+   *
+   * The returned set is backed by a {@link ConcurrentHashMap}. Vertex does not override equals
+   * or hashCode, so membership is by identity just as in the sequential version.
+   *
+   * @param start The starting vertex for the traversal, or null for an empty set.
+   * @param pool The pool to run the traversal on.
+   * @return A set containing all reachable vertices.
+   */
+  public static <T> Set<Vertex<T>> reachable(Vertex<T> start, ForkJoinPool pool) {
+    Objects.requireNonNull(pool, "pool must not be null");
+    Set<Vertex<T>> visited = ConcurrentHashMap.newKeySet();
+    if (start == null) {
+      return visited;
+    }
+    visited.add(start);
+    TraversalStats.Probe probe = TraversalStats.start("parallel-vertex");
+    TraversalStats.Counters counters = probe == null ? null : new TraversalStats.Counters();
+    pool.invoke(new VertexTask<>(null, visited, counters, new Object[] { start }, 1));
+    if (probe != null) {
+      counters.finish(probe, true);
+    }
+    return visited;
+  }
+
+  /**
+   * Returns the ids of all vertices of a CSR graph reachable from the given starting vertex,
+   * computed in parallel on the given pool.
+   *
+   * @param graph The graph to traverse.
+   * @param start The id of the starting vertex.
+   * @param pool The pool to run the traversal on.
+   * @return A bit set whose set bits are the ids of the reachable vertices.
+   * @throws IndexOutOfBoundsException if start is not a vertex of the graph.
+   */
+  public static BitSet reachable(CsrGraph<?> graph, int start, ForkJoinPool pool) {
+    Objects.requireNonNull(pool, "pool must not be null");
+    Objects.checkIndex(start, graph.vertexCount());
+    AtomicBitSet visited = new AtomicBitSet(graph.vertexCount());
+    visited.claim(start);
+    TraversalStats.Probe probe = TraversalStats.start("parallel-csr");
+    TraversalStats.Counters counters = probe == null ? null : new TraversalStats.Counters();
+    pool.invoke(new CsrTask(null, graph.offsets, graph.targets, visited, counters,
+        new int[] { start }, 1));
+    if (probe != null) {
+      counters.finish(probe, true);
+    }
+    return visited.toBitSet();
+  }
+
+  /**
+   * Traverses a Vertex graph from the vertices on its initial stack.
+   */
+  private static final class VertexTask<T> extends CountedCompleter<Void> {
+    private static final long serialVersionUID = 1L;
+
+    private final Set<Vertex<T>> visited;
+    private final TraversalStats.Counters counters;
+    private Object[] stack;
+    private int size;
+
+    VertexTask(CountedCompleter<?> parent, Set<Vertex<T>> visited,
+        TraversalStats.Counters counters, Object[] stack, int size) {
+      super(parent);
+      this.visited = visited;
+      this.counters = counters;
+      this.stack = stack;
+      this.size = size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void compute() {
+      long visitedCount = 0;
+      long edges = 0;
+      long skipped = 0;
+      int maxStackSize = size;
+      while (size > 0) {
+        Vertex<T> current = (Vertex<T>) stack[--size];
+        stack[size] = null;
+        visitedCount++;
+        if (current.neighbors == null) {
+          continue;
+        }
+        for (Vertex<T> neighbor : current.neighbors) {
+          if (neighbor == null) {
+            continue;
+          }
+          edges++;
+          if (visited.add(neighbor)) {
+            if (size == stack.length) {
+              stack = Arrays.copyOf(stack, size * 2);
+            }
+            stack[size++] = neighbor;
+          } else {
+            skipped++;
+          }
+        }
+        maxStackSize = Math.max(maxStackSize, size);
+        if (size > SPLIT_THRESHOLD) {
+          split();
+        }
+      }
+      if (counters != null) {
+        counters.add(visitedCount, edges, skipped, maxStackSize);
+      }
+      tryComplete();
+    }
+
+    private void split() {
+      int half = size / 2;
+      Object[] forked = Arrays.copyOfRange(stack, 0, half);
+      System.arraycopy(stack, half, stack, 0, size - half);
+      Arrays.fill(stack, size - half, size, null);
+      size -= half;
+      addToPendingCount(1);
+      new VertexTask<>(this, visited, counters, forked, half).fork();
+    }
+  }
+
+  /**
+   * Traverses a CSR graph from the vertex ids on its initial stack.
+   */
+  private static final class CsrTask extends CountedCompleter<Void> {
+    private static final long serialVersionUID = 1L;
+
+    private final int[] offsets;
+    private final int[] targets;
+    private final AtomicBitSet visited;
+    private final TraversalStats.Counters counters;
+    private int[] stack;
+    private int size;
+
+    CsrTask(CountedCompleter<?> parent, int[] offsets, int[] targets, AtomicBitSet visited,
+        TraversalStats.Counters counters, int[] stack, int size) {
+      super(parent);
+      this.offsets = offsets;
+      this.targets = targets;
+      this.visited = visited;
+      this.counters = counters;
+      this.stack = stack;
+      this.size = size;
+    }
+
+    @Override
+    public void compute() {
+      long visitedCount = 0;
+      long edges = 0;
+      long skipped = 0;
+      int maxStackSize = size;
+      while (size > 0) {
+        int current = stack[--size];
+        visitedCount++;
+        int first = offsets[current];
+        int end = offsets[current + 1];
+        edges += end - first;
+        for (int i = first; i < end; i++) {
+          int neighbor = targets[i];
+          if (visited.claim(neighbor)) {
+            if (size == stack.length) {
+              stack = Arrays.copyOf(stack, size * 2);
+            }
+            stack[size++] = neighbor;
+          } else {
+            skipped++;
+          }
+        }
+        maxStackSize = Math.max(maxStackSize, size);
+        if (size > SPLIT_THRESHOLD) {
+          split();
+        }
+      }
+      if (counters != null) {
+        counters.add(visitedCount, edges, skipped, maxStackSize);
+      }
+      tryComplete();
+    }
+
+    private void split() {
+      int half = size / 2;
+      int[] forked = Arrays.copyOfRange(stack, 0, half);
+      System.arraycopy(stack, half, stack, 0, size - half);
+      size -= half;
+      addToPendingCount(1);
+      new CsrTask(this, offsets, targets, visited, counters, forked, half).fork();
+    }
+  }
+
+  /**
+   * A fixed-size bit set whose bits can be claimed concurrently.
+   */
+  static final class AtomicBitSet {
+    private final AtomicLongArray words;
+
+    AtomicBitSet(int bits) {
+      words = new AtomicLongArray((bits + 63) >>> 6);
+    }
+
+    /**
+     * Sets the given bit if it was clear.
+     *
+     * @param bit The bit to claim.
+     * @return true if this call set the bit, false if it was already set.
+     */
+    boolean claim(int bit) {
+      int index = bit >>> 6;
+      long mask = 1L << bit;
+      long word = words.get(index);
+      while ((word & mask) == 0) {
+        long witness = words.compareAndExchange(index, word, word | mask);
+        if (witness == word) {
+          return true;
+        }
+        word = witness;
+      }
+      return false;
+    }
+
+    /**
+     * Returns whether the given bit is set.
+     *
+     * @param bit The bit to test.
+     * @return true if the bit is set.
+     */
+    boolean get(int bit) {
+      return (words.get(bit >>> 6) & (1L << bit)) != 0;
+    }
+
+    BitSet toBitSet() {
+      long[] copy = new long[words.length()];
+      for (int i = 0; i < copy.length; i++) {
+        copy[i] = words.get(i);
+      }
+      return BitSet.valueOf(copy);
+    }
+  }
+}
@@ -0,0 +1,59 @@
+/**
+ * The outcome of one run of a {@link TraversalCursor}: the answer accumulated so far and
+ * whether it is final.
+ *
+ * When the run was truncated by a limit, {@link #cursor()} continues it from where it stopped
+ * without visiting any vertex again.
+ *
+ * @param <R> The type of the answer.
+ */
+public final class PartialResult<R> {
+  private final R value;
+  private final boolean complete;
+  private final TraversalCursor<?, R> cursor;
+
+  PartialResult(R value, boolean complete, TraversalCursor<?, R> cursor) {
+    this.value = value;
+    this.complete = complete;
+    this.cursor = cursor;
+  }
+
+  /**
+   * Returns the answer over every vertex visited so far by the cursor, across all of its runs.
+   * Set-valued answers are live: they keep growing as the cursor is resumed.
+   *
+   * @return The answer so far.
+   */
+  public R value() {
+    return value;
+  }
+
+  /**
+   * Returns whether the answer is final, meaning the traversal ran out of vertices (or the
+   * answer was decided) before any limit was reached.
+   *
+   * @return true if complete, false if truncated.
+   */
+  public boolean isComplete() {
+    return complete;
+  }
+
+  /**
+   * Returns whether a limit stopped the traversal before the answer was final.
+   *
+   * @return true if truncated, false if complete.
+   */
+  public boolean isTruncated() {
+    return !complete;
+  }
+
+  /**
+   * Returns the cursor that produced this result. Calling
+   * {@link TraversalCursor#resume(TraversalLimits)} on it continues the traversal.
+   *
+   * @return The cursor.
+   */
+  public TraversalCursor<?, R> cursor() {
+    return cursor;
+  }
+}
@@ -1,9 +1,37 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.IntBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntPredicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * A utility class providing various graph traversal methods using DFS.
+ *
+ * Every query delegates to the iterative {@link Traversal} engine, so arbitrarily deep graphs
+ * can be processed without overflowing the thread stack.
  */
 public class Practice {
+  private static final int PRINT_BUFFER_SIZE = 64 * 1024;
+
+  /**
+   * The allOdd fold: bitwise and from 1 keeps the result at 1 while every value is odd and drops
+   * it to 0 at the first even value, where {@link #SAW_EVEN} stops the traversal.
+   */
+  private static final IntBinaryOperator AND_LOW_BIT = (acc, x) -> acc & x;
+  private static final IntPredicate SAW_EVEN = acc -> acc == 0;
 
   /**
    * Prints the value of every vertex reachable from the given starting vertex,
@@ -15,9 +43,65 @@ public class Practice {
    *
    * If the given vertex is null, this method prints nothing.
    *
+   * Output is buffered and handed to System.out in large batches rather than one line at a
+   * time; see {@link #printVertexVals(Vertex, Appendable)} to print elsewhere.
+   *
    * @param vertex The starting vertex for the traversal.
    */
   public <T> void printVertexVals(Vertex<T> vertex) {
+    Writer out = new BufferedWriter(new OutputStreamWriter(System.out), PRINT_BUFFER_SIZE);
+    printVertexVals(vertex, out);
+    try {
+      out.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Appends the value of every vertex reachable from the given starting vertex to the given
+   * output, each followed by the platform line separator. The order is unimportant.
+   *
+   * The output is neither flushed nor closed; for large graphs pass a buffered sink such as a
+   * {@link BufferedWriter} or a {@link BufferedChannelSink} and flush it afterwards.
+   *
+   * If the given vertex is null, this method appends nothing.
+   *
+   * @param vertex The starting vertex for the traversal.
+   * @param out The output to append to.
+   * @throws UncheckedIOException if the output cannot be written.
+   */
+  public <T> void printVertexVals(Vertex<T> vertex, Appendable out) {
+    String separator = System.lineSeparator();
+    Traversal.dfs(vertex, v -> {
+      try {
+        out.append(String.valueOf(v.data)).append(separator);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      return true;
+    });
+  }
+
+  /**
+   * Writes the value of every vertex reachable from the given starting vertex to the given
+   * channel, each followed by the platform line separator, batching writes through a buffer of
+   * the given size. The buffer is flushed before returning; the channel is not closed.
+   *
+   * @param vertex The starting vertex for the traversal.
+   * @param channel The channel to write to.
+   * @param bufferSize The number of characters buffered between writes.
+   * @throws UncheckedIOException if the channel cannot be written.
+   * @throws IllegalArgumentException if bufferSize is less than 2.
+   */
+  public <T> void printVertexVals(Vertex<T> vertex, WritableByteChannel channel, int bufferSize) {
+    BufferedChannelSink sink = new BufferedChannelSink(channel, bufferSize, Charset.defaultCharset());
+    printVertexVals(vertex, sink);
+    try {
+      sink.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
   }
 
   /**
@@ -30,7 +114,55 @@ public class Practice {
    * @return A set containing all reachable vertices, or an empty set if vertex is null.
    */
   public <T> Set<Vertex<T>> reachable(Vertex<T> vertex) {
-    return null;
+    return reachable(vertex, VisitedSet::identity);
+  }
+
+  /**
+   * Returns a lazy stream of all vertices reachable from the given starting vertex, including the
+   * starting vertex itself.
+   *
+   * Unlike {@link #reachable(Vertex)}, nothing is materialized up front: vertices are discovered
+   * as the stream consumes them, so operations such as {@code filter(...).findFirst()} or
+   * {@code limit(n)} only traverse as much of the graph as they need.
+   *
+   * If the given vertex is null, an empty stream is returned.
+   *
+   * @param vertex The starting vertex for the traversal.
+   * @return A stream of the reachable vertices in depth-first order.
+   */
+  public <T> Stream<Vertex<T>> stream(Vertex<T> vertex) {
+    return Traversal.stream(vertex);
+  }
+
+  /**
+   * Returns a set of all vertices reachable from the given starting vertex, including the
+   * starting vertex itself, tracking visited vertices with the given strategy.
+   *
+   * The returned set is the visited set the traversal filled in, so no copy is made.
+   *
+   * @param vertex The starting vertex for the traversal.
+   * @param strategy Creates the visited set, for example {@code VisitedSet::identity}.
+   * @return A set containing all reachable vertices, or an empty set if vertex is null.
+   */
+  public <T> Set<Vertex<T>> reachable(Vertex<T> vertex, Supplier<? extends VisitedSet<T>> strategy) {
+    VisitedSet<T> visited = strategy.get();
+    Traversal.dfs(vertex, visited, Traversal.allEdges(), v -> true);
+    return visited;
+  }
+
+  /**
+   * Returns a set of all vertices reachable from the given starting vertex, including the
+   * starting vertex itself, computed in parallel on the given fork-join pool.
+   *
+   * The result contains exactly the same vertices as {@link #reachable(Vertex)}.
+   *
+   * @param vertex The starting vertex for the traversal.
+   * @param pool The pool to run the traversal on.
+   * @return A set containing all reachable vertices, or an empty set if vertex is null.
+   * @see ParallelReachability
+   */
+  public <T> Set<Vertex<T>> reachable(Vertex<T> vertex, ForkJoinPool pool) {
+    return ParallelReachability.reachable(vertex, pool);
   }
 
   /**
@@ -43,12 +175,13 @@ public class Practice {
    * @return The maximum value of any reachable vertex, or Integer.MIN_VALUE if vertex is null.
    */
   public int max(Vertex<Integer> vertex) {
-    return -1;
+    return Folds.foldInt(vertex, Integer::intValue, Integer.MIN_VALUE, Math::max, null);
   }
 
   /**
    * Returns a set of all leaf vertices reachable from the given starting vertex.
-   * A vertex is considered a leaf if it has no outgoing edges (no neighbors).
+   * A vertex is considered a leaf if it has no outgoing edges (no neighbors). Null entries of a
+   * neighbors list are not edges, as in every other graph representation.
    *
    * The starting vertex itself is included in the set if it is a leaf.
    *
@@ -58,7 +191,26 @@ public class Practice {
    * @return A set containing all reachable leaf vertices, or an empty set if vertex is null.
    */
   public <T> Set<Vertex<T>> leaves(Vertex<T> vertex) {
-    return null;
+    return leaves(vertex, VisitedSet::identity);
+  }
+
+  /**
+   * Returns a set of all leaf vertices reachable from the given starting vertex, using the given
+   * strategy both to track visited vertices and to hold the result.
+   *
+   * @param vertex The starting vertex for the traversal.
+   * @param strategy Creates a visited set, for example {@code VisitedSet::identity}.
+   * @return A set containing all reachable leaf vertices, or an empty set if vertex is null.
+   */
+  public <T> Set<Vertex<T>> leaves(Vertex<T> vertex, Supplier<? extends VisitedSet<T>> strategy) {
+    VisitedSet<T> leaves = strategy.get();
+    Traversal.dfs(vertex, strategy.get(), Traversal.allEdges(), v -> {
+      if (v.isLeaf()) {
+        leaves.add(v);
+      }
+      return true;
+    });
+    return leaves;
   }
 
 
@@ -73,7 +225,7 @@ public class Practice {
    * @return true if all reachable vertices hold odd values, false otherwise
    */
   public boolean allOdd(Vertex<Integer> vertex) {
-    return true;
+    return Folds.foldInt(vertex, Integer::intValue, 1, AND_LOW_BIT, SAW_EVEN) == 1;
   }
 
   /**
@@ -91,6 +243,450 @@ public class Practice {
    * @throws NullPointerException if either start or end is null.
    */
   public boolean hasStrictlyIncreasingPath(Vertex<Integer> start, Vertex<Integer> end) {
-    return false;
+    if (start == null || end == null) {
+      throw new NullPointerException("start and end must not be null");
+    }
+
+    // Bounded-value search: no vertex with a value above end's can lie on the path.
+    return Traversal.findFirst(start, Traversal.increasingWithin(Integer::intValue, end.data),
+        v -> v == end) != null;
+  }
+
+  /**
+   * Runs several aggregators over the vertices reachable from the given starting vertex in a
+   * single traversal. Each reachable vertex is handed to every aggregator that still wants more
+   * vertices, and the traversal stops early once none does. Results are read from the
+   * aggregators afterwards.
+   *
+   * For example, max, leaves and allOdd of one root can be computed together with
+   * {@code aggregate(root, List.of(max, leaves, allOdd))} where each is created by
+   * {@link Aggregators}.
+   *
+   * If the given vertex is null, no aggregator sees any vertex.
+   *
+   * @param vertex The starting vertex for the traversal.
+   * @param aggregators The aggregators to feed.
+   */
+  public <T> void aggregate(Vertex<T> vertex, List<? extends Aggregator<T, ?>> aggregators) {
+    int count = aggregators.size();
+    if (count == 0) {
+      return;
+    }
+    Aggregator<?, ?>[] active = aggregators.toArray(new Aggregator<?, ?>[count]);
+    int[] remaining = { count };
+    Traversal.dfs(vertex, v -> {
+      for (int i = 0; i < active.length; i++) {
+        @SuppressWarnings("unchecked")
+        Aggregator<T, ?> aggregator = (Aggregator<T, ?>) active[i];
+        if (aggregator != null && !aggregator.accept(v)) {
+          active[i] = null;
+          remaining[0]--;
+        }
+      }
+      return remaining[0] > 0;
+    });
+  }
+
+  // ---------------------------
+  // Limited queries
+  // ---------------------------
+
+  /**
+   * Returns the vertices reachable from the given starting vertex within the given limits.
+   *
+   * If a limit is reached, the result is truncated and holds the vertices visited so far; its
+   * cursor continues the traversal without visiting any of them again. Vertices are visited in
+   * breadth-first order, so with a depth limit the result is exactly the set of vertices at most
+   * that many edges away.
+   *
+   * If the given vertex is null, the result is complete and empty.
+   *
+   * @param vertex The starting vertex for the traversal.
+   * @param limits The limits for the first run.
+   * @return The reachable vertices found so far and whether the set is complete.
+   */
+  public <T> PartialResult<Set<Vertex<T>>> reachable(Vertex<T> vertex, TraversalLimits limits) {
+    return new TraversalCursor<>(vertex, Aggregators.<T>reachable()).resume(limits);
+  }
+
+  /**
+   * Returns the maximum value among the vertices reachable from the given starting vertex within
+   * the given limits, with the same truncation and resumption rules as
+   * {@link #reachable(Vertex, TraversalLimits)}.
+   *
+   * @param vertex The starting vertex for the traversal.
+   * @param limits The limits for the first run.
+   * @return The maximum value found so far, or Integer.MIN_VALUE if none was visited.
+   */
+  public PartialResult<Integer> max(Vertex<Integer> vertex, TraversalLimits limits) {
+    return new TraversalCursor<>(vertex, Aggregators.max()).resume(limits);
+  }
+
+  /**
+   * Returns the leaves reachable from the given starting vertex within the given limits, with
+   * the same truncation and resumption rules as {@link #reachable(Vertex, TraversalLimits)}.
+   *
+   * @param vertex The starting vertex for the traversal.
+   * @param limits The limits for the first run.
+   * @return The leaves found so far and whether the set is complete.
+   */
+  public <T> PartialResult<Set<Vertex<T>>> leaves(Vertex<T> vertex, TraversalLimits limits) {
+    return new TraversalCursor<>(vertex, Aggregators.<T>leaves()).resume(limits);
+  }
+
+  // ---------------------------
+  // Batch queries
+  // ---------------------------
+
+  /**
+   * Returns the set of vertices reachable from each of the given roots, with the same semantics
+   * as {@link #reachable(Vertex)} for each root.
+   *
+   * The roots are condensed into a {@link Condensation} once and answered 64 at a time by a
+   * single sweep over it, so subgraphs shared between roots are only walked once per batch
+   * instead of once per root.
+   *
+   * @param roots The starting vertices; null entries yield empty sets.
+   * @return The reachable sets, in the same order as roots.
+   */
+  public <T> List<Set<Vertex<T>>> reachableFromEach(List<? extends Vertex<T>> roots) {
+    return Condensation.of(nonNull(roots), null).reachableFromEach(roots);
+  }
+
+  /**
+   * Returns the maximum value reachable from each of the given roots, with the same semantics as
+   * {@link #max(Vertex)} for each root.
+   *
+   * Every strongly connected component's maximum is computed once, after which each root is a
+   * constant-time lookup.
+   *
+   * @param roots The starting vertices; null entries yield Integer.MIN_VALUE.
+   * @return The maximum values, in the same order as roots.
+   * @throws NullPointerException if a reachable vertex holds a null value.
+   */
+  public int[] maxFromEach(List<? extends Vertex<Integer>> roots) {
+    Condensation<Integer> condensation = Condensation.of(nonNull(roots), Integer::intValue);
+    int[] result = new int[roots.size()];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = condensation.max(roots.get(i));
+    }
+    return result;
+  }
+
+  /**
+   * Returns the set of leaves reachable from each of the given roots, with the same semantics as
+   * {@link #leaves(Vertex)} for each root. Work is shared between roots as in
+   * {@link #reachableFromEach(List)}.
+   *
+   * @param roots The starting vertices; null entries yield empty sets.
+   * @return The leaf sets, in the same order as roots.
+   */
+  public <T> List<Set<Vertex<T>>> leavesFromEach(List<? extends Vertex<T>> roots) {
+    return Condensation.of(nonNull(roots), null).leavesFromEach(roots);
+  }
+
+  private static <T> List<Vertex<T>> nonNull(List<? extends Vertex<T>> roots) {
+    List<Vertex<T>> result = new ArrayList<>(roots.size());
+    for (Vertex<T> root : roots) {
+      if (root != null) {
+        result.add(root);
+      }
+    }
+    return result;
+  }
+
+  // ---------------------------
+  // CSR graph overloads
+  // ---------------------------
+
+  /**
+   * Returns the ids of all vertices of a CSR graph reachable from the given starting vertex,
+   * including the starting vertex itself.
+   *
+   * @param graph The graph to traverse.
+   * @param start The id of the starting vertex.
+   * @return A bit set whose set bits are the ids of the reachable vertices.
+   * @throws IndexOutOfBoundsException if start is not a vertex of the graph.
+   */
+  public <T> BitSet reachable(CsrGraph<T> graph, int start) {
+    BitSet visited = new BitSet(graph.vertexCount());
+    Traversal.dfs(graph, start, visited, Traversal.ALL_INT_EDGES, v -> true);
+    return visited;
+  }
+
+  /**
+   * Returns the ids of all vertices of a CSR graph reachable from the given starting vertex,
+   * computed in parallel on the given fork-join pool.
+   *
+   * @param graph The graph to traverse.
+   * @param start The id of the starting vertex.
+   * @param pool The pool to run the traversal on.
+   * @return A bit set whose set bits are the ids of the reachable vertices.
+   * @throws IndexOutOfBoundsException if start is not a vertex of the graph.
+   */
+  public <T> BitSet reachable(CsrGraph<T> graph, int start, ForkJoinPool pool) {
+    return ParallelReachability.reachable(graph, start, pool);
+  }
+
+  /**
+   * Returns the maximum value among all vertices of a CSR graph reachable from the given
+   * starting vertex, including the starting vertex itself.
+   *
+   * @param graph The graph to traverse.
+   * @param start The id of the starting vertex.
+   * @return The maximum value of any reachable vertex.
+   * @throws IndexOutOfBoundsException if start is not a vertex of the graph.
+   */
+  public int max(CsrGraph<Integer> graph, int start) {
+    return Folds.foldInt(graph, start, Integer::intValue, Integer.MIN_VALUE, Math::max, null);
+  }
+
+  /**
+   * Returns the ids of all leaf vertices of a CSR graph reachable from the given starting vertex.
+   * A vertex is considered a leaf if it has no outgoing edges.
+   *
+   * @param graph The graph to traverse.
+   * @param start The id of the starting vertex.
+   * @return A bit set whose set bits are the ids of the reachable leaves.
+   * @throws IndexOutOfBoundsException if start is not a vertex of the graph.
+   */
+  public <T> BitSet leaves(CsrGraph<T> graph, int start) {
+    BitSet leaves = new BitSet(graph.vertexCount());
+    Traversal.dfs(graph, start, new BitSet(graph.vertexCount()), Traversal.ALL_INT_EDGES, v -> {
+      if (graph.degree(v) == 0) {
+        leaves.set(v);
+      }
+      return true;
+    });
+    return leaves;
+  }
+
+  /**
+   * Returns whether all vertices of a CSR graph reachable from the given starting vertex
+   * (including the starting vertex) hold odd values.
+   *
+   * @param graph The graph to traverse.
+   * @param start The id of the starting vertex.
+   * @return true if all reachable vertices hold odd values, false otherwise.
+   * @throws IndexOutOfBoundsException if start is not a vertex of the graph.
+   */
+  public boolean allOdd(CsrGraph<Integer> graph, int start) {
+    return Folds.foldInt(graph, start, Integer::intValue, 1, AND_LOW_BIT, SAW_EVEN) == 1;
+  }
+
+  /**
+   * Determines whether a CSR graph contains a strictly increasing path from the given start
+   * vertex to the target vertex.
+   *
+   * @param graph The graph to traverse.
+   * @param start The id of the starting vertex.
+   * @param end The id of the target vertex.
+   * @return True if a strictly increasing path exists, false otherwise.
+   * @throws IndexOutOfBoundsException if start or end is not a vertex of the graph.
+   */
+  public boolean hasStrictlyIncreasingPath(CsrGraph<Integer> graph, int start, int end) {
+    Objects.checkIndex(end, graph.vertexCount());
+    int bound = graph.value(end);
+    return Traversal.findFirst(graph, start,
+        (from, to) -> graph.value(to) > graph.value(from) && graph.value(to) <= bound,
+        v -> v == end) >= 0;
+  }
+
+  // ---------------------------
+  // Int CSR graph overloads
+  // ---------------------------
+
+  /**
+   * Returns the maximum value among all vertices of an int CSR graph reachable from the given
+   * starting vertex, including the starting vertex itself. Values are read without boxing.
+   *
+   * @param graph The graph to traverse.
+   * @param start The id of the starting vertex.
+   * @return The maximum value of any reachable vertex.
+   * @throws IndexOutOfBoundsException if start is not a vertex of the graph.
+   */
+  public int max(IntCsrGraph graph, int start) {
+    return Folds.foldInt(graph, start, Integer.MIN_VALUE, Math::max, null);
+  }
+
+  /**
+   * Returns whether all vertices of an int CSR graph reachable from the given starting vertex
+   * (including the starting vertex) hold odd values. Values are read without boxing.
+   *
+   * @param graph The graph to traverse.
+   * @param start The id of the starting vertex.
+   * @return true if all reachable vertices hold odd values, false otherwise.
+   * @throws IndexOutOfBoundsException if start is not a vertex of the graph.
+   */
+  public boolean allOdd(IntCsrGraph graph, int start) {
+    return Folds.foldInt(graph, start, 1, AND_LOW_BIT, SAW_EVEN) == 1;
+  }
+
+  /**
+   * Determines whether an int CSR graph contains a strictly increasing path from the given start
+   * vertex to the target vertex. Values are read without boxing.
+   *
+   * @param graph The graph to traverse.
+   * @param start The id of the starting vertex.
+   * @param end The id of the target vertex.
+   * @return True if a strictly increasing path exists, false otherwise.
+   * @throws IndexOutOfBoundsException if start or end is not a vertex of the graph.
+   */
+  public boolean hasStrictlyIncreasingPath(IntCsrGraph graph, int start, int end) {
+    Objects.checkIndex(end, graph.vertexCount());
+    int bound = graph.values[end];
+    return Traversal.findFirst(graph, start, Traversal.increasingWithin(graph.values, bound),
+        v -> v == end) >= 0;
+  }
+
+  // ---------------------------
+  // Memory-mapped graph overloads
+  // ---------------------------
+
+  /**
+   * Returns the ids of all vertices of a memory-mapped graph reachable from the given starting
+   * vertex, including the starting vertex itself. The graph is read in place.
+   *
+   * @param graph The graph to traverse.
+   * @param start The id of the starting vertex.
+   * @return A bit set whose set bits are the ids of the reachable vertices.
+   * @throws IndexOutOfBoundsException if start is not a vertex of the graph.
+   */
+  public BitSet reachable(MappedGraph graph, int start) {
+    BitSet visited = new BitSet(graph.vertexCount());
+    Traversal.dfs(graph, start, visited, Traversal.ALL_INT_EDGES, v -> true);
+    return visited;
+  }
+
+  /**
+   * Returns the maximum value among all vertices of a memory-mapped graph reachable from the
+   * given starting vertex, including the starting vertex itself. The graph is read in place.
+   *
+   * @param graph The graph to traverse.
+   * @param start The id of the starting vertex.
+   * @return The maximum value of any reachable vertex.
+   * @throws IndexOutOfBoundsException if start is not a vertex of the graph.
+   */
+  public int max(MappedGraph graph, int start) {
+    return Folds.foldInt(graph, start, Integer.MIN_VALUE, Math::max, null);
+  }
+
+  /**
+   * Returns the ids of all leaf vertices of a memory-mapped graph reachable from the given
+   * starting vertex. The graph is read in place.
+   *
+   * @param graph The graph to traverse.
+   * @param start The id of the starting vertex.
+   * @return A bit set whose set bits are the ids of the reachable leaves.
+   * @throws IndexOutOfBoundsException if start is not a vertex of the graph.
+   */
+  public BitSet leaves(MappedGraph graph, int start) {
+    IntBuffer offsets = graph.offsets;
+    BitSet leaves = new BitSet(graph.vertexCount());
+    Traversal.dfs(graph, start, new BitSet(graph.vertexCount()), Traversal.ALL_INT_EDGES, v -> {
+      if (offsets.get(v) == offsets.get(v + 1)) {
+        leaves.set(v);
+      }
+      return true;
+    });
+    return leaves;
+  }
+
+  /**
+   * Returns whether all vertices of a memory-mapped graph reachable from the given starting
+   * vertex (including the starting vertex) hold odd values. The graph is read in place.
+   *
+   * @param graph The graph to traverse.
+   * @param start The id of the starting vertex.
+   * @return true if all reachable vertices hold odd values, false otherwise.
+   * @throws IndexOutOfBoundsException if start is not a vertex of the graph.
+   */
+  public boolean allOdd(MappedGraph graph, int start) {
+    return Folds.foldInt(graph, start, 1, AND_LOW_BIT, SAW_EVEN) == 1;
+  }
+
+  /**
+   * Determines whether a memory-mapped graph contains a strictly increasing path from the given
+   * start vertex to the target vertex. The graph is read in place.
+   *
+   * @param graph The graph to traverse.
+   * @param start The id of the starting vertex.
+   * @param end The id of the target vertex.
+   * @return True if a strictly increasing path exists, false otherwise.
+   * @throws IndexOutOfBoundsException if start or end is not a vertex of the graph.
+   */
+  public boolean hasStrictlyIncreasingPath(MappedGraph graph, int start, int end) {
+    IntBuffer values = graph.values;
+    int bound = graph.value(end);
+    return !Traversal.dfs(graph, start, new BitSet(graph.vertexCount()),
+        (from, to) -> values.get(to) > values.get(from) && values.get(to) <= bound,
+        v -> v != end);
+  }
+
+  // ---------------------------
+  // Snapshot overloads
+  // ---------------------------
+
+  /**
+   * Returns the ids of all vertices of a graph snapshot reachable from the given starting vertex,
+   * including the starting vertex itself. Safe to call while the graph is being updated.
+   *
+   * @param graph The snapshot to traverse.
+   * @param start The id of the starting vertex.
+   * @return A bit set whose set bits are the ids of the reachable vertices.
+   * @throws IndexOutOfBoundsException if start is not a vertex of the snapshot.
+   */
+  public <T> BitSet reachable(GraphSnapshot<T> graph, int start) {
+    BitSet visited = new BitSet(graph.vertexCount());
+    Traversal.dfs(graph, start, visited, Traversal.ALL_INT_EDGES, v -> true);
+    return visited;
+  }
+
+  /**
+   * Returns the maximum value among all vertices of a graph snapshot reachable from the given
+   * starting vertex, including the starting vertex itself. Safe to call while the graph is being
+   * updated.
+   *
+   * @param graph The snapshot to traverse.
+   * @param start The id of the starting vertex.
+   * @return The maximum value of any reachable vertex.
+   * @throws IndexOutOfBoundsException if start is not a vertex of the snapshot.
+   */
+  public int max(GraphSnapshot<Integer> graph, int start) {
+    return Folds.foldInt(graph, start, Integer::intValue, Integer.MIN_VALUE, Math::max, null);
+  }
+
+  /**
+   * Returns the ids of all leaf vertices of a graph snapshot reachable from the given starting
+   * vertex. Safe to call while the graph is being updated.
+   *
+   * @param graph The snapshot to traverse.
+   * @param start The id of the starting vertex.
+   * @return A bit set whose set bits are the ids of the reachable leaves.
+   * @throws IndexOutOfBoundsException if start is not a vertex of the snapshot.
+   */
+  public <T> BitSet leaves(GraphSnapshot<T> graph, int start) {
+    BitSet leaves = new BitSet(graph.vertexCount());
+    Traversal.dfs(graph, start, new BitSet(graph.vertexCount()), Traversal.ALL_INT_EDGES, v -> {
+      if (graph.degree(v) == 0) {
+        leaves.set(v);
+      }
+      return true;
+    });
+    return leaves;
+  }
+
+  /**
+   * Returns whether all vertices of a graph snapshot reachable from the given starting vertex
+   * (including the starting vertex) hold odd values. Safe to call while the graph is being
+   * updated.
+   *
+   * @param graph The snapshot to traverse.
+   * @param start The id of the starting vertex.
+   * @return true if all reachable vertices hold odd values, false otherwise.
+   * @throws IndexOutOfBoundsException if start is not a vertex of the snapshot.
+   */
+  public boolean allOdd(GraphSnapshot<Integer> graph, int start) {
+    return Folds.foldInt(graph, start, Integer::intValue, 1, AND_LOW_BIT, SAW_EVEN) == 1;
   }
 }
@@ -1,13 +1,28 @@
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.OutputStream;
 import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
 
 /**
  * JUnit test suite for the Practice class.
@@ -146,6 +161,60 @@ public class PracticeTest {
     assertEquals(expected, printed, "printVertexVals for a single node should print '42'");
   }
 
+  @Test
+  public void testPrintVertexValsToAppendable_OutputCorrect() {
+    Practice practice = new Practice();
+    GraphData graph = buildComplexGraph();
+    StringBuilder out = new StringBuilder();
+
+    practice.printVertexVals(graph.v3, out);
+
+    Set<String> printed = new HashSet<>(Arrays.asList(out.toString().split(System.lineSeparator())));
+    Set<String> expected = new HashSet<>(Arrays.asList("3", "7", "34", "12", "45", "56", "78", "91", "23"));
+    assertEquals(expected, printed, "printVertexVals to an Appendable did not append the expected values");
+  }
+
+  @Test
+  public void testPrintVertexValsToChannel_SmallBufferOutputCorrect() {
+    Practice practice = new Practice();
+    GraphData graph = buildComplexGraph();
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+
+    // A tiny buffer forces many intermediate writes.
+    practice.printVertexVals(graph.v3, Channels.newChannel(baos), 3);
+
+    Set<String> printed = new HashSet<>(Arrays.asList(baos.toString().split(System.lineSeparator())));
+    Set<String> expected = new HashSet<>(Arrays.asList("3", "7", "34", "12", "45", "56", "78", "91", "23"));
+    assertEquals(expected, printed, "printVertexVals to a channel did not write the expected values");
+  }
+
+  @Test
+  public void testBufferedChannelSink_SurrogatePairsWithTinyBuffer() throws IOException {
+    String text = "a\uD83D\uDE00b\uD83D\uDE01\uD83D\uDE02";
+    for (int bufferSize = 2; bufferSize <= 4; bufferSize++) {
+      ByteArrayOutputStream baos = new ByteArrayOutputStream();
+      BufferedChannelSink sink = new BufferedChannelSink(Channels.newChannel(baos), bufferSize,
+          StandardCharsets.UTF_8);
+      sink.append(text);
+      sink.flush();
+      sink.append('c');
+      sink.flush();
+      assertEquals(text + "c", baos.toString(StandardCharsets.UTF_8), "bufferSize " + bufferSize);
+    }
+  }
+
+  @Test
+  public void testBufferedChannelSink_FlushWritesDanglingSurrogate() throws IOException {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    BufferedChannelSink sink = new BufferedChannelSink(Channels.newChannel(baos), 2,
+        StandardCharsets.UTF_8);
+    sink.append("x\uD83D");
+    sink.flush();
+    assertEquals("x?", baos.toString(StandardCharsets.UTF_8));
+    assertThrows(IllegalArgumentException.class,
+        () -> new BufferedChannelSink(Channels.newChannel(baos), 1, StandardCharsets.UTF_8));
+  }
+
   // ---------------------------
   // Tests for reachable
   // ---------------------------
@@ -172,6 +241,58 @@ public class PracticeTest {
     assertTrue(result.isEmpty(), "reachable(null) should return an empty set");
   }
 
+  @Test
+  public void testReachableDenseStrategy_ReturnsCorrectVertices() {
+    Practice practice = new Practice();
+    GraphData graph = buildComplexGraph();
+
+    // Values are distinct and non-negative, so they can serve as dense indexes.
+    Set<Vertex<Integer>> result = practice.reachable(graph.v3, () -> VisitedSet.dense(v -> v.data));
+    Set<Integer> actualData = new HashSet<>();
+    for (Vertex<Integer> v : result) {
+      actualData.add(v.data);
+    }
+    assertEquals(new HashSet<>(Arrays.asList(3, 7, 34, 12, 45, 56, 78, 91, 23)), actualData);
+    assertTrue(result.contains(graph.v91));
+    assertFalse(result.contains(graph.v67));
+  }
+
+  // ---------------------------
+  // Tests for stream
+  // ---------------------------
+
+  @Test
+  public void testStreamComplexGraph_MatchesReachable() {
+    Practice practice = new Practice();
+    GraphData graph = buildComplexGraph();
+
+    Set<Integer> streamed = practice.stream(graph.v3).map(v -> v.data).collect(Collectors.toSet());
+    assertEquals(new HashSet<>(Arrays.asList(3, 7, 34, 12, 45, 56, 78, 91, 23)), streamed);
+    assertEquals(0, practice.stream((Vertex<Integer>) null).count(), "stream(null) should be empty");
+  }
+
+  @Test
+  public void testStream_IsLazy() {
+    Practice practice = new Practice();
+    Vertex<Integer> root = new Vertex<>(0);
+    Vertex<Integer> tail = root;
+    for (int i = 1; i < 4; i++) {
+      Vertex<Integer> next = new Vertex<>(i);
+      tail.neighbors.add(next);
+      tail = next;
+    }
+    // Expanding the fourth vertex would throw, so the stream must stop before reaching it.
+    tail.neighbors = new ArrayList<>() {
+      @Override
+      public java.util.Iterator<Vertex<Integer>> iterator() {
+        throw new AssertionError("the fourth vertex should never be expanded");
+      }
+    };
+
+    assertEquals(3, practice.stream(root).limit(3).count());
+    assertTrue(practice.stream(root).anyMatch(v -> v.data == 2));
+  }
+
   // ---------------------------
   // Tests for max
   // ---------------------------
@@ -220,6 +341,30 @@ public class PracticeTest {
     assertEquals(42, leaves.iterator().next().data, "The leaf of a single node graph should be 42");
   }
 
+  @Test
+  public void testLeaves_NullNeighborEntriesAreNotEdges() {
+    Practice practice = new Practice();
+    Vertex<Integer> root = new Vertex<>(1);
+    Vertex<Integer> nullOnly = new Vertex<>(2);
+    nullOnly.neighbors.add(null);
+    Vertex<Integer> empty = new Vertex<>(3);
+    root.neighbors = new ArrayList<>(Arrays.asList(nullOnly, null, empty));
+
+    Set<Vertex<Integer>> leaves = practice.leaves(root);
+    assertEquals(2, leaves.size());
+    assertTrue(leaves.contains(nullOnly), "a vertex with only null neighbors is a leaf");
+    assertTrue(leaves.contains(empty));
+
+    Map<Vertex<Integer>, Integer> ids = new IdentityHashMap<>();
+    CsrGraph<Integer> csr = CsrGraph.from(root, ids);
+    BitSet expected = new BitSet();
+    expected.set(ids.get(nullOnly));
+    expected.set(ids.get(empty));
+    assertEquals(expected, practice.leaves(csr, 0));
+    assertEquals(leaves, new LeafIndex<>(root).leaves(root));
+    assertEquals(leaves, Condensation.of(root).leavesFromEach(List.of(root)).get(0));
+  }
+
   @Test
   public void testLeaves_NullInputReturnsEmptySet() {
     Practice practice = new Practice();
@@ -445,6 +590,310 @@ public class PracticeTest {
         "There should be no strictly increasing path from 10 to 5");
   }
 
+  // ---------------------------
+  // Tests for aggregate
+  // ---------------------------
+
+  @Test
+  public void testAggregateComplexGraph_MatchesIndividualQueries() {
+    Practice practice = new Practice();
+    GraphData graph = buildComplexGraph();
+    Aggregator<Integer, Integer> max = Aggregators.max();
+    Aggregator<Integer, Set<Vertex<Integer>>> leaves = Aggregators.leaves();
+    Aggregator<Integer, Boolean> allOdd = Aggregators.allOdd();
+    Aggregator<Integer, Set<Vertex<Integer>>> reachable = Aggregators.reachable();
+
+    practice.aggregate(graph.v3, Arrays.asList(max, leaves, allOdd, reachable));
+
+    assertEquals(practice.max(graph.v3), max.result());
+    assertEquals(practice.leaves(graph.v3), leaves.result());
+    assertEquals(practice.allOdd(graph.v3), allOdd.result());
+    assertEquals(practice.reachable(graph.v3), reachable.result());
+  }
+
+  @Test
+  public void testAggregate_StopsWhenAllAggregatorsAreDone() {
+    Practice practice = new Practice();
+    GraphData graph = buildComplexGraph();
+    int[] seen = { 0 };
+    Aggregator<Integer, Boolean> allOdd = Aggregators.allOdd();
+    Aggregator<Integer, Integer> counter = new Aggregator<Integer, Integer>() {
+      @Override
+      public boolean accept(Vertex<Integer> vertex) {
+        seen[0]++;
+        return seen[0] < 2;
+      }
+
+      @Override
+      public Integer result() {
+        return seen[0];
+      }
+    };
+
+    practice.aggregate(graph.v3, Arrays.asList(allOdd, counter));
+
+    assertEquals(2, counter.result(), "the traversal should stop once every aggregator is done");
+    assertFalse(allOdd.result());
+  }
+
+  @Test
+  public void testAggregate_NullInputLeavesDefaults() {
+    Practice practice = new Practice();
+    Aggregator<Integer, Integer> max = Aggregators.max();
+    Aggregator<Integer, Boolean> allOdd = Aggregators.allOdd();
+    practice.aggregate(null, Arrays.asList(max, allOdd));
+    assertEquals(Integer.MIN_VALUE, max.result());
+    assertTrue(allOdd.result());
+  }
+
+  // ---------------------------
+  // Tests for batch queries
+  // ---------------------------
+
+  @Test
+  public void testBatch_MatchesPerRootQueries() {
+    Practice practice = new Practice();
+    GraphData graph = buildComplexGraph();
+    List<Vertex<Integer>> roots = Arrays.asList(graph.v3, graph.v7, null, graph.v12, graph.v34,
+        graph.v56, graph.v78, graph.v91, graph.v45, graph.v23, graph.v3);
+
+    List<Set<Vertex<Integer>>> reachable = practice.reachableFromEach(roots);
+    List<Set<Vertex<Integer>>> leaves = practice.leavesFromEach(roots);
+    int[] max = practice.maxFromEach(roots);
+    assertEquals(roots.size(), reachable.size());
+    for (int i = 0; i < roots.size(); i++) {
+      Vertex<Integer> root = roots.get(i);
+      assertEquals(practice.reachable(root), reachable.get(i), "reachable from root " + i);
+      assertEquals(practice.leaves(root), leaves.get(i), "leaves from root " + i);
+      assertEquals(practice.max(root), max[i], "max from root " + i);
+    }
+  }
+
+  @Test
+  public void testBatch_MoreThanOneWordOfRoots() {
+    Practice practice = new Practice();
+    Random random = new Random(TestGraphs.SEED);
+    List<Vertex<Integer>> vertices = new ArrayList<>();
+    for (int i = 0; i < 200; i++) {
+      vertices.add(new Vertex<>(random.nextInt(1000)));
+    }
+    for (int i = 0; i < 300; i++) {
+      vertices.get(random.nextInt(200)).neighbors.add(vertices.get(random.nextInt(200)));
+    }
+
+    List<Set<Vertex<Integer>>> reachable = practice.reachableFromEach(vertices);
+    List<Set<Vertex<Integer>>> leaves = practice.leavesFromEach(vertices);
+    int[] max = practice.maxFromEach(vertices);
+    for (int i = 0; i < vertices.size(); i++) {
+      Vertex<Integer> root = vertices.get(i);
+      assertEquals(practice.reachable(root), reachable.get(i), "reachable from root " + i);
+      assertEquals(practice.leaves(root), leaves.get(i), "leaves from root " + i);
+      assertEquals(practice.max(root), max[i], "max from root " + i);
+    }
+  }
+
+  // ---------------------------
+  // Tests for CSR graph overloads
+  // ---------------------------
+
+  /**
+   * Collects the values of the vertices whose ids are set in the given bit set.
+   */
+  private Set<Integer> csrValues(CsrGraph<Integer> csr, BitSet ids) {
+    Set<Integer> values = new HashSet<>();
+    for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+      values.add(csr.value(id));
+    }
+    return values;
+  }
+
+  @Test
+  public void testCsrFromComplexGraph_PreservesStructure() {
+    GraphData graph = buildComplexGraph();
+    Map<Vertex<Integer>, Integer> ids = new IdentityHashMap<>();
+    CsrGraph<Integer> csr = CsrGraph.from(graph.v3, ids);
+
+    assertEquals(9, csr.vertexCount(), "v67 is not reachable from v3 and should not be converted");
+    assertEquals(15, csr.edgeCount(), "every edge of a reachable vertex should be converted");
+    assertEquals(0, ids.get(graph.v3), "the root should be assigned id 0");
+    assertEquals(2, csr.degree(ids.get(graph.v34)));
+    assertEquals(ids.get(graph.v34), csr.neighbor(ids.get(graph.v34), 0), "self-loop on v34 should be preserved");
+  }
+
+  @Test
+  public void testCsrQueries_MatchVertexQueries() {
+    Practice practice = new Practice();
+    GraphData graph = buildComplexGraph();
+    Map<Vertex<Integer>, Integer> ids = new IdentityHashMap<>();
+    CsrGraph<Integer> csr = CsrGraph.from(graph.v3, ids);
+
+    assertEquals(new HashSet<>(Arrays.asList(3, 7, 34, 12, 45, 56, 78, 91, 23)),
+        csrValues(csr, practice.reachable(csr, 0)));
+    assertEquals(new HashSet<>(Arrays.asList(23)), csrValues(csr, practice.leaves(csr, 0)));
+    assertEquals(91, practice.max(csr, 0));
+    assertTrue(practice.allOdd(csr, ids.get(graph.v45)));
+    assertFalse(practice.allOdd(csr, 0));
+    assertTrue(practice.hasStrictlyIncreasingPath(csr, 0, ids.get(graph.v91)));
+    assertFalse(practice.hasStrictlyIncreasingPath(csr, ids.get(graph.v12), ids.get(graph.v7)));
+    assertFalse(practice.hasStrictlyIncreasingPath(csr, ids.get(graph.v45), ids.get(graph.v56)));
+  }
+
+  @Test
+  public void testIntCsrQueries_MatchVertexQueries() {
+    Practice practice = new Practice();
+    GraphData graph = buildComplexGraph();
+    Map<Vertex<Integer>, Integer> ids = new IdentityHashMap<>();
+    IntCsrGraph csr = IntCsrGraph.from(graph.v3, ids);
+
+    assertEquals(91, practice.max(csr, 0));
+    assertEquals(23, practice.max(csr, ids.get(graph.v23)));
+    assertTrue(practice.allOdd(csr, ids.get(graph.v45)));
+    assertFalse(practice.allOdd(csr, 0));
+    assertTrue(practice.hasStrictlyIncreasingPath(csr, 0, ids.get(graph.v91)));
+    assertTrue(practice.hasStrictlyIncreasingPath(csr, 0, 0));
+    assertFalse(practice.hasStrictlyIncreasingPath(csr, ids.get(graph.v12), ids.get(graph.v7)));
+  }
+
+  // ---------------------------
+  // Tests for parallel reachable
+  // ---------------------------
+
+  /**
+   * Builds a hub with the given number of children, each child pointing to a shared sink,
+   * and every tenth child pointing back to the hub.
+   */
+  private Vertex<Integer> buildWideGraph(int width) {
+    Vertex<Integer> hub = new Vertex<>(-1);
+    Vertex<Integer> sink = new Vertex<>(-2);
+    for (int i = 0; i < width; i++) {
+      Vertex<Integer> child = new Vertex<>(i);
+      child.neighbors.add(sink);
+      if (i % 10 == 0) {
+        child.neighbors.add(hub);
+      }
+      hub.neighbors.add(child);
+    }
+    return hub;
+  }
+
+  @Test
+  public void testParallelReachable_MatchesSequential() {
+    Practice practice = new Practice();
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      GraphData graph = buildComplexGraph();
+      assertEquals(practice.reachable(graph.v3), practice.reachable(graph.v3, pool));
+      assertTrue(practice.reachable((Vertex<Integer>) null, pool).isEmpty());
+
+      Vertex<Integer> hub = buildWideGraph(10_000);
+      assertEquals(practice.reachable(hub), practice.reachable(hub, pool));
+
+      CsrGraph<Integer> csr = CsrGraph.from(hub);
+      assertEquals(practice.reachable(csr, 0), practice.reachable(csr, 0, pool));
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  // ---------------------------
+  // Tests for memory-mapped graph overloads
+  // ---------------------------
+
+  @Test
+  public void testMappedGraph_RoundTripQueriesMatchVertexQueries(@TempDir Path dir) throws IOException {
+    Practice practice = new Practice();
+    GraphData graph = buildComplexGraph();
+    Map<Vertex<Integer>, Integer> ids = new IdentityHashMap<>();
+    IntCsrGraph csr = IntCsrGraph.from(graph.v3, ids);
+    Path file = dir.resolve("complex.graph");
+    MappedGraph.write(csr, file);
+
+    MappedGraph mapped = MappedGraph.open(file);
+    assertEquals(csr.vertexCount(), mapped.vertexCount());
+    assertEquals(csr.edgeCount(), mapped.edgeCount());
+    assertEquals(91, practice.max(mapped, 0));
+    assertEquals(9, practice.reachable(mapped, 0).cardinality());
+    BitSet leaves = practice.leaves(mapped, 0);
+    assertEquals(1, leaves.cardinality());
+    assertEquals(23, mapped.value(leaves.nextSetBit(0)));
+    assertTrue(practice.allOdd(mapped, ids.get(graph.v45)));
+    assertFalse(practice.allOdd(mapped, 0));
+    assertTrue(practice.hasStrictlyIncreasingPath(mapped, 0, ids.get(graph.v91)));
+    assertFalse(practice.hasStrictlyIncreasingPath(mapped, ids.get(graph.v12), ids.get(graph.v7)));
+  }
+
+  @Test
+  public void testMappedGraph_RejectsForeignFile(@TempDir Path dir) throws IOException {
+    Path file = dir.resolve("not-a-graph");
+    Files.write(file, new byte[64]);
+    assertThrows(IOException.class, () -> MappedGraph.open(file));
+  }
+
+  @Test
+  public void testMappedGraph_RejectsCorruptOffsetsAndTargets(@TempDir Path dir)
+      throws IOException {
+    IntCsrGraph csr = IntCsrGraph.from(buildComplexGraph().v3);
+    int n = csr.vertexCount();
+    Path valid = dir.resolve("valid.graph");
+    MappedGraph.write(csr, valid);
+    byte[] bytes = Files.readAllBytes(valid);
+
+    // A target one past the last vertex id.
+    Path badTarget = dir.resolve("bad-target.graph");
+    Files.write(badTarget, withInt(bytes, MappedGraph.HEADER_BYTES + 4 * (n + 1), n));
+    IOException e = assertThrows(IOException.class, () -> MappedGraph.open(badTarget));
+    assertTrue(e.getMessage().contains("bad target"), e.getMessage());
+
+    // An offset that decreases.
+    Path badOffset = dir.resolve("bad-offset.graph");
+    Files.write(badOffset, withInt(bytes, MappedGraph.HEADER_BYTES + 4 * 2, 0));
+    e = assertThrows(IOException.class, () -> MappedGraph.open(badOffset));
+    assertTrue(e.getMessage().contains("bad offset"), e.getMessage());
+
+    // Offsets that stop short of the edge count.
+    Path shortOffsets = dir.resolve("short-offsets.graph");
+    Files.write(shortOffsets, withInt(bytes, MappedGraph.HEADER_BYTES + 4 * n, csr.edgeCount() - 1));
+    assertThrows(IOException.class, () -> MappedGraph.open(shortOffsets));
+
+    // Skipping validation trusts the file.
+    assertEquals(n, MappedGraph.open(badTarget, false).vertexCount());
+  }
+
+  private static byte[] withInt(byte[] bytes, int byteOffset, int value) {
+    byte[] copy = bytes.clone();
+    ByteBuffer.wrap(copy).order(ByteOrder.LITTLE_ENDIAN).putInt(byteOffset, value);
+    return copy;
+  }
+
+  // ---------------------------
+  // Additional tests: Deep graphs
+  // ---------------------------
+
+  /**
+   * Builds a chain 0 -> 1 -> ... -> (length - 1) and returns its head.
+   */
+  private Vertex<Integer> buildChain(int length) {
+    Vertex<Integer> head = new Vertex<>(0);
+    Vertex<Integer> current = head;
+    for (int i = 1; i < length; i++) {
+      Vertex<Integer> next = new Vertex<>(i);
+      current.neighbors.add(next);
+      current = next;
+    }
+    return head;
+  }
+
+  @Test
+  public void testDeepChain_DoesNotOverflowStack() {
+    Practice practice = new Practice();
+    Vertex<Integer> head = buildChain(1_000_000);
+
+    assertEquals(1_000_000, practice.reachable(head).size(), "every vertex in the chain should be reachable");
+    assertEquals(999_999, practice.max(head), "max of the chain should be its last value");
+    assertEquals(1, practice.leaves(head).size(), "a chain has exactly one leaf");
+    assertFalse(practice.allOdd(head), "the chain contains even values");
+  }
+
   // ====================================================
   // TeeOutputStream inner class for capturing output
   // ====================================================
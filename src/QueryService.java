@@ -0,0 +1,482 @@
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs reachable, max and strictly-increasing-path queries concurrently against one read-only
+ * {@link Vertex} graph.
+ *
+ * The graph reachable from the root is converted into an {@link IntCsrGraph} snapshot once; all
+ * queries then read only that snapshot, so any number of them may run at the same time. Each
+ * query runs on its own virtual thread when the JDK provides them and on a fixed pool of
+ * platform threads otherwise.
+ *
+ * Queries borrow their visited state from a pool of epoch-stamped arrays: a vertex counts as
+ * visited when its stamp equals the current epoch, so clearing the array between queries is a
+ * single increment. The borrowed slot also holds the query's running result, and the traversal
+ * callbacks read it from there, so a query allocates no traversal state of its own. At most
+ * {@code maxInFlight} queries run at once; submitting another blocks the caller until one
+ * finishes. Only a query holding one of those permits borrows a slot, so at most
+ * {@code maxInFlight} slots are ever created.
+ *
+ * Every worker thread is a daemon, so a service that is never closed does not keep the JVM
+ * alive; {@link #close()} should still be called to wait for the queries in flight.
+ *
+ * Vertices that are not reachable from the root are answered by {@link Practice} directly.
+ */
+public final class QueryService implements AutoCloseable {
+  private final Vertex<Integer>[] vertices;
+  private final Map<Vertex<Integer>, Integer> ids;
+  private final IntCsrGraph graph;
+  private final Traversal.IntAdjacency adjacency;
+  private final ExecutorService executor;
+  private final Semaphore permits;
+  private final AtomicReferenceArray<EpochVisited> visitedPool;
+  private final AtomicInteger slotsCreated = new AtomicInteger();
+  private final Practice fallback = new Practice();
+
+  private final long startNanos = System.nanoTime();
+  private final LongAdder completed = new LongAdder();
+  private final LongAdder failed = new LongAdder();
+  private final LongAdder totalLatencyNanos = new LongAdder();
+  private final LongAccumulator maxLatencyNanos = new LongAccumulator(Math::max, 0);
+  /** Bucket k counts latencies in [2^(k-1), 2^k) nanoseconds. */
+  private final AtomicLongArray latencyBuckets = new AtomicLongArray(Long.SIZE + 1);
+
+  /**
+   * Creates a service over every vertex reachable from the given root.
+   *
+   * @param root The root of the graph to serve.
+   * @param maxInFlight The maximum number of queries running at once.
+   * @throws NullPointerException if root is null or a reachable vertex holds a null value.
+   * @throws IllegalArgumentException if maxInFlight is not positive.
+   */
+  public QueryService(Vertex<Integer> root, int maxInFlight) {
+    this(root, maxInFlight, newExecutor());
+  }
+
+  @SuppressWarnings("unchecked")
+  QueryService(Vertex<Integer> root, int maxInFlight, ExecutorService executor) {
+    if (maxInFlight <= 0) {
+      throw new IllegalArgumentException("maxInFlight must be positive: " + maxInFlight);
+    }
+    ids = new IdentityHashMap<>();
+    graph = IntCsrGraph.from(root, ids);
+    adjacency = new Traversal.CsrAdjacency(graph.offsets, graph.targets);
+    vertices = (Vertex<Integer>[]) new Vertex<?>[graph.vertexCount()];
+    for (Map.Entry<Vertex<Integer>, Integer> entry : ids.entrySet()) {
+      vertices[entry.getValue()] = entry.getKey();
+    }
+    permits = new Semaphore(maxInFlight);
+    visitedPool = new AtomicReferenceArray<>(maxInFlight);
+    this.executor = executor;
+  }
+
+  /**
+   * Returns a virtual-thread-per-task executor if the running JDK has one, or
+   * {@link #newPlatformExecutor()} otherwise.
+   */
+  private static ExecutorService newExecutor() {
+    try {
+      Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+      return (ExecutorService) factory.invoke(null);
+    } catch (ReflectiveOperationException e) {
+      return newPlatformExecutor();
+    }
+  }
+
+  /**
+   * Returns a fixed pool with one daemon platform thread per processor.
+   */
+  static ExecutorService newPlatformExecutor() {
+    ThreadFactory threads = Executors.defaultThreadFactory();
+    return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), task -> {
+      Thread thread = threads.newThread(task);
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Visited state reused across queries. A vertex is visited when its stamp equals the epoch.
+   * The slot also holds the running state of the query that borrowed it, and the traversal
+   * callbacks that read and update that state are created once per slot, not per query.
+   */
+  private static final class EpochVisited implements Traversal.IntMarks {
+    final int[] stamps;
+    /** Every vertex is pushed at most once, so the stack never needs to grow. */
+    final int[] stack;
+    int epoch;
+    VisitedSet<Integer> result;
+    int max;
+    int bound;
+    int target;
+
+    final Traversal.IntVisitor collect;
+    final Traversal.IntVisitor maximum;
+    final Traversal.IntEdgeFilter increasing;
+    final Traversal.IntVisitor untilTarget;
+
+    EpochVisited(int[] values, Vertex<Integer>[] vertices) {
+      stamps = new int[values.length];
+      stack = new int[Math.max(1, values.length)];
+      collect = v -> {
+        result.add(vertices[v]);
+        return true;
+      };
+      maximum = v -> {
+        max = Math.max(max, values[v]);
+        return true;
+      };
+      increasing = (from, to) -> values[to] > values[from] && values[to] <= bound;
+      untilTarget = v -> v != target;
+    }
+
+    @Override
+    public boolean mark(int vertex) {
+      if (stamps[vertex] == epoch) {
+        return false;
+      }
+      stamps[vertex] = epoch;
+      return true;
+    }
+
+    void reset() {
+      if (++epoch == 0) {
+        Arrays.fill(stamps, 0);
+        epoch = 1;
+      }
+    }
+  }
+
+  /**
+   * Asynchronously computes {@link Practice#reachable(Vertex)}.
+   *
+   * @param start The starting vertex, or null for an empty set.
+   * @return A future for the set of reachable vertices.
+   * @throws RejectedExecutionException if the service has been closed.
+   */
+  public CompletableFuture<Set<Vertex<Integer>>> reachable(Vertex<Integer> start) {
+    return submit(() -> {
+      Integer s = start == null ? null : ids.get(start);
+      if (s == null) {
+        return fallback.reachable(start);
+      }
+      EpochVisited slot = borrow();
+      try {
+        slot.result = VisitedSet.identity();
+        traverse(slot, s, Traversal.ALL_INT_EDGES, slot.collect);
+        return slot.result;
+      } finally {
+        slot.result = null;
+        release(slot);
+      }
+    });
+  }
+
+  /**
+   * Asynchronously computes {@link Practice#max(Vertex)}.
+   *
+   * @param start The starting vertex, or null.
+   * @return A future for the maximum reachable value.
+   * @throws RejectedExecutionException if the service has been closed.
+   */
+  public CompletableFuture<Integer> max(Vertex<Integer> start) {
+    return submit(() -> {
+      Integer s = start == null ? null : ids.get(start);
+      if (s == null) {
+        return fallback.max(start);
+      }
+      return maxFrom(s);
+    });
+  }
+
+  /**
+   * Returns the maximum value reachable from the given vertex of the snapshot, on the calling
+   * thread. Like a submitted query it holds a permit while it runs, blocking until one is free.
+   *
+   * @param start The id of the starting vertex.
+   * @return The maximum reachable value.
+   */
+  int max(int start) {
+    permits.acquireUninterruptibly();
+    try {
+      return maxFrom(start);
+    } finally {
+      permits.release();
+    }
+  }
+
+  private int maxFrom(int start) {
+    EpochVisited slot = borrow();
+    try {
+      slot.max = Integer.MIN_VALUE;
+      traverse(slot, start, Traversal.ALL_INT_EDGES, slot.maximum);
+      return slot.max;
+    } finally {
+      release(slot);
+    }
+  }
+
+  /**
+   * Asynchronously computes {@link Practice#hasStrictlyIncreasingPath(Vertex, Vertex)}.
+   *
+   * @param start The starting vertex.
+   * @param end The target vertex.
+   * @return A future for whether a strictly increasing path exists. It completes exceptionally
+   *     with a NullPointerException if either start or end is null.
+   * @throws RejectedExecutionException if the service has been closed.
+   */
+  public CompletableFuture<Boolean> hasStrictlyIncreasingPath(Vertex<Integer> start,
+      Vertex<Integer> end) {
+    return submit(() -> {
+      Integer s = start == null ? null : ids.get(start);
+      if (s == null) {
+        return fallback.hasStrictlyIncreasingPath(start, end);
+      }
+      Integer e = end == null ? null : ids.get(end);
+      if (e == null) {
+        // Anything reachable from a vertex of the snapshot is itself in the snapshot.
+        Objects.requireNonNull(end, "start and end must not be null");
+        return false;
+      }
+      EpochVisited slot = borrow();
+      try {
+        slot.bound = graph.values[e];
+        slot.target = e;
+        return !traverse(slot, s, slot.increasing, slot.untilTarget);
+      } finally {
+        release(slot);
+      }
+    });
+  }
+
+  private <R> CompletableFuture<R> submit(Query<R> query) {
+    try {
+      permits.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return CompletableFuture.failedFuture(e);
+    }
+    long submitted = System.nanoTime();
+    CompletableFuture<R> future = new CompletableFuture<>();
+    try {
+      executor.execute(() -> {
+        try {
+          R result = query.run();
+          record(submitted);
+          future.complete(result);
+        } catch (RuntimeException | Error e) {
+          failed.increment();
+          future.completeExceptionally(e);
+        } finally {
+          permits.release();
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      permits.release();
+      throw e;
+    }
+    return future;
+  }
+
+  @FunctionalInterface
+  private interface Query<R> {
+    R run();
+  }
+
+  /**
+   * Takes a slot from the pool, creating one while fewer than {@code maxInFlight} exist. The
+   * caller must hold a permit: a slot is returned before its holder's permit is released, so a
+   * permit holder always finds one free, at worst after a release that is still in progress.
+   */
+  private EpochVisited borrow() {
+    while (true) {
+      for (int i = 0; i < visitedPool.length(); i++) {
+        EpochVisited slot = visitedPool.get(i);
+        if (slot != null && visitedPool.compareAndSet(i, slot, null)) {
+          return slot;
+        }
+      }
+      int created = slotsCreated.get();
+      if (created < visitedPool.length()) {
+        if (slotsCreated.compareAndSet(created, created + 1)) {
+          return new EpochVisited(graph.values, vertices);
+        }
+      } else {
+        Thread.onSpinWait();
+      }
+    }
+  }
+
+  /**
+   * Returns a slot to the pool, which always has room because no more slots exist than cells.
+   */
+  private void release(EpochVisited slot) {
+    for (int i = 0; i < visitedPool.length(); i++) {
+      if (visitedPool.get(i) == null && visitedPool.compareAndSet(i, null, slot)) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Runs an iterative DFS over the snapshot with the visited state and stack of the given slot.
+   *
+   * @return true if the traversal ran to completion, false if the visitor stopped it early.
+   */
+  private boolean traverse(EpochVisited slot, int start, Traversal.IntEdgeFilter filter,
+      Traversal.IntVisitor visitor) {
+    slot.reset();
+    return Traversal.dfs(adjacency, "query", start, slot, slot.stack, filter, visitor);
+  }
+
+  private void record(long submitted) {
+    long latency = System.nanoTime() - submitted;
+    completed.increment();
+    totalLatencyNanos.add(latency);
+    maxLatencyNanos.accumulate(latency);
+    latencyBuckets.incrementAndGet(Long.SIZE - Long.numberOfLeadingZeros(latency));
+  }
+
+  /**
+   * Returns a snapshot of the service's throughput and latency metrics.
+   *
+   * @return The current metrics.
+   */
+  public Metrics metrics() {
+    long[] buckets = new long[latencyBuckets.length()];
+    for (int i = 0; i < buckets.length; i++) {
+      buckets[i] = latencyBuckets.get(i);
+    }
+    return new Metrics(completed.sum(), failed.sum(), System.nanoTime() - startNanos,
+        totalLatencyNanos.sum(), maxLatencyNanos.get(), buckets);
+  }
+
+  /**
+   * Throughput and latency of the queries completed so far. Latency is measured from the moment
+   * a query is admitted until its result is ready.
+   */
+  public static final class Metrics {
+    private final long completed;
+    private final long failed;
+    private final long elapsedNanos;
+    private final long totalLatencyNanos;
+    private final long maxLatencyNanos;
+    private final long[] buckets;
+
+    Metrics(long completed, long failed, long elapsedNanos, long totalLatencyNanos,
+        long maxLatencyNanos, long[] buckets) {
+      this.completed = completed;
+      this.failed = failed;
+      this.elapsedNanos = elapsedNanos;
+      this.totalLatencyNanos = totalLatencyNanos;
+      this.maxLatencyNanos = maxLatencyNanos;
+      this.buckets = buckets;
+    }
+
+    /**
+     * Returns the number of queries that completed successfully.
+     *
+     * @return The completed query count.
+     */
+    public long completed() {
+      return completed;
+    }
+
+    /**
+     * Returns the number of queries that completed with an exception.
+     *
+     * @return The failed query count.
+     */
+    public long failed() {
+      return failed;
+    }
+
+    /**
+     * Returns the average number of successful queries per second since the service started.
+     *
+     * @return The throughput in queries per second.
+     */
+    public double queriesPerSecond() {
+      return elapsedNanos == 0 ? 0 : completed * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Returns the mean latency of successful queries.
+     *
+     * @return The mean latency in nanoseconds, or 0 if none completed.
+     */
+    public long meanLatencyNanos() {
+      return completed == 0 ? 0 : totalLatencyNanos / completed;
+    }
+
+    /**
+     * Returns the highest latency of any successful query.
+     *
+     * @return The maximum latency in nanoseconds.
+     */
+    public long maxLatencyNanos() {
+      return maxLatencyNanos;
+    }
+
+    /**
+     * Returns an upper bound on the given latency percentile, accurate to a factor of two.
+     *
+     * @param percentile The percentile, from 0 to 100.
+     * @return The latency in nanoseconds below which at least that share of queries completed.
+     */
+    public long latencyPercentileNanos(double percentile) {
+      if (percentile < 0 || percentile > 100) {
+        throw new IllegalArgumentException("percentile must be between 0 and 100: " + percentile);
+      }
+      long rank = (long) Math.ceil(completed * percentile / 100);
+      long seen = 0;
+      for (int k = 0; k < buckets.length; k++) {
+        seen += buckets[k];
+        if (seen >= rank && seen > 0) {
+          return Math.min(k == Long.SIZE ? Long.MAX_VALUE : 1L << k, maxLatencyNanos);
+        }
+      }
+      return 0;
+    }
+
+    @Override
+    public String toString() {
+      return String.format("%d ok, %d failed, %.0f q/s, mean %d ns, p99 <= %d ns, max %d ns",
+          completed, failed, queriesPerSecond(), meanLatencyNanos(), latencyPercentileNanos(99),
+          maxLatencyNanos);
+    }
+  }
+
+  /**
+   * Stops accepting queries and waits for the running ones to finish.
+   */
+  @Override
+  public void close() {
+    executor.shutdown();
+    try {
+      while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+        // Keep waiting; every admitted query always terminates.
+      }
+    } catch (InterruptedException e) {
+      executor.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
+  }
+}
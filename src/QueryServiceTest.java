@@ -0,0 +1,144 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * JUnit test suite for the QueryService class.
+ */
+public class QueryServiceTest {
+
+  @Test
+  public void testConcurrentQueries_MatchPractice() {
+    Practice practice = new Practice();
+    List<Vertex<Integer>> vertices = TestGraphs.randomGraph(new Random(TestGraphs.SEED), 300, 300);
+    try (QueryService service = new QueryService(vertices.get(0), 8)) {
+      List<CompletableFuture<Set<Vertex<Integer>>>> reachable = new ArrayList<>();
+      List<CompletableFuture<Integer>> max = new ArrayList<>();
+      List<CompletableFuture<Boolean>> increasing = new ArrayList<>();
+      for (int i = 0; i < vertices.size(); i++) {
+        Vertex<Integer> v = vertices.get(i);
+        reachable.add(service.reachable(v));
+        max.add(service.max(v));
+        increasing.add(service.hasStrictlyIncreasingPath(v, vertices.get(i * 7 % vertices.size())));
+      }
+      for (int i = 0; i < vertices.size(); i++) {
+        Vertex<Integer> v = vertices.get(i);
+        assertEquals(practice.reachable(v), reachable.get(i).join(), "reachable from " + i);
+        assertEquals(practice.max(v), max.get(i).join(), "max from " + i);
+        assertEquals(practice.hasStrictlyIncreasingPath(v, vertices.get(i * 7 % vertices.size())),
+            increasing.get(i).join(), "increasing path from " + i);
+      }
+      QueryService.Metrics metrics = service.metrics();
+      assertEquals(3L * vertices.size(), metrics.completed());
+      assertEquals(0, metrics.failed());
+      assertTrue(metrics.latencyPercentileNanos(50) <= metrics.latencyPercentileNanos(99));
+      assertTrue(metrics.latencyPercentileNanos(99) <= metrics.maxLatencyNanos());
+    }
+  }
+
+  @Test
+  public void testVerticesOutsideSnapshot_AndNulls() {
+    Practice practice = new Practice();
+    Vertex<Integer> root = new Vertex<>(1);
+    Vertex<Integer> child = new Vertex<>(5);
+    Vertex<Integer> outside = new Vertex<>(3);
+    root.neighbors.add(child);
+    outside.neighbors.add(child);
+    try (QueryService service = new QueryService(root, 1)) {
+      assertEquals(practice.reachable(outside), service.reachable(outside).join());
+      assertEquals(5, service.max(outside).join());
+      assertTrue(service.hasStrictlyIncreasingPath(outside, child).join());
+      assertFalse(service.hasStrictlyIncreasingPath(child, outside).join());
+      assertTrue(service.reachable(null).join().isEmpty());
+      assertEquals(Integer.MIN_VALUE, service.max(null).join());
+      CompletableFuture<Boolean> invalid = service.hasStrictlyIncreasingPath(root, null);
+      assertThrows(NullPointerException.class, () -> {
+        try {
+          invalid.join();
+        } catch (RuntimeException e) {
+          throw e.getCause();
+        }
+      });
+      assertEquals(1, service.metrics().failed());
+    }
+  }
+
+  @Test
+  public void testClosedService_RejectsQueries() {
+    QueryService service = new QueryService(new Vertex<>(1), 2);
+    service.close();
+    assertThrows(RejectedExecutionException.class, () -> service.max(null));
+    assertThrows(IllegalArgumentException.class, () -> new QueryService(new Vertex<>(1), 0));
+  }
+
+  @Test
+  public void testMaxQuery_AllocatesNothingPerQuery() {
+    com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    assumeTrue(threads.isThreadAllocatedMemorySupported());
+    threads.setThreadAllocatedMemoryEnabled(true);
+    List<Vertex<Integer>> vertices = TestGraphs.randomGraph(new Random(TestGraphs.SEED), 2_000, 2_000);
+    QueryService service = new QueryService(vertices.get(0), 2);
+    try {
+      int expected = new Practice().max(vertices.get(0));
+      for (int i = 0; i < 20_000; i++) {
+        assertEquals(expected, service.max(0));
+      }
+
+      long before = threads.getCurrentThreadAllocatedBytes();
+      int result = 0;
+      for (int i = 0; i < 1_000; i++) {
+        result = Math.max(result, service.max(0));
+      }
+      long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+      assertEquals(expected, result);
+      assertTrue(allocated < 1_000, "allocated " + allocated + " bytes in 1000 queries");
+    } finally {
+      service.close();
+    }
+  }
+
+  @Test
+  public void testDirectAndSubmittedMax_ShareOnePermit() throws Exception {
+    List<Vertex<Integer>> vertices = TestGraphs.randomGraph(new Random(TestGraphs.SEED), 300, 300);
+    int expected = new Practice().max(vertices.get(0));
+    try (QueryService service = new QueryService(vertices.get(0), 1)) {
+      ExecutorService callers = QueryService.newPlatformExecutor();
+      List<Future<Integer>> direct = new ArrayList<>();
+      List<CompletableFuture<Integer>> submitted = new ArrayList<>();
+      for (int i = 0; i < 200; i++) {
+        direct.add(callers.submit(() -> service.max(0)));
+        submitted.add(service.max(vertices.get(0)));
+      }
+      for (int i = 0; i < 200; i++) {
+        assertEquals(expected, direct.get(i).get());
+        assertEquals(expected, submitted.get(i).join());
+      }
+      callers.shutdown();
+    }
+  }
+
+  @Test
+  public void testPlatformExecutor_UsesDaemonThreads() throws Exception {
+    ExecutorService executor = QueryService.newPlatformExecutor();
+    assertTrue(executor.submit(() -> Thread.currentThread().isDaemon()).get());
+
+    List<Vertex<Integer>> vertices = TestGraphs.randomGraph(new Random(TestGraphs.SEED), 200, 200);
+    QueryService service = new QueryService(vertices.get(0), 2, executor);
+    Practice practice = new Practice();
+    assertEquals(practice.max(vertices.get(5)), service.max(vertices.get(5)).join());
+    assertEquals(practice.reachable(vertices.get(5)), service.reachable(vertices.get(5)).join());
+    service.close();
+    assertTrue(executor.isTerminated());
+  }
+}
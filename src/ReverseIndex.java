@@ -0,0 +1,206 @@
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A reverse-adjacency index over every vertex reachable from a root, supporting bidirectional
+ * strictly-increasing-path search.
+ *
+ * The index stores the graph in CSR form twice: once along the neighbors lists and once with
+ * every edge reversed, so the predecessors of any vertex are available in O(1).
+ * {@link #hasStrictlyIncreasingPath(Vertex, Vertex)} then searches from both ends at once: a
+ * forward frontier grows from start along edges to larger values, a backward frontier grows from
+ * end along reversed edges to smaller values, and the search stops as soon as the two meet. Each
+ * step expands whichever frontier is smaller, so a target with a small increasing ancestry is
+ * found after exploring little more than that ancestry, however wide the graph around start.
+ *
+ * The index is a snapshot of the graph at build time; build a new one after the graph changes.
+ */
+public final class ReverseIndex {
+  private final Map<Vertex<Integer>, Integer> ids;
+  private final Vertex<Integer>[] vertices;
+  private final int[] values;
+  private final int[] offsets;
+  private final int[] targets;
+  private final int[] reverseOffsets;
+  private final int[] reverseTargets;
+
+  /**
+   * Builds the index over every vertex reachable from the given root.
+   *
+   * @param root The root vertex of the indexed graph.
+   * @throws NullPointerException if root is null or a reachable vertex holds a null value.
+   */
+  @SuppressWarnings("unchecked")
+  public ReverseIndex(Vertex<Integer> root) {
+    Objects.requireNonNull(root, "root must not be null");
+    ids = new IdentityHashMap<>();
+    IntCsrGraph graph = IntCsrGraph.from(root, ids);
+    int n = graph.vertexCount();
+    vertices = (Vertex<Integer>[]) new Vertex<?>[n];
+    for (Map.Entry<Vertex<Integer>, Integer> entry : ids.entrySet()) {
+      vertices[entry.getValue()] = entry.getKey();
+    }
+    values = graph.values;
+    offsets = graph.offsets;
+    targets = graph.targets;
+
+    reverseOffsets = new int[n + 1];
+    for (int target : targets) {
+      reverseOffsets[target + 1]++;
+    }
+    for (int v = 0; v < n; v++) {
+      reverseOffsets[v + 1] += reverseOffsets[v];
+    }
+    reverseTargets = new int[targets.length];
+    int[] fill = Arrays.copyOf(reverseOffsets, n);
+    for (int u = 0; u < n; u++) {
+      for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+        reverseTargets[fill[targets[i]]++] = u;
+      }
+    }
+  }
+
+  /**
+   * Returns the vertices with an edge to the given vertex, once per edge.
+   *
+   * @param vertex A vertex reachable from the root.
+   * @return A read-only list of the predecessors.
+   * @throws IllegalArgumentException if the vertex is not part of the index.
+   */
+  public List<Vertex<Integer>> predecessors(Vertex<Integer> vertex) {
+    Integer id = ids.get(vertex);
+    if (id == null) {
+      throw new IllegalArgumentException("vertex is not part of the index");
+    }
+    int from = reverseOffsets[id];
+    int size = reverseOffsets[id + 1] - from;
+    return new AbstractList<Vertex<Integer>>() {
+      @Override
+      public Vertex<Integer> get(int i) {
+        return vertices[reverseTargets[from + Objects.checkIndex(i, size)]];
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+    };
+  }
+
+  /**
+   * Determines whether there exists a strictly increasing path from the given start vertex to
+   * the target vertex, with the same semantics as
+   * {@link Practice#hasStrictlyIncreasingPath(Vertex, Vertex)}, using bidirectional search.
+   *
+   * @param start The starting vertex.
+   * @param end The target vertex.
+   * @return True if a strictly increasing path exists, false otherwise.
+   * @throws NullPointerException if either start or end is null.
+   */
+  public boolean hasStrictlyIncreasingPath(Vertex<Integer> start, Vertex<Integer> end) {
+    if (start == null || end == null) {
+      throw new NullPointerException("start and end must not be null");
+    }
+    if (start == end) {
+      return true;
+    }
+    Integer s = ids.get(start);
+    if (s == null) {
+      return new Practice().hasStrictlyIncreasingPath(start, end);
+    }
+    Integer e = ids.get(end);
+    if (e == null) {
+      // Anything reachable from an indexed vertex is itself indexed.
+      return false;
+    }
+    return search(s, e);
+  }
+
+  private boolean search(int s, int e) {
+    int low = values[s];
+    int high = values[e];
+    if (high <= low) {
+      return false;
+    }
+
+    int n = values.length;
+    BitSet forwardSeen = new BitSet(n);
+    BitSet backwardSeen = new BitSet(n);
+    Frontier forward = new Frontier(s);
+    Frontier backward = new Frontier(e);
+    forwardSeen.set(s);
+    backwardSeen.set(e);
+
+    while (forward.size > 0 && backward.size > 0) {
+      if (forward.size <= backward.size) {
+        // Forward edges must climb and stay at or below end's value.
+        for (int k = 0; k < forward.size; k++) {
+          int u = forward.current[k];
+          for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+            int w = targets[i];
+            if (values[w] > values[u] && values[w] <= high && !forwardSeen.get(w)) {
+              if (backwardSeen.get(w)) {
+                return true;
+              }
+              forwardSeen.set(w);
+              forward.add(w);
+            }
+          }
+        }
+        forward.advance();
+      } else {
+        // Reversed edges must descend and stay at or above start's value.
+        for (int k = 0; k < backward.size; k++) {
+          int u = backward.current[k];
+          for (int i = reverseOffsets[u]; i < reverseOffsets[u + 1]; i++) {
+            int w = reverseTargets[i];
+            if (values[w] < values[u] && values[w] >= low && !backwardSeen.get(w)) {
+              if (forwardSeen.get(w)) {
+                return true;
+              }
+              backwardSeen.set(w);
+              backward.add(w);
+            }
+          }
+        }
+        backward.advance();
+      }
+    }
+    return false;
+  }
+
+  /**
+   * One breadth-first level of a search and the level being collected after it.
+   */
+  private static final class Frontier {
+    int[] current;
+    int size;
+    int[] next = new int[16];
+    int nextSize;
+
+    Frontier(int start) {
+      current = new int[] { start };
+      size = 1;
+    }
+
+    void add(int v) {
+      if (nextSize == next.length) {
+        next = Arrays.copyOf(next, nextSize * 2);
+      }
+      next[nextSize++] = v;
+    }
+
+    void advance() {
+      int[] swap = current;
+      current = next;
+      size = nextSize;
+      next = swap.length >= 16 ? swap : new int[16];
+      nextSize = 0;
+    }
+  }
+}
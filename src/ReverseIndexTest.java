@@ -0,0 +1,68 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * JUnit test suite for the ReverseIndex class.
+ */
+public class ReverseIndexTest {
+
+  @Test
+  public void testPredecessors_ListEveryIncomingEdge() {
+    Vertex<Integer> a = new Vertex<>(1);
+    Vertex<Integer> b = new Vertex<>(2);
+    Vertex<Integer> c = new Vertex<>(3);
+    a.neighbors = new ArrayList<>(Arrays.asList(b, c, c));
+    b.neighbors = new ArrayList<>(Arrays.asList(c, a));
+
+    ReverseIndex index = new ReverseIndex(a);
+    assertEquals(Arrays.asList(a, a, b), index.predecessors(c));
+    assertEquals(Arrays.asList(b), index.predecessors(a));
+    assertThrows(IllegalArgumentException.class, () -> index.predecessors(new Vertex<>(4)));
+  }
+
+  @Test
+  public void testRandomGraphs_MatchPractice() {
+    Practice practice = new Practice();
+    Random random = new Random(TestGraphs.SEED);
+    for (int round = 0; round < 20; round++) {
+      List<Vertex<Integer>> vertices = TestGraphs.randomGraph(random, 60, 120);
+
+      ReverseIndex index = new ReverseIndex(vertices.get(0));
+      for (Vertex<Integer> start : vertices) {
+        for (Vertex<Integer> end : vertices) {
+          assertEquals(practice.hasStrictlyIncreasingPath(start, end),
+              index.hasStrictlyIncreasingPath(start, end),
+              "round " + round + ": " + start.data + " -> " + end.data);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testWideGraph_FindsNarrowAncestry() {
+    // The root fans out to many increasing vertices; only one of them leads to the target.
+    Vertex<Integer> root = new Vertex<>(0);
+    Vertex<Integer> target = new Vertex<>(1_000_000);
+    for (int i = 1; i <= 100_000; i++) {
+      Vertex<Integer> spoke = new Vertex<>(i);
+      root.neighbors.add(spoke);
+      if (i == 77_777) {
+        spoke.neighbors.add(target);
+      }
+    }
+    Vertex<Integer> outside = new Vertex<>(-1);
+    outside.neighbors.add(root);
+
+    ReverseIndex index = new ReverseIndex(root);
+    assertTrue(index.hasStrictlyIncreasingPath(root, target));
+    assertFalse(index.hasStrictlyIncreasingPath(target, root));
+    assertTrue(index.hasStrictlyIncreasingPath(outside, target), "unindexed start falls back");
+    assertFalse(index.hasStrictlyIncreasingPath(root, outside), "unindexed end is unreachable");
+    assertThrows(NullPointerException.class, () -> index.hasStrictlyIncreasingPath(null, root));
+  }
+}
@@ -0,0 +1,41 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Random graph fixtures shared by the test suites.
+ */
+final class TestGraphs {
+
+  /**
+   * Seed of the random graphs; every suite uses the same one so failures reproduce.
+   */
+  static final long SEED = 0x5EED;
+
+  private TestGraphs() {
+  }
+
+  /**
+   * Builds a random graph in which every vertex is reachable from the first one: a random tree
+   * rooted at vertex 0 plus the given number of random extra edges, which may form cycles,
+   * self-loops and parallel edges. Values are drawn from -1000 to 1000.
+   *
+   * @param random The source of randomness.
+   * @param n The number of vertices, at least 1.
+   * @param extraEdges The number of edges added on top of the tree.
+   * @return The vertices; the first is the root.
+   */
+  static List<Vertex<Integer>> randomGraph(Random random, int n, int extraEdges) {
+    List<Vertex<Integer>> vertices = new ArrayList<>();
+    for (int i = 0; i < n; i++) {
+      vertices.add(new Vertex<>(random.nextInt(2001) - 1000));
+    }
+    for (int i = 1; i < n; i++) {
+      vertices.get(random.nextInt(i)).neighbors.add(vertices.get(i));
+    }
+    for (int i = 0; i < extraEdges; i++) {
+      vertices.get(random.nextInt(n)).neighbors.add(vertices.get(random.nextInt(n)));
+    }
+    return vertices;
+  }
+}
@@ -0,0 +1,620 @@
+import java.nio.IntBuffer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterators;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterative depth-first traversal engine shared by the Practice queries.
+ *
+ * The traversal keeps its own explicit stack on the heap instead of recursing, so the depth
+ * of the graph is bounded by available memory rather than by the thread stack. Each vertex is
+ * marked visited when it is pushed, which means it is pushed at most once and the stack never
+ * holds more entries than there are reachable vertices.
+ *
+ * The same traversal is also available over {@link CsrGraph}, {@link IntCsrGraph} and
+ * {@link MappedGraph}, where vertices are dense int ids,
+ * the stack is a primitive int array and visited vertices are tracked in a {@link BitSet}.
+ *
+ * Besides exhaustive traversal, the engine offers two search modes that let a query stop doing
+ * work as soon as its answer is known:
+ * <ul>
+ *   <li>predicate-terminated search ({@link #findFirst}, {@link #anyMatch}) stops at the first
+ *       vertex matching a predicate;</li>
+ *   <li>bounded-value search ({@link #increasingWithin}) only follows edges whose key strictly
+ *       increases and does not exceed a bound, pruning every branch that can no longer lead to a
+ *       vertex with the bounded key.</li>
+ * </ul>
+ * In both modes a vertex is expanded at most once per search, so a branch that has already been
+ * explored without success is never explored again.
+ *
+ * Every traversal of this engine is instrumented through {@link TraversalStats}, as are the other
+ * traversal loops of the library: {@link DfsSpliterator}, {@link TraversalCursor},
+ * {@link ParallelReachability}, the parallel folds of {@link Folds}, {@link QueryService} and the
+ * batched sweeps of {@link Condensation}. Lookups in a prebuilt index, such as
+ * {@link Condensation#max} or {@link LeafIndex}, do not traverse and are not recorded.
+ */
+public final class Traversal {
+
+  private Traversal() {
+  }
+
+  /**
+   * Callback invoked once for every vertex the traversal visits.
+   *
+   * @param <T> The type of data stored in the vertices.
+   */
+  @FunctionalInterface
+  public interface Visitor<T> {
+
+    /**
+     * Visits a single vertex.
+     *
+     * @param vertex The vertex being visited, never null.
+     * @return true to continue the traversal, false to stop it immediately.
+     */
+    boolean visit(Vertex<T> vertex);
+  }
+
+  /**
+   * Decides whether the traversal may follow an edge.
+   *
+   * @param <T> The type of data stored in the vertices.
+   */
+  @FunctionalInterface
+  public interface EdgeFilter<T> {
+
+    /**
+     * Decides whether the edge from one vertex to another should be followed.
+     *
+     * @param from The vertex the edge starts at.
+     * @param to The vertex the edge points to.
+     * @return true if the traversal should follow the edge, false to skip it.
+     */
+    boolean follow(Vertex<T> from, Vertex<T> to);
+  }
+
+  /**
+   * Callback invoked once for every vertex id the traversal visits.
+   */
+  @FunctionalInterface
+  public interface IntVisitor {
+
+    /**
+     * Visits a single vertex.
+     *
+     * @param vertex The id of the vertex being visited.
+     * @return true to continue the traversal, false to stop it immediately.
+     */
+    boolean visit(int vertex);
+  }
+
+  /**
+   * Decides whether the traversal may follow an edge between two vertex ids.
+   */
+  @FunctionalInterface
+  public interface IntEdgeFilter {
+
+    /**
+     * Decides whether the edge from one vertex to another should be followed.
+     *
+     * @param from The id of the vertex the edge starts at.
+     * @param to The id of the vertex the edge points to.
+     * @return true if the traversal should follow the edge, false to skip it.
+     */
+    boolean follow(int from, int to);
+  }
+
+  /**
+   * An int edge filter that follows every edge.
+   */
+  public static final IntEdgeFilter ALL_INT_EDGES = (from, to) -> true;
+
+  /**
+   * Returns an edge filter that follows every edge.
+   *
+   * @param <T> The type of data stored in the vertices.
+   * @return A filter accepting every edge.
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> EdgeFilter<T> allEdges() {
+    return (EdgeFilter<T>) ALL_EDGES;
+  }
+
+  private static final EdgeFilter<Object> ALL_EDGES = (from, to) -> true;
+
+  /**
+   * Returns an edge filter for bounded-value search: it follows an edge only if the key of the
+   * target is strictly greater than the key of the source and no greater than the bound.
+   *
+   * @param key Extracts an int key from a vertex value.
+   * @param bound The largest key the search may reach.
+   * @param <T> The type of data stored in the vertices.
+   * @return A filter accepting only strictly increasing edges within the bound.
+   */
+  public static <T> EdgeFilter<T> increasingWithin(ToIntFunction<? super T> key, int bound) {
+    return (from, to) -> {
+      int toKey = key.applyAsInt(to.data);
+      return toKey > key.applyAsInt(from.data) && toKey <= bound;
+    };
+  }
+
+  /**
+   * Returns an int edge filter for bounded-value search over per-vertex int values: it follows an
+   * edge only if the value of the target is strictly greater than the value of the source and no
+   * greater than the bound.
+   *
+   * @param values The value of each vertex, indexed by vertex id.
+   * @param bound The largest value the search may reach.
+   * @return A filter accepting only strictly increasing edges within the bound.
+   */
+  public static IntEdgeFilter increasingWithin(int[] values, int bound) {
+    return (from, to) -> values[to] > values[from] && values[to] <= bound;
+  }
+
+  /**
+   * Returns a new, empty visited set that compares vertices by identity.
+   *
+   * @param <T> The type of data stored in the vertices.
+   * @return An empty identity-based set of vertices.
+   * @see VisitedSet#identity()
+   */
+  public static <T> VisitedSet<T> newVisitedSet() {
+    return VisitedSet.identity();
+  }
+
+  /**
+   * Visits every vertex reachable from the given start vertex, including the start vertex itself.
+   *
+   * @param start The starting vertex, or null for an empty traversal.
+   * @param visitor The callback invoked for each visited vertex.
+   * @return true if the traversal ran to completion, false if the visitor stopped it early.
+   */
+  public static <T> boolean dfs(Vertex<T> start, Visitor<T> visitor) {
+    return dfs(start, newVisitedSet(), allEdges(), visitor);
+  }
+
+  /**
+   * Visits every vertex reachable from the given start vertex through edges accepted by the
+   * filter, including the start vertex itself.
+   *
+   * Vertices already contained in the visited set are neither visited nor expanded, so a caller
+   * may pre-seed the set to exclude parts of the graph. When the traversal returns, the set
+   * contains every vertex that was visited.
+   *
+   * @param start The starting vertex, or null for an empty traversal.
+   * @param visited The set used to record visited vertices.
+   * @param filter Decides which edges are followed.
+   * @param visitor The callback invoked for each visited vertex.
+   * @return true if the traversal ran to completion, false if the visitor stopped it early.
+   */
+  public static <T> boolean dfs(Vertex<T> start, Set<Vertex<T>> visited, EdgeFilter<T> filter,
+      Visitor<T> visitor) {
+    if (start == null || !visited.add(start)) {
+      return true;
+    }
+    TraversalStats.Probe probe = TraversalStats.start("vertex");
+    long visitedCount = 0;
+    long edges = 0;
+    long skipped = 0;
+    int maxStackSize = 1;
+    boolean completed = true;
+
+    ArrayDeque<Vertex<T>> stack = new ArrayDeque<>();
+    stack.push(start);
+    while (!stack.isEmpty()) {
+      Vertex<T> current = stack.pop();
+      visitedCount++;
+      if (!visitor.visit(current)) {
+        completed = false;
+        break;
+      }
+
+      List<Vertex<T>> neighbors = current.neighbors;
+      if (neighbors == null) {
+        continue;
+      }
+      for (Vertex<T> neighbor : neighbors) {
+        if (neighbor == null) {
+          continue;
+        }
+        edges++;
+        if (filter.follow(current, neighbor)) {
+          if (visited.add(neighbor)) {
+            stack.push(neighbor);
+          } else {
+            skipped++;
+          }
+        }
+      }
+      maxStackSize = Math.max(maxStackSize, stack.size());
+    }
+    if (probe != null) {
+      probe.finish(visitedCount, edges, skipped, maxStackSize, completed);
+    }
+    return completed;
+  }
+
+  /**
+   * Returns a lazy iterator over the vertices reachable from the given start vertex, including
+   * the start vertex itself. Each vertex is discovered only when the iterator reaches it.
+   *
+   * @param start The starting vertex, or null for an empty iterator.
+   * @return An iterator over the reachable vertices in depth-first order.
+   */
+  public static <T> Iterator<Vertex<T>> iterator(Vertex<T> start) {
+    return Spliterators.iterator(new DfsSpliterator<>(start));
+  }
+
+  /**
+   * Returns a lazy, sequential stream of the vertices reachable from the given start vertex,
+   * including the start vertex itself. Short-circuiting operations such as {@code limit},
+   * {@code anyMatch} and {@code findFirst} stop the traversal as soon as they are satisfied.
+   *
+   * @param start The starting vertex, or null for an empty stream.
+   * @return A stream of the reachable vertices in depth-first order.
+   */
+  public static <T> Stream<Vertex<T>> stream(Vertex<T> start) {
+    return StreamSupport.stream(new DfsSpliterator<>(start), false);
+  }
+
+  /**
+   * Searches the vertices reachable from the given start vertex through edges accepted by the
+   * filter and returns the first one matching the predicate. The search stops at that vertex.
+   *
+   * @param start The starting vertex, or null for an empty search.
+   * @param filter Decides which edges are followed.
+   * @param target The predicate identifying the vertex being searched for.
+   * @return The first matching vertex, or null if no reachable vertex matches.
+   */
+  public static <T> Vertex<T> findFirst(Vertex<T> start, EdgeFilter<T> filter,
+      Predicate<? super Vertex<T>> target) {
+    Object[] found = new Object[1];
+    dfs(start, newVisitedSet(), filter, v -> {
+      if (target.test(v)) {
+        found[0] = v;
+        return false;
+      }
+      return true;
+    });
+    @SuppressWarnings("unchecked")
+    Vertex<T> result = (Vertex<T>) found[0];
+    return result;
+  }
+
+  /**
+   * Returns whether any vertex reachable from the given start vertex, including the start vertex
+   * itself, matches the predicate. The search stops at the first match.
+   *
+   * @param start The starting vertex, or null for an empty search.
+   * @param predicate The predicate to test.
+   * @return true if a reachable vertex matches, false otherwise.
+   */
+  public static <T> boolean anyMatch(Vertex<T> start, Predicate<? super Vertex<T>> predicate) {
+    return !dfs(start, newVisitedSet(), allEdges(), v -> !predicate.test(v));
+  }
+
+  /**
+   * Searches the vertices of a CSR graph reachable from the given start vertex through edges
+   * accepted by the filter and returns the first one matching the predicate.
+   *
+   * @param graph The graph to search.
+   * @param start The id of the starting vertex.
+   * @param filter Decides which edges are followed.
+   * @param target The predicate identifying the vertex id being searched for.
+   * @return The id of the first matching vertex, or -1 if no reachable vertex matches.
+   * @throws IndexOutOfBoundsException if start is not a vertex of the graph.
+   */
+  public static int findFirst(CsrGraph<?> graph, int start, IntEdgeFilter filter,
+      IntPredicate target) {
+    Objects.checkIndex(start, graph.vertexCount());
+    return findFirst(graph.offsets, graph.targets, start, filter, target);
+  }
+
+  /**
+   * Searches the vertices of an int CSR graph reachable from the given start vertex through edges
+   * accepted by the filter and returns the first one matching the predicate.
+   *
+   * @param graph The graph to search.
+   * @param start The id of the starting vertex.
+   * @param filter Decides which edges are followed.
+   * @param target The predicate identifying the vertex id being searched for.
+   * @return The id of the first matching vertex, or -1 if no reachable vertex matches.
+   * @throws IndexOutOfBoundsException if start is not a vertex of the graph.
+   */
+  public static int findFirst(IntCsrGraph graph, int start, IntEdgeFilter filter,
+      IntPredicate target) {
+    Objects.checkIndex(start, graph.vertexCount());
+    return findFirst(graph.offsets, graph.targets, start, filter, target);
+  }
+
+  static int findFirst(int[] offsets, int[] targets, int start, IntEdgeFilter filter,
+      IntPredicate target) {
+    int[] found = { -1 };
+    dfs(offsets, targets, start, new BitSet(offsets.length - 1), filter, v -> {
+      if (target.test(v)) {
+        found[0] = v;
+        return false;
+      }
+      return true;
+    });
+    return found[0];
+  }
+
+  /**
+   * Visits every vertex of a CSR graph reachable from the given start vertex through edges
+   * accepted by the filter, including the start vertex itself.
+   *
+   * Vertices whose bit is already set in the visited set are neither visited nor expanded. When
+   * the traversal returns, the set contains every vertex that was visited.
+   *
+   * @param graph The graph to traverse.
+   * @param start The id of the starting vertex.
+   * @param visited The set used to record visited vertex ids.
+   * @param filter Decides which edges are followed.
+   * @param visitor The callback invoked for each visited vertex.
+   * @return true if the traversal ran to completion, false if the visitor stopped it early.
+   * @throws IndexOutOfBoundsException if start is not a vertex of the graph.
+   */
+  public static boolean dfs(CsrGraph<?> graph, int start, BitSet visited, IntEdgeFilter filter,
+      IntVisitor visitor) {
+    Objects.checkIndex(start, graph.vertexCount());
+    return dfs(graph.offsets, graph.targets, start, visited, filter, visitor);
+  }
+
+  /**
+   * Visits every vertex of an int CSR graph reachable from the given start vertex through edges
+   * accepted by the filter, including the start vertex itself.
+   *
+   * @param graph The graph to traverse.
+   * @param start The id of the starting vertex.
+   * @param visited The set used to record visited vertex ids.
+   * @param filter Decides which edges are followed.
+   * @param visitor The callback invoked for each visited vertex.
+   * @return true if the traversal ran to completion, false if the visitor stopped it early.
+   * @throws IndexOutOfBoundsException if start is not a vertex of the graph.
+   */
+  public static boolean dfs(IntCsrGraph graph, int start, BitSet visited, IntEdgeFilter filter,
+      IntVisitor visitor) {
+    Objects.checkIndex(start, graph.vertexCount());
+    return dfs(graph.offsets, graph.targets, start, visited, filter, visitor);
+  }
+
+  /**
+   * Visits every vertex of a memory-mapped graph reachable from the given start vertex through
+   * edges accepted by the filter, including the start vertex itself. Adjacency is read directly
+   * from the mapping.
+   *
+   * @param graph The graph to traverse.
+   * @param start The id of the starting vertex.
+   * @param visited The set used to record visited vertex ids.
+   * @param filter Decides which edges are followed.
+   * @param visitor The callback invoked for each visited vertex.
+   * @return true if the traversal ran to completion, false if the visitor stopped it early.
+   * @throws IndexOutOfBoundsException if start is not a vertex of the graph.
+   */
+  public static boolean dfs(MappedGraph graph, int start, BitSet visited, IntEdgeFilter filter,
+      IntVisitor visitor) {
+    Objects.checkIndex(start, graph.vertexCount());
+    return dfs(new MappedAdjacency(graph.offsets, graph.targets), "mapped", start,
+        marks(visited), new int[16], filter, visitor);
+  }
+
+  /**
+   * Visits every vertex of a graph snapshot reachable from the given start vertex through edges
+   * accepted by the filter, including the start vertex itself. The snapshot is immutable, so the
+   * traversal needs no locking even while the graph it came from is being updated.
+   *
+   * @param graph The snapshot to traverse.
+   * @param start The id of the starting vertex.
+   * @param visited The set used to record visited vertex ids.
+   * @param filter Decides which edges are followed.
+   * @param visitor The callback invoked for each visited vertex.
+   * @return true if the traversal ran to completion, false if the visitor stopped it early.
+   * @throws IndexOutOfBoundsException if start is not a vertex of the snapshot.
+   */
+  public static boolean dfs(GraphSnapshot<?> graph, int start, BitSet visited,
+      IntEdgeFilter filter, IntVisitor visitor) {
+    Objects.checkIndex(start, graph.vertexCount());
+    return dfs(new SnapshotAdjacency(graph.adjacency), "snapshot", start, marks(visited),
+        new int[16], filter, visitor);
+  }
+
+  static boolean dfs(int[] offsets, int[] targets, int start, BitSet visited,
+      IntEdgeFilter filter, IntVisitor visitor) {
+    return dfs(new CsrAdjacency(offsets, targets), "csr", start, marks(visited), new int[16],
+        filter, visitor);
+  }
+
+  /**
+   * Read access to the out-edges of a graph with dense int vertex ids. The edges of a vertex are
+   * numbered from {@link #first} up to (but not including) {@link #end}.
+   */
+  interface IntAdjacency {
+    int first(int vertex);
+
+    int end(int vertex);
+
+    int target(int vertex, int edge);
+  }
+
+  /**
+   * Visited marks of a graph with dense int vertex ids.
+   */
+  @FunctionalInterface
+  interface IntMarks {
+
+    /**
+     * Marks a vertex as visited.
+     *
+     * @param vertex The vertex id.
+     * @return true if the vertex was not marked before.
+     */
+    boolean mark(int vertex);
+  }
+
+  private static IntMarks marks(BitSet visited) {
+    return v -> {
+      if (visited.get(v)) {
+        return false;
+      }
+      visited.set(v);
+      return true;
+    };
+  }
+
+  /**
+   * Adjacency of {@link CsrGraph} and {@link IntCsrGraph} arrays.
+   */
+  static final class CsrAdjacency implements IntAdjacency {
+    private final int[] offsets;
+    private final int[] targets;
+
+    CsrAdjacency(int[] offsets, int[] targets) {
+      this.offsets = offsets;
+      this.targets = targets;
+    }
+
+    @Override
+    public int first(int vertex) {
+      return offsets[vertex];
+    }
+
+    @Override
+    public int end(int vertex) {
+      return offsets[vertex + 1];
+    }
+
+    @Override
+    public int target(int vertex, int edge) {
+      return targets[edge];
+    }
+  }
+
+  /**
+   * Adjacency read in place from the buffers of a {@link MappedGraph}.
+   */
+  private static final class MappedAdjacency implements IntAdjacency {
+    private final IntBuffer offsets;
+    private final IntBuffer targets;
+
+    MappedAdjacency(IntBuffer offsets, IntBuffer targets) {
+      this.offsets = offsets;
+      this.targets = targets;
+    }
+
+    @Override
+    public int first(int vertex) {
+      return offsets.get(vertex);
+    }
+
+    @Override
+    public int end(int vertex) {
+      return offsets.get(vertex + 1);
+    }
+
+    @Override
+    public int target(int vertex, int edge) {
+      return targets.get(edge);
+    }
+  }
+
+  /**
+   * Adjacency of the chunked per-vertex arrays of a {@link GraphSnapshot}.
+   */
+  private static final class SnapshotAdjacency implements IntAdjacency {
+    private final int[][][] adjacency;
+
+    SnapshotAdjacency(int[][][] adjacency) {
+      this.adjacency = adjacency;
+    }
+
+    private int[] neighbors(int vertex) {
+      return adjacency[vertex >>> GraphSnapshot.CHUNK_BITS][vertex & GraphSnapshot.CHUNK_MASK];
+    }
+
+    @Override
+    public int first(int vertex) {
+      return 0;
+    }
+
+    @Override
+    public int end(int vertex) {
+      return neighbors(vertex).length;
+    }
+
+    @Override
+    public int target(int vertex, int edge) {
+      return neighbors(vertex)[edge];
+    }
+  }
+
+  /**
+   * The int-id traversal behind every CSR, mapped, snapshot and query-service search, and the
+   * only place that records those searches in {@link TraversalStats}.
+   *
+   * @param graph The adjacency to traverse.
+   * @param kind The graph kind reported to {@link TraversalStats}.
+   * @param start The id of the starting vertex.
+   * @param visited The visited marks; start is skipped if it is already marked.
+   * @param stack The initial stack, at least one entry long; it is replaced if it fills up.
+   * @param filter Decides which edges are followed.
+   * @param visitor The callback invoked for each visited vertex.
+   * @return true if the traversal ran to completion, false if the visitor stopped it early.
+   */
+  static boolean dfs(IntAdjacency graph, String kind, int start, IntMarks visited, int[] stack,
+      IntEdgeFilter filter, IntVisitor visitor) {
+    if (!visited.mark(start)) {
+      return true;
+    }
+
+    TraversalStats.Probe probe = TraversalStats.start(kind);
+    long visitedCount = 0;
+    long edges = 0;
+    long skipped = 0;
+    int maxStackSize = 1;
+    boolean completed = true;
+
+    int size = 0;
+    stack[size++] = start;
+    while (size > 0) {
+      int current = stack[--size];
+      visitedCount++;
+      if (!visitor.visit(current)) {
+        completed = false;
+        break;
+      }
+
+      int first = graph.first(current);
+      int end = graph.end(current);
+      edges += end - first;
+      for (int i = first; i < end; i++) {
+        int neighbor = graph.target(current, i);
+        if (filter.follow(current, neighbor)) {
+          if (!visited.mark(neighbor)) {
+            skipped++;
+          } else {
+            if (size == stack.length) {
+              stack = Arrays.copyOf(stack, size * 2);
+            }
+            stack[size++] = neighbor;
+          }
+        }
+      }
+      maxStackSize = Math.max(maxStackSize, size);
+    }
+    if (probe != null) {
+      probe.finish(visitedCount, edges, skipped, maxStackSize, completed);
+    }
+    return completed;
+  }
+}
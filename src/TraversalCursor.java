@@ -0,0 +1,118 @@
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A breadth-first traversal that can be stopped by {@link TraversalLimits} and resumed later.
+ *
+ * The cursor keeps its frontier and visited set between runs, so resuming never visits a vertex
+ * twice and, once every run is complete, the aggregated answer is exactly that of an unlimited
+ * traversal. Vertices are visited in breadth-first order so that a depth limit is exact: every
+ * vertex within the limit is visited through a shortest path, whatever order the edges are in.
+ *
+ * Each visited vertex is handed to an {@link Aggregator}; the traversal also ends once the
+ * aggregator reports that its result is final.
+ *
+ * While {@link TraversalStats} is enabled, every run is recorded as one traversal; its stack size
+ * is the largest number of vertices waiting in the queue.
+ *
+ * A cursor is not thread-safe. The graph must not change while a traversal is in progress.
+ *
+ * @param <T> The type of data stored in the vertices.
+ * @param <R> The type of the answer.
+ */
+public final class TraversalCursor<T, R> {
+  /** A run checks its deadline once every this many vertices. */
+  private static final int DEADLINE_CHECK_INTERVAL = 64;
+
+  private final Aggregator<T, R> aggregator;
+  private final VisitedSet<T> visited = VisitedSet.identity();
+  private final ArrayDeque<Vertex<T>> queue = new ArrayDeque<>();
+  private int depth;
+  private int remainingInLevel;
+
+  /**
+   * Creates a cursor positioned before the given start vertex.
+   *
+   * @param start The starting vertex, or null for an empty traversal.
+   * @param aggregator Receives every visited vertex.
+   * @throws NullPointerException if aggregator is null.
+   */
+  public TraversalCursor(Vertex<T> start, Aggregator<T, R> aggregator) {
+    this.aggregator = Objects.requireNonNull(aggregator, "aggregator must not be null");
+    if (start != null) {
+      visited.add(start);
+      queue.add(start);
+      remainingInLevel = 1;
+    }
+  }
+
+  /**
+   * Returns whether the traversal has finished.
+   *
+   * @return true if no vertex remains to be visited.
+   */
+  public boolean isComplete() {
+    return queue.isEmpty();
+  }
+
+  /**
+   * Continues the traversal until it finishes or a limit is reached.
+   *
+   * @param limits The limits for this run.
+   * @return The answer so far and whether it is final.
+   */
+  public PartialResult<R> resume(TraversalLimits limits) {
+    long budget = limits.maxVertices();
+    boolean timed = limits.timeout() != null;
+    long deadline = timed ? System.nanoTime() + limits.timeout().toNanos() : 0;
+    long count = 0;
+    TraversalStats.Probe probe = TraversalStats.start("cursor");
+    long edges = 0;
+    long skipped = 0;
+    int maxQueueSize = queue.size();
+    boolean stopped = false;
+    while (!queue.isEmpty()) {
+      if (remainingInLevel == 0) {
+        depth++;
+        remainingInLevel = queue.size();
+      }
+      if (depth > limits.maxDepth() || count >= budget) {
+        break;
+      }
+      if (timed && count % DEADLINE_CHECK_INTERVAL == 0
+          && System.nanoTime() - deadline >= 0) {
+        break;
+      }
+
+      Vertex<T> current = queue.poll();
+      remainingInLevel--;
+      count++;
+      if (!aggregator.accept(current)) {
+        queue.clear();
+        stopped = true;
+        break;
+      }
+      List<Vertex<T>> neighbors = current.neighbors;
+      if (neighbors == null) {
+        continue;
+      }
+      for (Vertex<T> neighbor : neighbors) {
+        if (neighbor == null) {
+          continue;
+        }
+        edges++;
+        if (visited.add(neighbor)) {
+          queue.add(neighbor);
+        } else {
+          skipped++;
+        }
+      }
+      maxQueueSize = Math.max(maxQueueSize, queue.size());
+    }
+    if (probe != null) {
+      probe.finish(count, edges, skipped, maxQueueSize, !stopped && queue.isEmpty());
+    }
+    return new PartialResult<>(aggregator.result(), queue.isEmpty(), this);
+  }
+}
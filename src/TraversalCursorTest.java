@@ -0,0 +1,108 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * JUnit test suite for limited traversals through TraversalCursor.
+ */
+public class TraversalCursorTest {
+
+  /**
+   * Builds a chain 0 -> 1 -> ... -> n - 1 whose head also has a direct shortcut to the tail.
+   */
+  private Vertex<Integer>[] buildChainWithShortcut(int n) {
+    @SuppressWarnings("unchecked")
+    Vertex<Integer>[] chain = (Vertex<Integer>[]) new Vertex<?>[n];
+    for (int i = n - 1; i >= 0; i--) {
+      chain[i] = new Vertex<>(i);
+      if (i < n - 1) {
+        chain[i].neighbors.add(chain[i + 1]);
+      }
+    }
+    chain[0].neighbors.add(chain[n - 1]);
+    return chain;
+  }
+
+  @Test
+  public void testMaxDepth_IsExactDespiteEdgeOrder() {
+    Practice practice = new Practice();
+    Vertex<Integer>[] chain = buildChainWithShortcut(10);
+    PartialResult<Set<Vertex<Integer>>> result =
+        practice.reachable(chain[0], TraversalLimits.none().withMaxDepth(1));
+
+    assertTrue(result.isTruncated());
+    assertEquals(new HashSet<>(Arrays.asList(chain[0], chain[1], chain[9])), result.value(),
+        "depth 1 holds the direct successors, including the shortcut to the tail");
+  }
+
+  @Test
+  public void testBudget_ResumesWithoutRevisiting() {
+    Practice practice = new Practice();
+    Vertex<Integer>[] chain = buildChainWithShortcut(100);
+    Set<Vertex<Integer>> seen = new HashSet<>();
+    Aggregator<Integer, Integer> counting = new Aggregator<Integer, Integer>() {
+      @Override
+      public boolean accept(Vertex<Integer> vertex) {
+        assertTrue(seen.add(vertex), "vertex " + vertex.data + " visited twice");
+        return true;
+      }
+
+      @Override
+      public Integer result() {
+        return seen.size();
+      }
+    };
+
+    TraversalCursor<Integer, Integer> cursor = new TraversalCursor<>(chain[0], counting);
+    TraversalLimits limits = TraversalLimits.none().withMaxVertices(7);
+    int runs = 0;
+    PartialResult<Integer> result;
+    do {
+      result = cursor.resume(limits);
+      runs++;
+      assertTrue(result.value() <= 7 * runs);
+    } while (result.isTruncated());
+
+    assertEquals(100, result.value());
+    assertEquals(15, runs);
+    assertSame(cursor, result.cursor());
+    assertEquals(practice.max(chain[0]), practice.max(chain[0], TraversalLimits.none()).value());
+  }
+
+  @Test
+  public void testTruncatedMaxAndLeaves_CompleteAfterResume() {
+    Practice practice = new Practice();
+    Vertex<Integer>[] chain = buildChainWithShortcut(50);
+    PartialResult<Integer> max = practice.max(chain[0], TraversalLimits.none().withMaxDepth(0));
+    assertTrue(max.isTruncated());
+    assertEquals(0, max.value());
+    assertEquals(49, max.cursor().resume(TraversalLimits.none().withMaxDepth(1)).value());
+
+    PartialResult<Set<Vertex<Integer>>> leaves =
+        practice.leaves(chain[0], TraversalLimits.none().withMaxVertices(1));
+    assertTrue(leaves.value().isEmpty());
+    PartialResult<Set<Vertex<Integer>>> rest = leaves.cursor().resume(TraversalLimits.none());
+    assertTrue(rest.isComplete());
+    assertEquals(practice.leaves(chain[0]), rest.value());
+  }
+
+  @Test
+  public void testExpiredDeadline_VisitsNothing() {
+    Practice practice = new Practice();
+    Vertex<Integer>[] chain = buildChainWithShortcut(10);
+    PartialResult<Set<Vertex<Integer>>> result =
+        practice.reachable(chain[0], TraversalLimits.none().withTimeout(Duration.ZERO));
+    assertTrue(result.isTruncated());
+    assertTrue(result.value().isEmpty());
+
+    PartialResult<Set<Vertex<Integer>>> empty =
+        practice.reachable(null, TraversalLimits.none().withTimeout(Duration.ZERO));
+    assertTrue(empty.isComplete());
+    assertTrue(empty.value().isEmpty());
+    assertThrows(IllegalArgumentException.class, () -> TraversalLimits.none().withMaxDepth(-1));
+  }
+}
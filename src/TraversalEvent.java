@@ -0,0 +1,41 @@
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JDK Flight Recorder event committed for every instrumented traversal.
+ *
+ * Events are only created while {@link TraversalStats} is enabled, and are then recorded by any
+ * running recording that enables {@code graph.Traversal}, for example one started with
+ * {@code -XX:StartFlightRecording}. The event's duration is the time the traversal took.
+ */
+@Name("graph.Traversal")
+@Label("Graph Traversal")
+@Category("Graph")
+@Description("A single depth-first traversal of the traversal engine")
+final class TraversalEvent extends jdk.jfr.Event {
+  @Label("Graph Kind")
+  String graphKind;
+
+  @Label("Vertices Visited")
+  long vertices;
+
+  @Label("Edges Scanned")
+  long edges;
+
+  @Label("Revisits Skipped")
+  long revisitsSkipped;
+
+  @Label("Max Stack Size")
+  int maxStackSize;
+
+  @Label("Allocated")
+  @DataAmount
+  long allocatedBytes;
+
+  @Label("Completed")
+  @Description("false if the visitor stopped the traversal early")
+  boolean completed;
+}
@@ -0,0 +1,104 @@
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Limits on how much work a single run of a {@link TraversalCursor} may do.
+ *
+ * A run stops at whichever limit it reaches first:
+ * <ul>
+ *   <li>a maximum depth: vertices further than this many edges from the start are not visited;</li>
+ *   <li>a budget: at most this many vertices are visited in the run;</li>
+ *   <li>a timeout: the run stops once this much time has passed since it started.</li>
+ * </ul>
+ * Limits are immutable; each {@code with} method returns a copy with one limit changed.
+ */
+public final class TraversalLimits {
+  private static final TraversalLimits NONE =
+      new TraversalLimits(Integer.MAX_VALUE, Long.MAX_VALUE, null);
+
+  private final int maxDepth;
+  private final long maxVertices;
+  private final Duration timeout;
+
+  private TraversalLimits(int maxDepth, long maxVertices, Duration timeout) {
+    this.maxDepth = maxDepth;
+    this.maxVertices = maxVertices;
+    this.timeout = timeout;
+  }
+
+  /**
+   * Returns limits that never stop a traversal.
+   *
+   * @return The unlimited limits.
+   */
+  public static TraversalLimits none() {
+    return NONE;
+  }
+
+  /**
+   * Returns a copy of these limits with the given maximum depth. The start vertex has depth 0.
+   *
+   * @param maxDepth The largest depth that may be visited.
+   * @return The new limits.
+   * @throws IllegalArgumentException if maxDepth is negative.
+   */
+  public TraversalLimits withMaxDepth(int maxDepth) {
+    if (maxDepth < 0) {
+      throw new IllegalArgumentException("maxDepth must not be negative: " + maxDepth);
+    }
+    return new TraversalLimits(maxDepth, maxVertices, timeout);
+  }
+
+  /**
+   * Returns a copy of these limits with the given vertex budget.
+   *
+   * @param maxVertices The largest number of vertices a run may visit.
+   * @return The new limits.
+   * @throws IllegalArgumentException if maxVertices is negative.
+   */
+  public TraversalLimits withMaxVertices(long maxVertices) {
+    if (maxVertices < 0) {
+      throw new IllegalArgumentException("maxVertices must not be negative: " + maxVertices);
+    }
+    return new TraversalLimits(maxDepth, maxVertices, timeout);
+  }
+
+  /**
+   * Returns a copy of these limits with the given timeout, measured from the start of each run.
+   *
+   * @param timeout The longest a run may take.
+   * @return The new limits.
+   * @throws NullPointerException if timeout is null.
+   */
+  public TraversalLimits withTimeout(Duration timeout) {
+    return new TraversalLimits(maxDepth, maxVertices,
+        Objects.requireNonNull(timeout, "timeout must not be null"));
+  }
+
+  /**
+   * Returns the maximum depth, or Integer.MAX_VALUE if depth is unlimited.
+   *
+   * @return The maximum depth.
+   */
+  public int maxDepth() {
+    return maxDepth;
+  }
+
+  /**
+   * Returns the vertex budget per run, or Long.MAX_VALUE if unlimited.
+   *
+   * @return The vertex budget.
+   */
+  public long maxVertices() {
+    return maxVertices;
+  }
+
+  /**
+   * Returns the timeout per run, or null if time is unlimited.
+   *
+   * @return The timeout.
+   */
+  public Duration timeout() {
+    return timeout;
+  }
+}
@@ -0,0 +1,272 @@
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Opt-in instrumentation for the {@link Traversal} engine.
+ *
+ * While enabled, every traversal records how many vertices it visited, how many edges it
+ * scanned, how many edges its filter accepted but it skipped because their target was already
+ * visited, the largest number of vertices waiting on its stack at once, its elapsed time and the
+ * bytes it allocated. The stack size is not the depth of the search: a vertex with many
+ * neighbors pushes all of them at once. Each traversal is added to a global
+ * aggregate ({@link #snapshot()}), remembered as the calling thread's {@link #lastCall()}, and
+ * committed as a {@link TraversalEvent} to JDK Flight Recorder.
+ *
+ * While disabled, a traversal only updates a few local counters and reads one volatile flag
+ * before it starts; nothing is allocated, timed or published.
+ *
+ * Allocation is measured through {@code com.sun.management.ThreadMXBean} where the JVM supports
+ * it and reported as -1 otherwise. It covers the thread that started the traversal only, so the
+ * allocations of the worker tasks of a parallel traversal are not included.
+ */
+public final class TraversalStats {
+  private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+  private static final boolean ALLOCATION_SUPPORTED =
+      THREADS instanceof com.sun.management.ThreadMXBean
+          && ((com.sun.management.ThreadMXBean) THREADS).isThreadAllocatedMemorySupported();
+
+  private static volatile boolean enabled;
+
+  private static final LongAdder calls = new LongAdder();
+  private static final LongAdder vertices = new LongAdder();
+  private static final LongAdder edges = new LongAdder();
+  private static final LongAdder revisitsSkipped = new LongAdder();
+  private static final LongAccumulator maxStackSize = new LongAccumulator(Math::max, 0);
+  private static final LongAdder elapsedNanos = new LongAdder();
+  private static final LongAdder allocatedBytes = new LongAdder();
+  private static final ThreadLocal<Snapshot> lastCall = new ThreadLocal<>();
+
+  private TraversalStats() {
+  }
+
+  /**
+   * Starts instrumenting traversals.
+   */
+  public static void enable() {
+    enabled = true;
+  }
+
+  /**
+   * Stops instrumenting traversals. The aggregate collected so far is kept.
+   */
+  public static void disable() {
+    enabled = false;
+  }
+
+  /**
+   * Returns whether traversals are currently instrumented.
+   *
+   * @return true if instrumentation is enabled.
+   */
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Clears the aggregate. Traversals running concurrently may be partially counted.
+   */
+  public static void reset() {
+    calls.reset();
+    vertices.reset();
+    edges.reset();
+    revisitsSkipped.reset();
+    maxStackSize.reset();
+    elapsedNanos.reset();
+    allocatedBytes.reset();
+  }
+
+  /**
+   * Returns the totals over every traversal instrumented since the last {@link #reset()}. The
+   * maximum stack size is the largest reached by any single traversal.
+   *
+   * @return The aggregated counters.
+   */
+  public static Snapshot snapshot() {
+    return new Snapshot(calls.sum(), vertices.sum(), edges.sum(), revisitsSkipped.sum(),
+        (int) maxStackSize.get(), elapsedNanos.sum(),
+        ALLOCATION_SUPPORTED ? allocatedBytes.sum() : -1);
+  }
+
+  /**
+   * Returns the counters of the most recent instrumented traversal run by the calling thread.
+   *
+   * @return The counters of that traversal, or null if the thread has not run one.
+   */
+  public static Snapshot lastCall() {
+    return lastCall.get();
+  }
+
+  /**
+   * Returns a probe for a traversal that is about to start, or null if instrumentation is
+   * disabled.
+   */
+  static Probe start(String graphKind) {
+    return enabled ? new Probe(graphKind) : null;
+  }
+
+  private static long allocatedBytes() {
+    return ALLOCATION_SUPPORTED
+        ? ((com.sun.management.ThreadMXBean) THREADS).getCurrentThreadAllocatedBytes()
+        : -1;
+  }
+
+  /**
+   * Measures one traversal from its start until {@link #finish} is called.
+   */
+  static final class Probe {
+    private final TraversalEvent event = new TraversalEvent();
+    private final long startNanos;
+    private final long startBytes;
+
+    Probe(String graphKind) {
+      event.graphKind = graphKind;
+      event.begin();
+      startBytes = allocatedBytes();
+      startNanos = System.nanoTime();
+    }
+
+    void finish(long visited, long scanned, long skipped, int stackSize, boolean completed) {
+      long nanos = System.nanoTime() - startNanos;
+      long bytes = ALLOCATION_SUPPORTED ? allocatedBytes() - startBytes : -1;
+      calls.increment();
+      vertices.add(visited);
+      edges.add(scanned);
+      revisitsSkipped.add(skipped);
+      maxStackSize.accumulate(stackSize);
+      elapsedNanos.add(nanos);
+      allocatedBytes.add(bytes);
+      lastCall.set(new Snapshot(1, visited, scanned, skipped, stackSize, nanos, bytes));
+
+      event.end();
+      if (event.shouldCommit()) {
+        event.vertices = visited;
+        event.edges = scanned;
+        event.revisitsSkipped = skipped;
+        event.maxStackSize = stackSize;
+        event.allocatedBytes = bytes;
+        event.completed = completed;
+        event.commit();
+      }
+    }
+  }
+
+  /**
+   * Collects the counters of the tasks of one parallel traversal. Each task adds its own totals
+   * once it finishes; {@link #finish} then reports them through the traversal's probe.
+   */
+  static final class Counters {
+    private final LongAdder vertices = new LongAdder();
+    private final LongAdder edges = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAccumulator stackSize = new LongAccumulator(Math::max, 0);
+
+    void add(long visited, long scanned, long skippedEdges, int maxStackSize) {
+      vertices.add(visited);
+      edges.add(scanned);
+      skipped.add(skippedEdges);
+      stackSize.accumulate(maxStackSize);
+    }
+
+    void finish(Probe probe, boolean completed) {
+      probe.finish(vertices.sum(), edges.sum(), skipped.sum(), (int) stackSize.get(), completed);
+    }
+  }
+
+  /**
+   * Counters of one traversal or of an aggregate of traversals.
+   */
+  public static final class Snapshot {
+    private final long calls;
+    private final long vertices;
+    private final long edges;
+    private final long revisitsSkipped;
+    private final int maxStackSize;
+    private final long elapsedNanos;
+    private final long allocatedBytes;
+
+    Snapshot(long calls, long vertices, long edges, long revisitsSkipped, int maxStackSize,
+        long elapsedNanos, long allocatedBytes) {
+      this.calls = calls;
+      this.vertices = vertices;
+      this.edges = edges;
+      this.revisitsSkipped = revisitsSkipped;
+      this.maxStackSize = maxStackSize;
+      this.elapsedNanos = elapsedNanos;
+      this.allocatedBytes = allocatedBytes;
+    }
+
+    /**
+     * Returns the number of traversals counted.
+     *
+     * @return The traversal count.
+     */
+    public long calls() {
+      return calls;
+    }
+
+    /**
+     * Returns the number of vertices visited.
+     *
+     * @return The visited vertex count.
+     */
+    public long vertices() {
+      return vertices;
+    }
+
+    /**
+     * Returns the number of edges scanned, whether or not they were followed.
+     *
+     * @return The scanned edge count.
+     */
+    public long edges() {
+      return edges;
+    }
+
+    /**
+     * Returns the number of edges accepted by the edge filter but not followed because their
+     * target had already been visited. Edges rejected by the filter are not counted.
+     *
+     * @return The skipped revisit count.
+     */
+    public long revisitsSkipped() {
+      return revisitsSkipped;
+    }
+
+    /**
+     * Returns the largest number of vertices that were waiting on a traversal stack at once.
+     *
+     * @return The maximum stack size.
+     */
+    public int maxStackSize() {
+      return maxStackSize;
+    }
+
+    /**
+     * Returns the time spent traversing.
+     *
+     * @return The elapsed time in nanoseconds.
+     */
+    public long elapsedNanos() {
+      return elapsedNanos;
+    }
+
+    /**
+     * Returns the bytes allocated by the traversing threads while traversing, including
+     * allocations made by visitors and filters.
+     *
+     * @return The allocated bytes, or -1 if the JVM cannot measure allocation.
+     */
+    public long allocatedBytes() {
+      return allocatedBytes;
+    }
+
+    @Override
+    public String toString() {
+      return String.format("%d calls, %d vertices, %d edges, %d revisits skipped, "
+          + "max stack %d, %d ns, %d bytes", calls, vertices, edges, revisitsSkipped,
+          maxStackSize, elapsedNanos, allocatedBytes);
+    }
+  }
+}
@@ -0,0 +1,179 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * JUnit test suite for the TraversalStats instrumentation.
+ */
+public class TraversalStatsTest {
+
+  @AfterEach
+  public void disable() {
+    TraversalStats.disable();
+    TraversalStats.reset();
+  }
+
+  /**
+   * Builds the cyclic graph from PracticeTest rooted at v3: 9 vertices and 15 edges, all
+   * reachable from the root.
+   */
+  private Vertex<Integer> buildComplexGraph() {
+    Vertex<Integer> v3  = new Vertex<>(3);
+    Vertex<Integer> v7  = new Vertex<>(7);
+    Vertex<Integer> v12 = new Vertex<>(12);
+    Vertex<Integer> v34 = new Vertex<>(34);
+    Vertex<Integer> v56 = new Vertex<>(56);
+    Vertex<Integer> v78 = new Vertex<>(78);
+    Vertex<Integer> v91 = new Vertex<>(91);
+    Vertex<Integer> v45 = new Vertex<>(45);
+    Vertex<Integer> v23 = new Vertex<>(23);
+
+    v3.neighbors  = new ArrayList<>(Arrays.asList(v7, v34));
+    v7.neighbors  = new ArrayList<>(Arrays.asList(v12, v45, v34, v56));
+    v12.neighbors = new ArrayList<>(Arrays.asList(v7, v56, v78));
+    v34.neighbors = new ArrayList<>(Arrays.asList(v34, v91));
+    v56.neighbors = new ArrayList<>(Arrays.asList(v78));
+    v78.neighbors = new ArrayList<>(Arrays.asList(v91));
+    v91.neighbors = new ArrayList<>(Arrays.asList(v56));
+    v45.neighbors = new ArrayList<>(Arrays.asList(v23));
+    return v3;
+  }
+
+  @Test
+  public void testDisabled_RecordsNothing() {
+    new Practice().reachable(buildComplexGraph());
+    assertEquals(0, TraversalStats.snapshot().calls());
+    assertNull(TraversalStats.lastCall());
+  }
+
+  @Test
+  public void testVertexTraversal_CountsEveryVertexAndEdge() {
+    Vertex<Integer> root = buildComplexGraph();
+    TraversalStats.enable();
+    new Practice().reachable(root);
+
+    TraversalStats.Snapshot call = TraversalStats.lastCall();
+    assertEquals(9, call.vertices());
+    assertEquals(15, call.edges());
+    assertEquals(15 - 8, call.revisitsSkipped(), "every edge not pushed hits a visited vertex");
+    assertTrue(call.maxStackSize() >= 2);
+    assertTrue(call.elapsedNanos() >= 0);
+    assertEquals(1, TraversalStats.snapshot().calls());
+  }
+
+  @Test
+  public void testCsrTraversal_StopsEarlyAndAggregates() {
+    CsrGraph<Integer> graph = CsrGraph.from(buildComplexGraph());
+    TraversalStats.enable();
+    Traversal.dfs(graph, 0, new BitSet(), Traversal.ALL_INT_EDGES, v -> true);
+    Traversal.dfs(graph, 0, new BitSet(), Traversal.ALL_INT_EDGES, v -> false);
+
+    assertEquals(1, TraversalStats.lastCall().vertices(), "the visitor stopped after the root");
+    TraversalStats.Snapshot total = TraversalStats.snapshot();
+    assertEquals(2, total.calls());
+    assertEquals(10, total.vertices());
+    assertEquals(15, total.edges());
+  }
+
+  @Test
+  public void testEnabled_CommitsFlightRecorderEvents(@TempDir Path dir) throws IOException {
+    Vertex<Integer> root = buildComplexGraph();
+    Path file = dir.resolve("traversal.jfr");
+    try (Recording recording = new Recording()) {
+      recording.enable("graph.Traversal");
+      recording.start();
+      TraversalStats.enable();
+      new Practice().max(root);
+      recording.stop();
+      recording.dump(file);
+    }
+
+    List<RecordedEvent> events = new ArrayList<>();
+    for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+      if (event.getEventType().getName().equals("graph.Traversal")) {
+        events.add(event);
+      }
+    }
+    assertEquals(1, events.size());
+    assertEquals(9, events.get(0).getLong("vertices"));
+    assertEquals("vertex", events.get(0).getString("graphKind"));
+  }
+
+  @Test
+  public void testRevisitsSkipped_AgreeAcrossRepresentations(@TempDir Path dir)
+      throws IOException {
+    Vertex<Integer> root = buildComplexGraph();
+    CsrGraph<Integer> csr = CsrGraph.from(root);
+    IntCsrGraph ints = IntCsrGraph.from(csr);
+    Path file = dir.resolve("graph.bin");
+    MappedGraph.write(ints, file);
+    GraphSnapshot<Integer> snapshot =
+        VersionedGraph.from(root, new IdentityHashMap<>()).snapshot();
+    // Never follows an edge into 34, so the skipped count must not include filtered edges.
+    int[] values = ints.values;
+    Traversal.IntEdgeFilter filter = (from, to) -> values[to] != 34;
+
+    TraversalStats.enable();
+    Traversal.dfs(root, Traversal.newVisitedSet(), (from, to) -> to.data != 34, v -> true);
+    TraversalStats.Snapshot expected = TraversalStats.lastCall();
+    assertEquals(8, expected.vertices());
+    assertEquals(13, expected.edges(), "every edge except those of 34");
+    assertEquals(13 - 2 - 7, expected.revisitsSkipped(), "accepted edges minus pushes");
+
+    List<TraversalStats.Snapshot> calls = new ArrayList<>();
+    Traversal.dfs(csr, 0, new BitSet(), filter, v -> true);
+    calls.add(TraversalStats.lastCall());
+    Traversal.dfs(ints, 0, new BitSet(), filter, v -> true);
+    calls.add(TraversalStats.lastCall());
+    Traversal.dfs(MappedGraph.open(file), 0, new BitSet(), filter, v -> true);
+    calls.add(TraversalStats.lastCall());
+    Traversal.dfs(snapshot, 0, new BitSet(), filter, v -> true);
+    calls.add(TraversalStats.lastCall());
+
+    for (TraversalStats.Snapshot call : calls) {
+      assertEquals(expected.vertices(), call.vertices());
+      assertEquals(expected.edges(), call.edges());
+      assertEquals(expected.revisitsSkipped(), call.revisitsSkipped());
+    }
+  }
+
+  @Test
+  public void testOtherTraversalPaths_AreRecorded() {
+    Vertex<Integer> root = buildComplexGraph();
+    CsrGraph<Integer> csr = CsrGraph.from(root);
+    Condensation<Integer> condensation = Condensation.of(root);
+    TraversalStats.enable();
+
+    assertEquals(9, Traversal.stream(root).count());
+    assertEquals(9, TraversalStats.lastCall().vertices());
+    assertEquals(15, TraversalStats.lastCall().edges());
+
+    ForkJoinPool pool = new ForkJoinPool(2);
+    try {
+      ParallelReachability.reachable(root, pool);
+      assertEquals(9, TraversalStats.lastCall().vertices());
+      assertEquals(15 - 8, TraversalStats.lastCall().revisitsSkipped());
+      ParallelReachability.reachable(csr, 0, pool);
+      assertEquals(15, TraversalStats.lastCall().edges());
+    } finally {
+      pool.shutdown();
+    }
+
+    condensation.reachableFromEach(List.of(root));
+    assertEquals(9, TraversalStats.lastCall().vertices());
+    assertEquals(4, TraversalStats.snapshot().calls());
+  }
+}
@@ -0,0 +1,79 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JUnit test suite for the Traversal engine's search modes.
+ */
+public class TraversalTest {
+
+  @Test
+  public void testFindFirst_StopsAtFirstMatch() {
+    Vertex<Integer> a = new Vertex<>(1);
+    Vertex<Integer> b = new Vertex<>(2);
+    Vertex<Integer> c = new Vertex<>(3);
+    a.neighbors.add(b);
+    b.neighbors.add(c);
+
+    List<Integer> visited = new ArrayList<>();
+    Vertex<Integer> found = Traversal.findFirst(a, Traversal.allEdges(), v -> {
+      visited.add(v.data);
+      return v.data == 2;
+    });
+    assertSame(b, found);
+    assertFalse(visited.contains(3), "the search should stop before expanding past the match");
+  }
+
+  @Test
+  public void testFindFirst_NoMatchReturnsNull() {
+    Vertex<Integer> a = new Vertex<>(1);
+    a.neighbors.add(new Vertex<>(3));
+    assertNull(Traversal.findFirst(a, Traversal.allEdges(), v -> v.data % 2 == 0));
+    assertNull(Traversal.findFirst(null, Traversal.allEdges(), v -> true));
+  }
+
+  @Test
+  public void testAnyMatch() {
+    Vertex<Integer> a = new Vertex<>(1);
+    a.neighbors.add(new Vertex<>(4));
+    assertTrue(Traversal.anyMatch(a, v -> v.data == 4));
+    assertFalse(Traversal.anyMatch(a, v -> v.data == 5));
+  }
+
+  @Test
+  public void testIncreasingWithin_PrunesBranchesAboveBound() {
+    Vertex<Integer> start = new Vertex<>(1);
+    Vertex<Integer> above = new Vertex<>(50);
+    Vertex<Integer> beyond = new Vertex<>(60);
+    Vertex<Integer> below = new Vertex<>(5);
+    Vertex<Integer> end = new Vertex<>(10);
+    start.neighbors.add(above);
+    start.neighbors.add(below);
+    above.neighbors.add(beyond);
+    below.neighbors.add(end);
+
+    List<Integer> visited = new ArrayList<>();
+    Vertex<Integer> found = Traversal.findFirst(start, Traversal.increasingWithin(Integer::intValue, 10), v -> {
+      visited.add(v.data);
+      return v == end;
+    });
+    assertSame(end, found);
+    assertFalse(visited.contains(50), "vertices above the bound should never be visited");
+    assertFalse(visited.contains(60), "vertices behind a pruned vertex should never be visited");
+  }
+
+  @Test
+  public void testIntIncreasingWithin_OnCsrGraph() {
+    Vertex<Integer> start = new Vertex<>(1);
+    Vertex<Integer> mid = new Vertex<>(5);
+    Vertex<Integer> end = new Vertex<>(10);
+    start.neighbors.add(mid);
+    mid.neighbors.add(end);
+    IntCsrGraph graph = IntCsrGraph.from(start);
+
+    assertEquals(2, Traversal.findFirst(graph, 0, Traversal.increasingWithin(graph.values, 10), v -> v == 2));
+    assertEquals(-1, Traversal.findFirst(graph, 0, Traversal.increasingWithin(graph.values, 9), v -> v == 2));
+  }
+}
@@ -0,0 +1,343 @@
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * A graph that is changed by publishing new immutable versions, so queries never race with
+ * writers.
+ *
+ * Readers call {@link #snapshot()} and traverse the returned {@link GraphSnapshot}; that costs one
+ * volatile read and no locking, and the snapshot stays consistent however long the traversal
+ * takes. Writers group changes in {@link #update(Consumer)}, which applies them to a private
+ * copy-on-write {@link Editor} and then publishes the result as the next version in a single
+ * step. Readers see either all of an update or none of it. Writers are serialized with each
+ * other.
+ *
+ * An update copies only the chunk directories, the chunks holding changed vertices and the
+ * changed adjacency lists; unchanged chunks and lists are shared with the previous version. A
+ * single edge change on a graph of n vertices therefore copies about n / 64 directory entries
+ * plus one chunk and one adjacency list, rather than the whole graph.
+ *
+ * This replaces mutating {@code Vertex.data} and {@code Vertex.neighbors} directly, which is
+ * not safe while other threads traverse the same vertices.
+ *
+ * @param <T> The type of value stored in each vertex.
+ */
+public final class VersionedGraph<T> {
+  private volatile GraphSnapshot<T> current;
+
+  /**
+   * Creates an empty graph at version 0.
+   */
+  public VersionedGraph() {
+    current = GraphSnapshot.empty();
+  }
+
+  private VersionedGraph(GraphSnapshot<T> initial) {
+    current = initial;
+  }
+
+  /**
+   * Creates a graph holding every vertex reachable from the given root, recording the id
+   * assigned to each vertex in the given map. The root is assigned id 0.
+   *
+   * @param root The root vertex to copy.
+   * @param ids Receives the id assigned to each copied vertex.
+   * @return A graph at version 0 with the same structure and values.
+   * @throws NullPointerException if root or ids is null.
+   */
+  public static <T> VersionedGraph<T> from(Vertex<T> root, Map<Vertex<T>, Integer> ids) {
+    return new VersionedGraph<>(GraphSnapshot.of(CsrGraph.from(root, ids), 0));
+  }
+
+  /**
+   * Returns the current version of the graph. The returned snapshot never changes.
+   *
+   * @return The latest published snapshot.
+   */
+  public GraphSnapshot<T> snapshot() {
+    return current;
+  }
+
+  /**
+   * Applies a group of changes and publishes them as one new version.
+   *
+   * If the changes throw, nothing is published and the graph keeps its current version. If they
+   * change nothing, the current version is returned unchanged.
+   *
+   * @param changes Applies changes to the given editor. The editor must not be used after the
+   *        call returns.
+   * @return The snapshot published by this update.
+   * @throws NullPointerException if changes is null.
+   */
+  public synchronized GraphSnapshot<T> update(Consumer<? super Editor<T>> changes) {
+    Objects.requireNonNull(changes, "changes must not be null");
+    Editor<T> editor = new Editor<>(current);
+    try {
+      changes.accept(editor);
+    } finally {
+      editor.closed = true;
+    }
+    if (editor.changed) {
+      current = editor.build();
+    }
+    return current;
+  }
+
+  /**
+   * Adds a vertex with the given value as a new version.
+   *
+   * @param value The value of the new vertex.
+   * @return The id of the new vertex.
+   */
+  public int addVertex(T value) {
+    int[] id = new int[1];
+    update(editor -> id[0] = editor.addVertex(value));
+    return id[0];
+  }
+
+  /**
+   * Adds an edge as a new version.
+   *
+   * @param from The id of the vertex the edge starts at.
+   * @param to The id of the vertex the edge points to.
+   * @throws IndexOutOfBoundsException if either id is not a vertex of the graph.
+   */
+  public void addEdge(int from, int to) {
+    update(editor -> editor.addEdge(from, to));
+  }
+
+  /**
+   * Removes one edge from one vertex to another as a new version.
+   *
+   * @param from The id of the vertex the edge starts at.
+   * @param to The id of the vertex the edge points to.
+   * @return true if an edge was removed.
+   * @throws IndexOutOfBoundsException if either id is not a vertex of the graph.
+   */
+  public boolean removeEdge(int from, int to) {
+    boolean[] removed = new boolean[1];
+    update(editor -> removed[0] = editor.removeEdge(from, to));
+    return removed[0];
+  }
+
+  /**
+   * Changes the value of a vertex as a new version.
+   *
+   * @param vertex The id of the vertex.
+   * @param value The new value.
+   * @throws IndexOutOfBoundsException if vertex is not a vertex of the graph.
+   */
+  public void setValue(int vertex, T value) {
+    update(editor -> editor.setValue(vertex, value));
+  }
+
+  /**
+   * Collects the changes of one update on copies of the parts of the graph they touch.
+   *
+   * Each chunk and adjacency list is copied the first time the editor changes it and modified in
+   * place afterwards, so an update with many changes to the same region copies it only once.
+   *
+   * @param <T> The type of value stored in each vertex.
+   */
+  public static final class Editor<T> {
+    private final GraphSnapshot<T> base;
+    private Object[][] values;
+    private int[][][] adjacency;
+    private final BitSet ownedValueChunks = new BitSet();
+    private final BitSet ownedAdjacencyChunks = new BitSet();
+    /** Vertices whose adjacency list is private to this editor; its length is the capacity. */
+    private final BitSet ownedLists = new BitSet();
+    /** Degrees of the owned lists, indexed by vertex id. */
+    private int[] degrees = new int[0];
+    private int vertexCount;
+    private long edgeCount;
+    boolean changed;
+    boolean closed;
+
+    Editor(GraphSnapshot<T> base) {
+      this.base = base;
+      this.values = base.values;
+      this.adjacency = base.adjacency;
+      this.vertexCount = base.vertexCount();
+      this.edgeCount = base.edgeCount();
+    }
+
+    /**
+     * Returns the number of vertices including those added by this editor.
+     *
+     * @return The vertex count.
+     */
+    public int vertexCount() {
+      return vertexCount;
+    }
+
+    /**
+     * Returns the value of a vertex including changes made by this editor.
+     *
+     * @param vertex The vertex id.
+     * @return The value of the vertex.
+     * @throws IndexOutOfBoundsException if vertex is not a vertex of the graph.
+     */
+    @SuppressWarnings("unchecked")
+    public T value(int vertex) {
+      checkOpen();
+      Objects.checkIndex(vertex, vertexCount);
+      return (T) values[vertex >>> GraphSnapshot.CHUNK_BITS][vertex & GraphSnapshot.CHUNK_MASK];
+    }
+
+    /**
+     * Adds a vertex with the given value and no edges.
+     *
+     * @param value The value of the new vertex.
+     * @return The id of the new vertex.
+     */
+    public int addVertex(T value) {
+      checkOpen();
+      int vertex = vertexCount;
+      int chunk = vertex >>> GraphSnapshot.CHUNK_BITS;
+      if (chunk == values.length) {
+        values = Arrays.copyOf(values, chunk + 1);
+        adjacency = Arrays.copyOf(adjacency, chunk + 1);
+        values[chunk] = new Object[GraphSnapshot.CHUNK_SIZE];
+        adjacency[chunk] = new int[GraphSnapshot.CHUNK_SIZE][];
+        Arrays.fill(adjacency[chunk], GraphSnapshot.NO_NEIGHBORS);
+        ownedValueChunks.set(chunk);
+        ownedAdjacencyChunks.set(chunk);
+      }
+      vertexCount++;
+      changed = true;
+      valueChunk(vertex)[vertex & GraphSnapshot.CHUNK_MASK] = value;
+      return vertex;
+    }
+
+    /**
+     * Changes the value of a vertex.
+     *
+     * @param vertex The vertex id.
+     * @param value The new value.
+     * @throws IndexOutOfBoundsException if vertex is not a vertex of the graph.
+     */
+    public void setValue(int vertex, T value) {
+      checkOpen();
+      Objects.checkIndex(vertex, vertexCount);
+      changed = true;
+      valueChunk(vertex)[vertex & GraphSnapshot.CHUNK_MASK] = value;
+    }
+
+    /**
+     * Adds an edge after the existing edges of its source vertex.
+     *
+     * @param from The id of the vertex the edge starts at.
+     * @param to The id of the vertex the edge points to.
+     * @throws IndexOutOfBoundsException if either id is not a vertex of the graph.
+     */
+    public void addEdge(int from, int to) {
+      checkOpen();
+      Objects.checkIndex(from, vertexCount);
+      Objects.checkIndex(to, vertexCount);
+      int[] list = ownedList(from, 1);
+      list[degrees[from]++] = to;
+      edgeCount++;
+      changed = true;
+    }
+
+    /**
+     * Removes the first edge from one vertex to another, keeping the order of the other edges.
+     *
+     * @param from The id of the vertex the edge starts at.
+     * @param to The id of the vertex the edge points to.
+     * @return true if an edge was removed.
+     * @throws IndexOutOfBoundsException if either id is not a vertex of the graph.
+     */
+    public boolean removeEdge(int from, int to) {
+      checkOpen();
+      Objects.checkIndex(from, vertexCount);
+      Objects.checkIndex(to, vertexCount);
+      int[] current = list(from);
+      int degree = ownedLists.get(from) ? degrees[from] : current.length;
+      int index = -1;
+      for (int i = 0; i < degree; i++) {
+        if (current[i] == to) {
+          index = i;
+          break;
+        }
+      }
+      if (index < 0) {
+        return false;
+      }
+      int[] list = ownedList(from, 0);
+      System.arraycopy(list, index + 1, list, index, degrees[from] - index - 1);
+      degrees[from]--;
+      edgeCount--;
+      changed = true;
+      return true;
+    }
+
+    /**
+     * Returns the snapshot holding every change, trimming owned lists to their exact degree.
+     */
+    GraphSnapshot<T> build() {
+      for (int v = ownedLists.nextSetBit(0); v >= 0; v = ownedLists.nextSetBit(v + 1)) {
+        int[][] chunk = adjacency[v >>> GraphSnapshot.CHUNK_BITS];
+        int[] list = chunk[v & GraphSnapshot.CHUNK_MASK];
+        int degree = degrees[v];
+        chunk[v & GraphSnapshot.CHUNK_MASK] = degree == 0 ? GraphSnapshot.NO_NEIGHBORS
+            : degree == list.length ? list : Arrays.copyOf(list, degree);
+      }
+      return new GraphSnapshot<>(values, adjacency, vertexCount, edgeCount, base.version() + 1);
+    }
+
+    private void checkOpen() {
+      if (closed) {
+        throw new IllegalStateException("editor is no longer usable after its update");
+      }
+    }
+
+    private Object[] valueChunk(int vertex) {
+      int chunk = vertex >>> GraphSnapshot.CHUNK_BITS;
+      if (!ownedValueChunks.get(chunk)) {
+        if (values == base.values) {
+          values = values.clone();
+        }
+        values[chunk] = values[chunk].clone();
+        ownedValueChunks.set(chunk);
+      }
+      return values[chunk];
+    }
+
+    private int[] list(int vertex) {
+      return adjacency[vertex >>> GraphSnapshot.CHUNK_BITS][vertex & GraphSnapshot.CHUNK_MASK];
+    }
+
+    /**
+     * Returns the editor's own copy of a vertex's adjacency list with room for extra edges.
+     */
+    private int[] ownedList(int vertex, int extra) {
+      int chunk = vertex >>> GraphSnapshot.CHUNK_BITS;
+      if (!ownedAdjacencyChunks.get(chunk)) {
+        if (adjacency == base.adjacency) {
+          adjacency = adjacency.clone();
+        }
+        adjacency[chunk] = adjacency[chunk].clone();
+        ownedAdjacencyChunks.set(chunk);
+      }
+      int[][] lists = adjacency[chunk];
+      int slot = vertex & GraphSnapshot.CHUNK_MASK;
+      if (vertex >= degrees.length) {
+        degrees = Arrays.copyOf(degrees, Math.max(vertexCount, 2 * degrees.length));
+      }
+      if (!ownedLists.get(vertex)) {
+        int[] shared = lists[slot];
+        lists[slot] = Arrays.copyOf(shared, Math.max(4, shared.length + extra));
+        degrees[vertex] = shared.length;
+        ownedLists.set(vertex);
+      } else if (degrees[vertex] + extra > lists[slot].length) {
+        lists[slot] = Arrays.copyOf(lists[slot], 2 * lists[slot].length);
+      }
+      return lists[slot];
+    }
+  }
+}
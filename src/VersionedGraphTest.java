@@ -0,0 +1,209 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * JUnit test suite for the VersionedGraph class.
+ */
+public class VersionedGraphTest {
+
+  @Test
+  public void testFrom_CopiesVertexGraph() {
+    Vertex<Integer> a = new Vertex<>(1);
+    Vertex<Integer> b = new Vertex<>(2);
+    Vertex<Integer> c = new Vertex<>(3);
+    a.neighbors = new ArrayList<>(Arrays.asList(b, c));
+    b.neighbors = new ArrayList<>(Arrays.asList(c));
+
+    Map<Vertex<Integer>, Integer> ids = new IdentityHashMap<>();
+    GraphSnapshot<Integer> snapshot = VersionedGraph.from(a, ids).snapshot();
+    assertEquals(0, snapshot.version());
+    assertEquals(3, snapshot.vertexCount());
+    assertEquals(3, snapshot.edgeCount());
+    assertEquals(2, (int) snapshot.value(ids.get(b)));
+    assertArrayEquals(new int[] { ids.get(c) }, snapshot.neighbors(ids.get(b)));
+    assertEquals(0, snapshot.degree(ids.get(c)));
+    assertThrows(IndexOutOfBoundsException.class, () -> snapshot.value(3));
+  }
+
+  @Test
+  public void testUpdate_OldSnapshotsDoNotChange() {
+    VersionedGraph<Integer> graph = new VersionedGraph<>();
+    int a = graph.addVertex(1);
+    int b = graph.addVertex(2);
+    graph.addEdge(a, b);
+    GraphSnapshot<Integer> before = graph.snapshot();
+
+    int c = graph.addVertex(5);
+    graph.addEdge(b, c);
+    graph.setValue(a, 7);
+    assertTrue(graph.removeEdge(a, b));
+    assertFalse(graph.removeEdge(a, b));
+    GraphSnapshot<Integer> after = graph.snapshot();
+
+    assertEquals(2, before.vertexCount());
+    assertEquals(1, (int) before.value(a));
+    assertArrayEquals(new int[] { b }, before.neighbors(a));
+    assertEquals(0, before.degree(b));
+
+    assertEquals(3, after.vertexCount());
+    assertEquals(1, after.edgeCount());
+    assertEquals(7, (int) after.value(a));
+    assertEquals(0, after.degree(a));
+    assertArrayEquals(new int[] { c }, after.neighbors(b));
+    assertEquals(before.version() + 4, after.version());
+  }
+
+  @Test
+  public void testUpdate_PublishesAllChangesAsOneVersion() {
+    VersionedGraph<Integer> graph = new VersionedGraph<>();
+    GraphSnapshot<Integer> published = graph.update(editor -> {
+      int previous = editor.addVertex(0);
+      for (int i = 1; i < 200; i++) {
+        int next = editor.addVertex(i);
+        editor.addEdge(previous, next);
+        editor.addEdge(0, next);
+        previous = next;
+      }
+    });
+
+    assertSame(published, graph.snapshot());
+    assertEquals(1, published.version());
+    assertEquals(200, published.vertexCount());
+    assertEquals(398, published.edgeCount());
+    assertEquals(200, published.degree(0));
+    assertEquals(199, new Practice().max(published, 0));
+  }
+
+  @Test
+  public void testUpdate_FailedUpdatePublishesNothing() {
+    VersionedGraph<Integer> graph = new VersionedGraph<>();
+    graph.addVertex(1);
+    GraphSnapshot<Integer> before = graph.snapshot();
+
+    assertThrows(IndexOutOfBoundsException.class, () -> graph.update(editor -> {
+      editor.addVertex(2);
+      editor.addEdge(0, 5);
+    }));
+    assertSame(before, graph.snapshot());
+    assertSame(before, graph.update(editor -> { }));
+  }
+
+  @Test
+  public void testUpdate_EditorUnusableAfterwards() {
+    VersionedGraph<Integer> graph = new VersionedGraph<>();
+    List<VersionedGraph.Editor<Integer>> leaked = new ArrayList<>();
+    graph.update(leaked::add);
+    assertThrows(IllegalStateException.class, () -> leaked.get(0).addVertex(1));
+  }
+
+  @Test
+  public void testUpdate_SharesUnchangedChunks() {
+    VersionedGraph<Integer> graph = new VersionedGraph<>();
+    graph.update(editor -> {
+      for (int i = 0; i < 1000; i++) {
+        editor.addVertex(i);
+      }
+      for (int i = 0; i < 999; i++) {
+        editor.addEdge(i, i + 1);
+      }
+    });
+    GraphSnapshot<Integer> before = graph.snapshot();
+    graph.addEdge(5, 900);
+    GraphSnapshot<Integer> after = graph.snapshot();
+
+    int changed = 5 >>> GraphSnapshot.CHUNK_BITS;
+    for (int chunk = 0; chunk < before.adjacency.length; chunk++) {
+      assertSame(before.values[chunk], after.values[chunk]);
+      if (chunk != changed) {
+        assertSame(before.adjacency[chunk], after.adjacency[chunk]);
+      }
+    }
+    assertNotSame(before.adjacency[changed], after.adjacency[changed]);
+    assertSame(before.neighborsOf(6), after.neighborsOf(6));
+    assertArrayEquals(new int[] { 6, 900 }, after.neighbors(5));
+  }
+
+  @Test
+  public void testSnapshot_PracticeQueries() {
+    VersionedGraph<Integer> graph = new VersionedGraph<>();
+    graph.update(editor -> {
+      editor.addVertex(1);
+      editor.addVertex(3);
+      editor.addVertex(9);
+      editor.addVertex(4);
+      editor.addEdge(0, 1);
+      editor.addEdge(1, 2);
+      editor.addEdge(2, 0);
+    });
+    Practice practice = new Practice();
+    GraphSnapshot<Integer> snapshot = graph.snapshot();
+
+    BitSet reachable = practice.reachable(snapshot, 0);
+    assertEquals(3, reachable.cardinality());
+    assertFalse(reachable.get(3));
+    assertEquals(9, practice.max(snapshot, 1));
+    assertTrue(practice.leaves(snapshot, 0).isEmpty());
+    assertTrue(practice.allOdd(snapshot, 0));
+
+    graph.addEdge(2, 3);
+    assertFalse(practice.allOdd(graph.snapshot(), 0));
+    assertEquals(BitSet.valueOf(new long[] { 0b1000 }), practice.leaves(graph.snapshot(), 0));
+    assertTrue(practice.allOdd(snapshot, 0));
+  }
+
+  @Test
+  public void testConcurrentReaders_SeeConsistentVersions() throws Exception {
+    // The writer keeps a chain in which every vertex is reachable from vertex 0 and every
+    // value is odd; readers must never observe a version that breaks either invariant.
+    VersionedGraph<Integer> graph = new VersionedGraph<>();
+    graph.addVertex(1);
+    AtomicBoolean done = new AtomicBoolean();
+    Practice practice = new Practice();
+    ExecutorService readers = Executors.newFixedThreadPool(3);
+    try {
+      List<Future<Integer>> results = new ArrayList<>();
+      for (int r = 0; r < 3; r++) {
+        results.add(readers.submit(() -> {
+          int checks = 0;
+          while (!done.get() || checks == 0) {
+            GraphSnapshot<Integer> snapshot = graph.snapshot();
+            assertEquals(snapshot.vertexCount(), practice.reachable(snapshot, 0).cardinality());
+            assertTrue(practice.allOdd(snapshot, 0));
+            assertEquals(snapshot.vertexCount() - 1, snapshot.edgeCount());
+            checks++;
+          }
+          return checks;
+        }));
+      }
+      for (int i = 1; i < 3000; i++) {
+        int last = i - 1;
+        int value = 2 * i + 1;
+        graph.update(editor -> {
+          int added = editor.addVertex(value - 1);
+          editor.addEdge(last, added);
+          editor.setValue(added, value);
+        });
+      }
+      done.set(true);
+      for (Future<Integer> result : results) {
+        assertTrue(result.get(30, TimeUnit.SECONDS) > 0);
+      }
+    } finally {
+      readers.shutdownNow();
+    }
+    assertEquals(3000, graph.snapshot().vertexCount());
+    assertEquals(5999, new Practice().max(graph.snapshot(), 0));
+  }
+}
@@ -13,4 +13,23 @@ public class Vertex<T> {
     this.data = data;
     this.neighbors = neighbors;
   }
+
+  /**
+   * Returns whether this vertex has no outgoing edges. Traversals skip null entries of the
+   * neighbors list, so a list holding only nulls makes a leaf just like a null or empty list,
+   * and the vertex is a leaf in every other representation of the graph as well.
+   *
+   * @return true if no neighbor is non-null.
+   */
+  boolean isLeaf() {
+    if (neighbors == null || neighbors.isEmpty()) {
+      return true;
+    }
+    for (Vertex<T> neighbor : neighbors) {
+      if (neighbor != null) {
+        return false;
+      }
+    }
+    return true;
+  }
 }
\ No newline at end of file
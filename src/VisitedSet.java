@@ -0,0 +1,337 @@
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.ToIntFunction;
+
+/**
+ * A set of vertices used to track which vertices a traversal has already visited.
+ *
+ * Vertices are always compared by identity. Two strategies are available:
+ * <ul>
+ *   <li>{@link #identity()}: an open-addressing hash table keyed on identity hash codes. Adding
+ *       a vertex stores one reference in a flat array, with no per-entry node objects.</li>
+ *   <li>{@link #dense(ToIntFunction)}: a bit set for graphs whose vertices can be mapped to small,
+ *       dense, non-negative indexes. Membership is a single bit test.</li>
+ * </ul>
+ *
+ * Because a visited set is itself a {@link java.util.Set}, a traversal can hand it back to the
+ * caller as its result without copying.
+ *
+ * @param <T> The type of data stored in the vertices.
+ */
+public abstract class VisitedSet<T> extends AbstractSet<Vertex<T>> {
+
+  VisitedSet() {
+  }
+
+  /**
+   * Returns a new, empty visited set backed by an open-addressing identity hash table.
+   *
+   * @param <T> The type of data stored in the vertices.
+   * @return An empty visited set.
+   */
+  public static <T> VisitedSet<T> identity() {
+    return new IdentitySet<>(16);
+  }
+
+  /**
+   * Returns a new, empty visited set backed by an open-addressing identity hash table sized to
+   * hold the expected number of vertices without resizing.
+   *
+   * @param expectedSize The expected number of vertices.
+   * @param <T> The type of data stored in the vertices.
+   * @return An empty visited set.
+   * @throws IllegalArgumentException if expectedSize is negative.
+   */
+  public static <T> VisitedSet<T> identity(int expectedSize) {
+    if (expectedSize < 0) {
+      throw new IllegalArgumentException("expectedSize must not be negative: " + expectedSize);
+    }
+    return new IdentitySet<>(expectedSize);
+  }
+
+  /**
+   * Returns a new, empty visited set backed by a bit set, using the given function to map each
+   * vertex to its dense index. Distinct vertices must map to distinct non-negative indexes.
+   *
+   * @param index Maps a vertex to its dense index.
+   * @param <T> The type of data stored in the vertices.
+   * @return An empty visited set.
+   * @throws NullPointerException if index is null.
+   */
+  public static <T> VisitedSet<T> dense(ToIntFunction<? super Vertex<T>> index) {
+    return new DenseSet<>(Objects.requireNonNull(index, "index must not be null"));
+  }
+
+  /**
+   * An open-addressing, linear-probing hash set that compares vertices by identity.
+   * The table is kept at most half full until it reaches its maximum capacity, after which it
+   * fills up to one free slot, which every probe sequence needs to terminate.
+   */
+  private static final class IdentitySet<T> extends VisitedSet<T> {
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private Object[] table;
+    private int size;
+
+    IdentitySet(int expectedSize) {
+      table = new Object[tableSizeFor(expectedSize)];
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+      int capacity = 16;
+      while (capacity < MAXIMUM_CAPACITY && capacity / 2 < expectedSize) {
+        capacity <<= 1;
+      }
+      return capacity;
+    }
+
+    private static int indexFor(Object vertex, int mask) {
+      int h = System.identityHashCode(vertex);
+      h ^= h >>> 16;
+      h *= 0x9E3779B9;
+      return (h ^ (h >>> 16)) & mask;
+    }
+
+    @Override
+    public boolean add(Vertex<T> vertex) {
+      Objects.requireNonNull(vertex, "vertex must not be null");
+      Object[] tab = table;
+      int mask = tab.length - 1;
+      int i = indexFor(vertex, mask);
+      for (Object slot = tab[i]; slot != null; slot = tab[i]) {
+        if (slot == vertex) {
+          return false;
+        }
+        i = (i + 1) & mask;
+      }
+      if (size == tab.length - 1) {
+        throw new IllegalStateException("visited set is full: " + size + " vertices");
+      }
+      tab[i] = vertex;
+      if (++size > tab.length / 2 && tab.length < MAXIMUM_CAPACITY) {
+        resize();
+      }
+      return true;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      if (o == null) {
+        return false;
+      }
+      Object[] tab = table;
+      int mask = tab.length - 1;
+      int i = indexFor(o, mask);
+      for (Object slot = tab[i]; slot != null; slot = tab[i]) {
+        if (slot == o) {
+          return true;
+        }
+        i = (i + 1) & mask;
+      }
+      return false;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+      if (o == null) {
+        return false;
+      }
+      Object[] tab = table;
+      int mask = tab.length - 1;
+      int i = indexFor(o, mask);
+      while (tab[i] != o) {
+        if (tab[i] == null) {
+          return false;
+        }
+        i = (i + 1) & mask;
+      }
+
+      // Backward-shift deletion keeps every probe sequence free of holes.
+      tab[i] = null;
+      size--;
+      for (int j = (i + 1) & mask; tab[j] != null; j = (j + 1) & mask) {
+        int home = indexFor(tab[j], mask);
+        if (((j - home) & mask) >= ((j - i) & mask)) {
+          tab[i] = tab[j];
+          tab[j] = null;
+          i = j;
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public void clear() {
+      Arrays.fill(table, null);
+      size = 0;
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+
+    private void resize() {
+      Object[] old = table;
+      Object[] tab = new Object[old.length * 2];
+      int mask = tab.length - 1;
+      for (Object vertex : old) {
+        if (vertex != null) {
+          int i = indexFor(vertex, mask);
+          while (tab[i] != null) {
+            i = (i + 1) & mask;
+          }
+          tab[i] = vertex;
+        }
+      }
+      table = tab;
+    }
+
+    /**
+     * Returns an iterator over the vertices in table order. The iterator does not support
+     * removal, because backward-shift deletion could move unvisited entries behind it.
+     */
+    @Override
+    public Iterator<Vertex<T>> iterator() {
+      Object[] tab = table;
+      return new Iterator<Vertex<T>>() {
+        private int next = advance(0);
+
+        private int advance(int from) {
+          while (from < tab.length && tab[from] == null) {
+            from++;
+          }
+          return from;
+        }
+
+        @Override
+        public boolean hasNext() {
+          return next < tab.length;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Vertex<T> next() {
+          if (next >= tab.length) {
+            throw new NoSuchElementException();
+          }
+          Vertex<T> vertex = (Vertex<T>) tab[next];
+          next = advance(next + 1);
+          return vertex;
+        }
+      };
+    }
+  }
+
+  /**
+   * A bit set of dense vertex indexes, with a parallel array of vertices so the set can be
+   * iterated and membership can be confirmed by identity.
+   */
+  private static final class DenseSet<T> extends VisitedSet<T> {
+    private final ToIntFunction<? super Vertex<T>> index;
+    private final BitSet bits = new BitSet();
+    private Object[] vertices = new Object[16];
+    private int size;
+
+    DenseSet(ToIntFunction<? super Vertex<T>> index) {
+      this.index = index;
+    }
+
+    @Override
+    public boolean add(Vertex<T> vertex) {
+      int i = indexOf(Objects.requireNonNull(vertex, "vertex must not be null"));
+      if (bits.get(i)) {
+        return false;
+      }
+      if (i >= vertices.length) {
+        vertices = Arrays.copyOf(vertices, Math.max(i + 1, vertices.length * 2));
+      }
+      bits.set(i);
+      vertices[i] = vertex;
+      size++;
+      return true;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      if (!(o instanceof Vertex)) {
+        return false;
+      }
+      @SuppressWarnings("unchecked")
+      int i = indexOf((Vertex<T>) o);
+      return bits.get(i) && vertices[i] == o;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+      if (!contains(o)) {
+        return false;
+      }
+      @SuppressWarnings("unchecked")
+      int i = indexOf((Vertex<T>) o);
+      bits.clear(i);
+      vertices[i] = null;
+      size--;
+      return true;
+    }
+
+    @Override
+    public void clear() {
+      bits.clear();
+      Arrays.fill(vertices, null);
+      size = 0;
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+
+    private int indexOf(Vertex<T> vertex) {
+      int i = index.applyAsInt(vertex);
+      if (i < 0) {
+        throw new IllegalArgumentException("dense index must not be negative: " + i);
+      }
+      return i;
+    }
+
+    @Override
+    public Iterator<Vertex<T>> iterator() {
+      return new Iterator<Vertex<T>>() {
+        private int next = bits.nextSetBit(0);
+        private int last = -1;
+
+        @Override
+        public boolean hasNext() {
+          return next >= 0;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Vertex<T> next() {
+          if (next < 0) {
+            throw new NoSuchElementException();
+          }
+          last = next;
+          next = bits.nextSetBit(next + 1);
+          return (Vertex<T>) vertices[last];
+        }
+
+        @Override
+        public void remove() {
+          if (last < 0) {
+            throw new IllegalStateException();
+          }
+          bits.clear(last);
+          vertices[last] = null;
+          size--;
+          last = -1;
+        }
+      };
+    }
+  }
+}
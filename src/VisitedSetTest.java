@@ -0,0 +1,81 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * JUnit test suite for the VisitedSet strategies.
+ */
+public class VisitedSetTest {
+
+  private List<Vertex<Integer>> vertices(int count) {
+    List<Vertex<Integer>> vertices = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      vertices.add(new Vertex<>(i));
+    }
+    return vertices;
+  }
+
+  @Test
+  public void testIdentity_AddContainsAcrossResizes() {
+    VisitedSet<Integer> set = VisitedSet.identity();
+    List<Vertex<Integer>> vertices = vertices(1000);
+    for (Vertex<Integer> v : vertices) {
+      assertTrue(set.add(v));
+    }
+    for (Vertex<Integer> v : vertices) {
+      assertFalse(set.add(v), "adding a vertex twice should report no change");
+      assertTrue(set.contains(v));
+    }
+    assertEquals(1000, set.size());
+    assertFalse(set.contains(new Vertex<>(5)), "an equal-valued but distinct vertex is not contained");
+  }
+
+  @Test
+  public void testIdentity_RemoveKeepsOtherEntriesReachable() {
+    VisitedSet<Integer> set = VisitedSet.identity(4);
+    List<Vertex<Integer>> vertices = vertices(200);
+    set.addAll(vertices);
+    for (int i = 0; i < 200; i += 2) {
+      assertTrue(set.remove(vertices.get(i)));
+    }
+    for (int i = 0; i < 200; i++) {
+      assertEquals(i % 2 == 1, set.contains(vertices.get(i)), "membership after removal of vertex " + i);
+    }
+    assertEquals(100, set.size());
+  }
+
+  @Test
+  public void testIdentity_IteratorVisitsEveryVertexOnce() {
+    VisitedSet<Integer> set = VisitedSet.identity();
+    List<Vertex<Integer>> vertices = vertices(50);
+    set.addAll(vertices);
+    int count = 0;
+    for (Iterator<Vertex<Integer>> it = set.iterator(); it.hasNext(); it.next()) {
+      count++;
+    }
+    assertEquals(50, count);
+  }
+
+  @Test
+  public void testDense_UsesIndexFunction() {
+    VisitedSet<Integer> set = VisitedSet.dense(v -> v.data);
+    List<Vertex<Integer>> vertices = vertices(100);
+    for (Vertex<Integer> v : vertices) {
+      assertTrue(set.add(v));
+    }
+    assertFalse(set.add(vertices.get(42)));
+    assertTrue(set.contains(vertices.get(42)));
+    assertTrue(set.remove(vertices.get(42)));
+    assertFalse(set.contains(vertices.get(42)));
+    assertEquals(99, set.size());
+  }
+
+  @Test
+  public void testDense_NegativeIndexThrows() {
+    VisitedSet<Integer> set = VisitedSet.dense(v -> v.data);
+    assertThrows(IllegalArgumentException.class, () -> set.add(new Vertex<>(-1)));
+  }
+}